@@ -3,6 +3,7 @@ fun property(key: String) = project.findProperty(key).toString()
 plugins {
     id("java")
     id("maven-publish")
+    id("me.champeau.jmh") version "0.6.5"
 }
 
 val projectName = property("name")
@@ -20,12 +21,21 @@ dependencies {
 
     testImplementation(group = "org.junit.jupiter", name = "junit-jupiter-api", version = property("junitVersion"))
     testRuntimeOnly(group = "org.junit.jupiter", name = "junit-jupiter-engine")
+    testRuntimeOnly(group = "com.h2database", name = "h2", version = property("h2Version"))
+
+    jmh(group = "com.h2database", name = "h2", version = property("h2Version"))
 }
 
 tasks.test {
     this.useJUnitPlatform()
 }
 
+jmh {
+    this.jmhVersion.set(property("jmhVersion"))
+    // Reports allocation rates and GC counts alongside each benchmark's timings.
+    this.profilers.set(listOf("gc"))
+}
+
 java {
     this.withJavadocJar()
     this.withSourcesJar()
@@ -0,0 +1,32 @@
+package com.harleyoconnor.serdes.benchmark;
+
+import com.harleyoconnor.serdes.database.Database;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Database#selectAll(com.harleyoconnor.serdes.SerDes, String, Object)},
+ * which selects and deserialises every {@link Employee} of a {@link Department},
+ * resolving their {@code foreign key}s.
+ *
+ * @author Harley O'Connor
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DatabaseBenchmark {
+
+    private int next;
+
+    @Benchmark
+    public List<Employee> selectAll(final DatabaseState state) throws SQLException {
+        return state.database.selectAll(Employee.SER_DES, Employee.DEPARTMENT_FIELD.getName(), this.next++ % DatabaseState.DEPARTMENTS);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.harleyoconnor.serdes.benchmark;
+
+import com.harleyoconnor.serdes.database.Database;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An in-memory H2 {@link Database}, running in MySQL mode, populated with
+ * {@link Department}s, {@link Employee}s and {@link Point}s for the benchmarks to
+ * read and write.
+ *
+ * <p>The populated {@code object}s are held for the whole trial, so they stay
+ * loaded and {@code foreign key}s resolve from the loaded objects.</p>
+ *
+ * @author Harley O'Connor
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+
+    public static final int DEPARTMENTS = 10;
+    public static final int EMPLOYEES = 1000;
+    public static final int POINTS = 1000;
+
+    public Database database;
+
+    public final List<Department> departments = new ArrayList<>(DEPARTMENTS);
+    public final List<Employee> employees = new ArrayList<>(EMPLOYEES);
+
+    /** An open {@link ResultSet} positioned at the row of the first {@link Employee}. */
+    public ResultSet employeeRow;
+    /** An open {@link ResultSet} positioned at the row of the first {@link Point}. */
+    public ResultSet pointRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:serdes;MODE=MySQL"));
+
+        this.database.executePreparedStatement("create table departments (id int primary key, name varchar(255))", Collections.emptyList());
+        this.database.executePreparedStatement("create table employees (id int primary key, department_id int, " +
+                "name varchar(255), salary double)", Collections.emptyList());
+        this.database.executePreparedStatement("create table points (id int primary key, x double, y double)", Collections.emptyList());
+
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            this.departments.add(new Department(i, "Department " + i));
+        }
+
+        for (int i = 0; i < EMPLOYEES; i++) {
+            this.employees.add(new Employee(i, this.departments.get(i % DEPARTMENTS), "Employee " + i, 30_000 + i));
+        }
+
+        final List<Point> points = new ArrayList<>(POINTS);
+
+        for (int i = 0; i < POINTS; i++) {
+            points.add(new Point(i, i, -i));
+        }
+
+        Department.SER_DES.serialiseAll(this.database, this.departments);
+        Employee.SER_DES.serialiseAll(this.database, this.employees);
+        Point.SER_DES.serialiseAll(this.database, points);
+
+        this.employeeRow = this.database.select(Employee.SER_DES.getTable(), Employee.ID_FIELD.getName(), 0);
+        this.pointRow = this.database.select(Point.SER_DES.getTable(), Point.ID_FIELD.getName(), 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        this.employeeRow.close();
+        this.pointRow.close();
+        // Closing the only connection drops the in-memory database.
+        this.database.close();
+    }
+
+}
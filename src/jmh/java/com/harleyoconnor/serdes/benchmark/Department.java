@@ -0,0 +1,56 @@
+package com.harleyoconnor.serdes.benchmark;
+
+import com.harleyoconnor.serdes.AbstractSerDesable;
+import com.harleyoconnor.serdes.ClassSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.field.PrimaryField;
+
+/**
+ * A {@link ClassSerDes} backed {@code object} referenced by each {@link Employee}.
+ *
+ * @author Harley O'Connor
+ */
+public final class Department extends AbstractSerDesable<Department, Integer> {
+
+    public static final PrimaryField<Department, Integer> ID_FIELD = new PrimaryField<>("id", Department.class, Integer.class, Department::getId);
+
+    public static final SerDes<Department, Integer> SER_DES = ClassSerDes.Builder.of(Department.class, Integer.class, "departments")
+            .primaryField(ID_FIELD)
+            .field("name", String.class, Department::getName, Department::setName)
+            .build();
+
+    private final int id;
+    private String name;
+
+    public Department(final int id) {
+        this.id = id;
+    }
+
+    public Department(final int id, final String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public SerDes<Department, Integer> getSerDes() {
+        return SER_DES;
+    }
+
+    @Override
+    public PrimaryField<Department, Integer> getPrimaryField() {
+        return ID_FIELD;
+    }
+
+}
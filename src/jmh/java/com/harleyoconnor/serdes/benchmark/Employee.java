@@ -0,0 +1,81 @@
+package com.harleyoconnor.serdes.benchmark;
+
+import com.harleyoconnor.serdes.AbstractSerDesable;
+import com.harleyoconnor.serdes.ClassSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.field.ForeignField;
+import com.harleyoconnor.serdes.field.ImmutableForeignField;
+import com.harleyoconnor.serdes.field.PrimaryField;
+
+/**
+ * A {@link ClassSerDes} backed {@code object} with mutable fields and a
+ * {@link ForeignField} referencing its {@link Department}.
+ *
+ * @author Harley O'Connor
+ */
+public final class Employee extends AbstractSerDesable<Employee, Integer> {
+
+    public static final PrimaryField<Employee, Integer> ID_FIELD = new PrimaryField<>("id", Employee.class, Integer.class, Employee::getId);
+
+    public static final ForeignField<Employee, Integer, Department> DEPARTMENT_FIELD = new ImmutableForeignField<>("department_id",
+            Employee.class, Department.ID_FIELD, false, false, Employee::getDepartment);
+
+    public static final SerDes<Employee, Integer> SER_DES = ClassSerDes.Builder.of(Employee.class, Integer.class, "employees")
+            .primaryField(ID_FIELD)
+            .field(DEPARTMENT_FIELD)
+            .field("name", String.class, Employee::getName, Employee::setName)
+            .field("salary", Double.class, Employee::getSalary, Employee::setSalary)
+            .build();
+
+    private final int id;
+    private final Department department;
+    private String name;
+    private double salary;
+
+    public Employee(final int id, final Department department) {
+        this.id = id;
+        this.department = department;
+    }
+
+    public Employee(final int id, final Department department, final String name, final double salary) {
+        this.id = id;
+        this.department = department;
+        this.name = name;
+        this.salary = salary;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Department getDepartment() {
+        return department;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    public double getSalary() {
+        return salary;
+    }
+
+    public void setSalary(final double salary) {
+        this.salary = salary;
+    }
+
+    @Override
+    public SerDes<Employee, Integer> getSerDes() {
+        return SER_DES;
+    }
+
+    @Override
+    public PrimaryField<Employee, Integer> getPrimaryField() {
+        return ID_FIELD;
+    }
+
+}
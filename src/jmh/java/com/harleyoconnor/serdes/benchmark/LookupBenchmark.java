@@ -0,0 +1,48 @@
+package com.harleyoconnor.serdes.benchmark;
+
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesRegistry;
+import com.harleyoconnor.serdes.util.ResultSetConversions;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the lookups made for each deserialised row: getting a
+ * {@link SerDes} from the {@link SerDesRegistry}, converting a column with
+ * {@link ResultSetConversions}, and resolving {@code foreign key}s.
+ *
+ * @author Harley O'Connor
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LookupBenchmark {
+
+    private int next;
+
+    @Benchmark
+    public Optional<SerDes<Employee, ?>> registryGet() {
+        return SerDesRegistry.get(Employee.class);
+    }
+
+    @Benchmark
+    public String getValue(final DatabaseState state) throws SQLException {
+        return ResultSetConversions.getValue(state.employeeRow, "name", String.class);
+    }
+
+    /**
+     * Resolves a {@code foreign key} to a loaded {@link Department}, as done for
+     * each {@link Employee} deserialised.
+     */
+    @Benchmark
+    public Department resolveForeignKey(final DatabaseState state) {
+        return Employee.DEPARTMENT_FIELD.getFromValue(state.database, this.next++ % DatabaseState.DEPARTMENTS);
+    }
+
+}
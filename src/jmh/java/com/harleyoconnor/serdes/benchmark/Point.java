@@ -0,0 +1,33 @@
+package com.harleyoconnor.serdes.benchmark;
+
+import com.harleyoconnor.serdes.RecordSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.field.PrimaryField;
+
+/**
+ * A {@link RecordSerDes} backed {@code record}.
+ *
+ * @author Harley O'Connor
+ */
+public record Point(int id, double x, double y) implements SerDesable<Point, Integer> {
+
+    public static final PrimaryField<Point, Integer> ID_FIELD = new PrimaryField<>("id", Point.class, Integer.class, Point::id);
+
+    public static final SerDes<Point, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, Point.class, "points")
+            .primaryField(ID_FIELD)
+            .field("x", Double.class, Point::x)
+            .field("y", Double.class, Point::y)
+            .build();
+
+    @Override
+    public SerDes<Point, Integer> getSerDes() {
+        return SER_DES;
+    }
+
+    @Override
+    public PrimaryField<Point, Integer> getPrimaryField() {
+        return ID_FIELD;
+    }
+
+}
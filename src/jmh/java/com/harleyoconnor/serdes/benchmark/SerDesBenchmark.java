@@ -0,0 +1,82 @@
+package com.harleyoconnor.serdes.benchmark;
+
+import com.harleyoconnor.serdes.AbstractSerDesable;
+import com.harleyoconnor.serdes.ClassSerDes;
+import com.harleyoconnor.serdes.RecordSerDes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialising and deserialising with {@link ClassSerDes} and
+ * {@link RecordSerDes}, along with {@link AbstractSerDesable#equals(Object)} and
+ * {@link AbstractSerDesable#hashCode()}.
+ *
+ * @author Harley O'Connor
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SerDesBenchmark {
+
+    private int next;
+
+    private Employee employee;
+    private Employee equalEmployee;
+
+    @Setup(Level.Trial)
+    public void setUp(final DatabaseState state) {
+        this.employee = state.employees.get(0);
+        this.equalEmployee = new Employee(this.employee.getId(), this.employee.getDepartment(), this.employee.getName(),
+                this.employee.getSalary());
+    }
+
+    /**
+     * Serialises a loaded {@link Employee} with one changed column, which writes an
+     * {@code update} of that column.
+     */
+    @Benchmark
+    public void serialiseClass(final DatabaseState state) {
+        final Employee employee = state.employees.get(this.next++ % DatabaseState.EMPLOYEES);
+        employee.setSalary(employee.getSalary() + 1);
+        Employee.SER_DES.serialise(state.database, employee);
+    }
+
+    /**
+     * Serialises a new {@link Point}, which isn't loaded and so is written with an
+     * {@code upsert}.
+     */
+    @Benchmark
+    public void serialiseRecord(final DatabaseState state) {
+        final int id = this.next++ % DatabaseState.POINTS;
+        Point.SER_DES.serialise(state.database, new Point(id, id, id));
+    }
+
+    /**
+     * Deserialises an {@link Employee} from an open row, resolving its
+     * {@link Department} from the loaded objects.
+     */
+    @Benchmark
+    public Employee deserialiseClass(final DatabaseState state) {
+        return Employee.SER_DES.deserialise(state.database, state.employeeRow);
+    }
+
+    @Benchmark
+    public Point deserialiseRecord(final DatabaseState state) {
+        return Point.SER_DES.deserialise(state.database, state.pointRow);
+    }
+
+    @Benchmark
+    public boolean equals() {
+        return this.employee.equals(this.equalEmployee);
+    }
+
+    @Benchmark
+    public int hashCode() {
+        return this.employee.hashCode();
+    }
+
+}
@@ -1,18 +1,20 @@
 package com.harleyoconnor.serdes;
 
-import com.harleyoconnor.javautilities.collection.WeakHashSet;
+import com.harleyoconnor.serdes.cache.EntityCache;
+import com.harleyoconnor.serdes.cache.IdentityMap;
 import com.harleyoconnor.serdes.database.Database;
 import com.harleyoconnor.serdes.exception.NoSuchConstructorException;
 import com.harleyoconnor.serdes.field.*;
-import com.harleyoconnor.serdes.util.CommonCollectors;
 import com.harleyoconnor.serdes.util.Null;
 import com.harleyoconnor.serdes.util.PrimitiveClass;
-import com.harleyoconnor.serdes.util.ResultSetConversions;
 
 import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -37,17 +39,213 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
     protected final PrimaryField<T, PK> primaryField;
 
     protected final LinkedHashSet<Field<T, ?>> immutableFields;
+    protected final LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields;
 
-    protected final Set<T> loadedObjects = new WeakHashSet<>();
+    /**
+     * The {@link FieldTable} and everything derived from it. Computed on
+     * construction, unless constructed through the deprecated constructor, in
+     * which case it is computed from {@link #getFields()} on first use.
+     */
+    @Nullable
+    private volatile Layout<T, PK> layout;
+    /** The {@link EntityCache.Builder} to build the {@link EntityCache} from, if any. */
+    @Nullable
+    private final EntityCache.Builder<T, PK> cacheBuilder;
 
-    protected final List<Consumer<T>> nextDeserialisedResultConsumers = new ArrayList<>();
-    private boolean currentlyDeserialising;
+    /**
+     * The {@link Constructor} taking the {@link #immutableFields}, resolved once on
+     * construction as a {@link MethodHandle} taking an {@link Object} array of its
+     * arguments and returning the constructed {@code object}.
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * The {@link FieldTable} of a {@link SerDes}, along with the structures built
+     * from its {@link Field}s.
+     */
+    private static final class Layout<T extends SerDesable<T, PK>, PK> {
+        private final FieldTable<T> fieldTable;
+        /** Reads the values of all {@link Field}s from {@link ResultSet}s by column index. */
+        private final ReadPlan<T> readPlan;
+        private final IdentityMap<T, PK> loadedObjects;
+        /** Holds loaded {@code object}s between lookups, if configured in the {@link Builder}; otherwise {@code null}. */
+        @Nullable
+        private final EntityCache<T, PK> cache;
+        /** Constructs {@code object}s from rows, if compiled in the {@link Builder}; otherwise {@code null}. */
+        @Nullable
+        private final RowMapper<T> rowMapper;
+        /** Whether any {@link Field} other than the {@link PrimaryField} is {@code unique}. */
+        private final boolean hasOtherUniqueFields;
 
+        private Layout(final FieldTable<T> fieldTable, final ReadPlan<T> readPlan, final IdentityMap<T, PK> loadedObjects,
+                       @Nullable final EntityCache<T, PK> cache, @Nullable final RowMapper<T> rowMapper,
+                       final boolean hasOtherUniqueFields) {
+            this.fieldTable = fieldTable;
+            this.readPlan = readPlan;
+            this.loadedObjects = loadedObjects;
+            this.cache = cache;
+            this.rowMapper = rowMapper;
+            this.hasOtherUniqueFields = hasOtherUniqueFields;
+        }
+    }
+
+    /**
+     * Constructs a new {@link AbstractSerDes} whose {@link Field}s are those
+     * returned by {@link #getFields()}, or only the specified
+     * {@code immutableFields} if it isn't overridden.
+     *
+     * <p>The {@link Field}s are read from {@link #getFields()} once, when first
+     * needed, rather than on every call as they were before 0.0.7.</p>
+     *
+     * @deprecated Since 0.0.7, the {@link Field}s should be passed to
+     *             {@link #AbstractSerDes(Class, String, PrimaryField, LinkedHashSet, LinkedHashSet)}
+     *             instead of overriding {@link #getFields()}.
+     */
+    @Deprecated(since = "0.0.7")
     public AbstractSerDes(Class<T> type, String table, PrimaryField<T, PK> primaryField, LinkedHashSet<Field<T, ?>> immutableFields) {
+        this(type, table, primaryField, immutableFields, immutableFields, new LinkedHashSet<>(), false, null, true);
+    }
+
+    /**
+     * @since 0.0.7
+     */
+    public AbstractSerDes(Class<T> type, String table, PrimaryField<T, PK> primaryField, LinkedHashSet<Field<T, ?>> fields, LinkedHashSet<Field<T, ?>> immutableFields) {
+        this(type, table, primaryField, fields, immutableFields, new LinkedHashSet<>());
+    }
+
+    /**
+     * @since 0.0.7
+     */
+    public AbstractSerDes(Class<T> type, String table, PrimaryField<T, PK> primaryField, LinkedHashSet<Field<T, ?>> fields, LinkedHashSet<Field<T, ?>> immutableFields,
+                          LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields) {
+        this(type, table, primaryField, fields, immutableFields, joinFetchedFields, false);
+    }
+
+    /**
+     * @param compileRowMapper {@code true} to construct {@code object}s through a
+     *                         {@link RowMapper} composed for the
+     *                         {@code immutableFields}.
+     * @since 0.0.7
+     */
+    public AbstractSerDes(Class<T> type, String table, PrimaryField<T, PK> primaryField, LinkedHashSet<Field<T, ?>> fields, LinkedHashSet<Field<T, ?>> immutableFields,
+                          LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields, boolean compileRowMapper) {
+        this(type, table, primaryField, fields, immutableFields, joinFetchedFields, compileRowMapper, null);
+    }
+
+    /**
+     * @param compileRowMapper {@code true} to construct {@code object}s through a
+     *                         {@link RowMapper} composed for the
+     *                         {@code immutableFields}.
+     * @param cache The {@link EntityCache.Builder} to build the {@link EntityCache}
+     *              from, or {@code null} to not cache {@code object}s.
+     * @since 0.0.7
+     */
+    public AbstractSerDes(Class<T> type, String table, PrimaryField<T, PK> primaryField, LinkedHashSet<Field<T, ?>> fields, LinkedHashSet<Field<T, ?>> immutableFields,
+                          LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields, boolean compileRowMapper, @Nullable EntityCache.Builder<T, PK> cache) {
+        this(type, table, primaryField, fields, immutableFields, joinFetchedFields, compileRowMapper, cache, false);
+    }
+
+    /**
+     * @param lazyFields {@code true} to read the {@link Field}s from
+     *                   {@link #getFields()} on first use, if it is overridden,
+     *                   rather than using the specified {@code fields}.
+     */
+    private AbstractSerDes(Class<T> type, String table, PrimaryField<T, PK> primaryField, LinkedHashSet<Field<T, ?>> fields, LinkedHashSet<Field<T, ?>> immutableFields,
+                           LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields, boolean compileRowMapper, @Nullable EntityCache.Builder<T, PK> cache,
+                           boolean lazyFields) {
         this.type = type;
         this.table = table;
         this.primaryField = primaryField;
         this.immutableFields = immutableFields;
+        this.joinFetchedFields = joinFetchedFields;
+        this.cacheBuilder = cache;
+
+        final MethodHandle constructor = findConstructor(type, immutableFields);
+        this.constructor = constructor.asSpreader(Object[].class, immutableFields.size())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+
+        if (!lazyFields)
+            this.layout = this.createLayout(fields, compileRowMapper ? constructor : null);
+    }
+
+    /**
+     * Creates the {@link Layout} for the specified {@link Field}s.
+     *
+     * @param rowMapperConstructor The unspread {@link #constructor} to compose a
+     *                             {@link RowMapper} for, or {@code null} to not
+     *                             compile one.
+     */
+    private Layout<T, PK> createLayout(final Collection<Field<T, ?>> fields, @Nullable final MethodHandle rowMapperConstructor) {
+        final FieldTable<T> fieldTable = new FieldTable<>(fields);
+        final ReadPlan<T> readPlan = new ReadPlan<>(fieldTable);
+        final IdentityMap<T, PK> loadedObjects = new IdentityMap<>(this.primaryField, fields);
+
+        return new Layout<>(fieldTable, readPlan, loadedObjects,
+                this.cacheBuilder == null ? null : this.cacheBuilder.build(loadedObjects),
+                rowMapperConstructor == null ? null : new RowMapper<>(this.type, fieldTable, readPlan, rowMapperConstructor,
+                        List.copyOf(this.immutableFields)),
+                fields.stream().anyMatch(field -> field.isUnique() && !field.equals(this.primaryField)));
+    }
+
+    /**
+     * Gets the {@link Layout}, first computing it from {@link #getFields()} if this
+     * was constructed through the deprecated constructor.
+     */
+    private Layout<T, PK> getLayout() {
+        final Layout<T, PK> layout = this.layout;
+        return layout == null ? this.createLegacyLayout() : layout;
+    }
+
+    private synchronized Layout<T, PK> createLegacyLayout() {
+        if (this.layout == null) {
+            // This class's getFields() reads the layout, so only call it if overridden.
+            this.layout = this.createLayout(this.overrides("getFields") ? new LinkedHashSet<>(this.getFields()) :
+                    this.immutableFields, null);
+        }
+        return this.layout;
+    }
+
+    /**
+     * Checks if the implementation overrides the specified {@code public} method of
+     * this class taking no arguments.
+     */
+    private boolean overrides(final String methodName) {
+        try {
+            return this.getClass().getMethod(methodName).getDeclaringClass() != AbstractSerDes.class;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the {@link Constructor} of the specified {@code type} taking the
+     * specified {@code immutableFields} in order, converting all wrapper classes to
+     * their primitive equivalents, to a {@link MethodHandle}.
+     *
+     * @param type The {@link Class} of {@link T}.
+     * @param immutableFields The {@code immutable} {@link Field}s, in the order of
+     *                        the {@link Constructor}'s parameters.
+     * @param <T> The type being constructed.
+     * @return The {@link MethodHandle} of the {@link Constructor}.
+     * @throws RuntimeException If a {@link Constructor} with the relevant
+     *                          {@link ImmutableField} arguments in the relevant
+     *                          order doesn't exist, or it is not accessible.
+     * @since 0.0.7
+     */
+    private static <T extends SerDesable<T, ?>> MethodHandle findConstructor(final Class<T> type, final Set<Field<T, ?>> immutableFields) {
+        try {
+            final Constructor<T> constructor = type.getConstructor(immutableFields.stream()
+                    .map(field -> field instanceof ForeignField ?
+                            ((ForeignField<?, ?, ?>) field).getResolvedType() :
+                            PrimitiveClass.convert(field.getType()))
+                    .toArray(Class<?>[]::new));
+
+            return MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (final NoSuchMethodException e) {
+            throw new RuntimeException(NoSuchConstructorException.from(e));
+        } catch (final IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -83,23 +281,177 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
     /**
      * {@inheritDoc}
      *
-     * @return A {@link Set} of loaded {@link Object}s of type {@link T}.
+     * @return An unmodifiable snapshot of the loaded {@link Object}s of type
+     *         {@link T}.
      */
     @Override
     public Set<T> getLoadedObjects() {
-        return this.loadedObjects;
+        return this.getLayout().loadedObjects.values();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation looks the {@code object} up in the {@link IdentityMap}
+     * in constant time. {@code object}s being deserialised on the current thread
+     * are also found, so that references back to them resolve.</p>
+     *
+     * @param primaryKeyValue The value of the {@code primary key}.
+     * @return An {@link Optional} containing the loaded {@code object}, or
+     *         {@link Optional#empty()} if it isn't loaded.
+     */
+    @Override
+    public Optional<T> getLoaded(@Nullable PK primaryKeyValue) {
+        return this.getLoaded(this.primaryField, primaryKeyValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation looks the {@code object} up in the {@link IdentityMap},
+     * in constant time for {@code primary} and {@code unique} {@link Field}s.
+     * {@code object}s being deserialised on the current thread are also found, so
+     * that references back to them resolve. Lookups by {@code primary key} check
+     * the {@link EntityCache} first, if there is one, and cache {@code object}s
+     * found in the {@link IdentityMap}.</p>
+     *
+     * @param field The {@link Field} to match on.
+     * @param value The value of the {@link Field} to find.
+     * @param <V> The type of the {@link Field}.
+     * @return An {@link Optional} containing the loaded {@code object}, or
+     *         {@link Optional#empty()} if it isn't loaded.
+     */
+    @Override
+    public <V> Optional<T> getLoaded(Field<T, V> field, @Nullable V value) {
+        final DeserialisationContext context = DeserialisationContext.peek();
+        final Optional<T> inFlight = context == null ? Optional.empty() : context.getInFlight(this, field, value);
+
+        if (inFlight.isPresent())
+            return inFlight;
+
+        final Layout<T, PK> layout = this.getLayout();
+        final EntityCache<T, PK> cache = layout.cache;
+
+        if (cache == null || field != this.primaryField)
+            return layout.loadedObjects.get(field, value);
+
+        final PK primaryKey = this.primaryField.getType().cast(value);
+        final Optional<T> cached = cache.get(primaryKey);
+
+        if (cached.isPresent())
+            return cached;
+
+        // Objects evicted by size may still be loaded, so are cached again.
+        final Optional<T> loaded = layout.loadedObjects.get(primaryKey);
+        loaded.ifPresent(object -> cache.put(primaryKey, object));
+        return loaded;
     }
 
     /**
      * {@inheritDoc}
      *
+     * @return An {@link Optional} containing the {@link EntityCache}, or
+     *         {@link Optional#empty()} if none was configured in the
+     *         {@link Builder}.
+     */
+    @Override
+    public Optional<EntityCache<T, PK>> getCache() {
+        return Optional.ofNullable(this.getLayout().cache);
+    }
+
+    /**
+     * Caches the specified {@code object}, if there is an {@link EntityCache}.
+     */
+    private void cache(final Layout<T, PK> layout, final T object) {
+        if (layout.cache != null)
+            layout.cache.put(Objects.requireNonNull(this.primaryField.get(object)), object);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation returns the {@link Field}s given on construction.</p>
+     *
+     * @return A {@link Set} of {@link Field} objects for this {@link SerDes}.
+     */
+    @Override
+    public Set<Field<T, ?>> getFields() {
+        return this.getLayout().fieldTable.getFields();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation returns the {@link Set} computed once, from the
+     * {@link Field}s of this {@link SerDes}.</p>
+     *
+     * @return A {@link Set} of {@link MutableField} objects for this
+     *         {@link SerDes}.
+     */
+    @Override
+    public Set<Field<T, ?>> getMutableFields() {
+        return this.getLayout().fieldTable.getMutableFields();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation returns the {@link Set} computed once, from the
+     * {@link Field}s of this {@link SerDes}.</p>
+     *
      * @return A {@link Set} of {@link ImmutableField} objects for this
      *         {@link SerDes}.
      */
     @Override
     public Set<Field<T, ?>> getImmutableFields() {
-        return this.immutableFields.stream()
-                .collect(CommonCollectors.toUnmodifiableLinkedSet());
+        return this.getLayout().fieldTable.getImmutableFields();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation returns the {@link Set} computed once, from the
+     * {@link Field}s of this {@link SerDes}.</p>
+     *
+     * @return A {@link Set} of {@link ForeignField} objects for this
+     *         {@link SerDes}.
+     */
+    @Override
+    public Set<ForeignField<T, ?, ?>> getForeignFields() {
+        return this.getLayout().fieldTable.getForeignFields();
+    }
+
+    /**
+     * Gets the {@link FieldTable} holding the {@link Field}s of this
+     * {@link SerDes} and their subsets.
+     *
+     * @return The {@link FieldTable}.
+     * @since 0.0.7
+     */
+    public FieldTable<T> getFieldTable() {
+        return this.getLayout().fieldTable;
+    }
+
+    /**
+     * Gets the {@link ReadPlan} reading the {@link Field}s of this {@link SerDes}
+     * from {@link ResultSet}s by column index.
+     *
+     * @return The {@link ReadPlan}.
+     * @since 0.0.7
+     */
+    protected ReadPlan<T> getReadPlan() {
+        return this.getLayout().readPlan;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The {@link ForeignField}s set to be join-fetched in the
+     *         {@link Builder}.
+     */
+    @Override
+    public Set<ForeignField<T, ?, ?>> getJoinFetchedFields() {
+        return Collections.unmodifiableSet(this.joinFetchedFields);
     }
 
     /**
@@ -110,50 +462,184 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
      */
     @Override
     public void serialise(Database database, T object) {
-        // If it doesn't already exist, insert the new value.
-        if (!database.valueExists(this.table, this.primaryField.getName(),
-                this.primaryField.get(object))) {
-            database.insertUnchecked(this.table,
-                    this.toInsertableMap(object, this.getFields()));
+        final long start = System.nanoTime();
+        final Layout<T, PK> layout = this.getLayout();
+        final List<Field<T, ?>> fields = layout.fieldTable.getFieldList();
+        final Object[] values = this.getValues(object, fields);
+        final Object[] snapshot = layout.loadedObjects.getSnapshot(object);
+
+        // If the row is known, only write the columns changed since it was last read or written.
+        if (snapshot == null || !this.updateChangedFields(database, object, fields, values, snapshot))
+            this.upsert(database, layout, object, fields);
+
+        layout.loadedObjects.put(object);
+        layout.loadedObjects.snapshot(object, values);
+        this.cache(layout, object);
+        database.getMetrics().recordSerialisation(this.table, 1, System.nanoTime() - start);
+    }
+
+    /**
+     * Inserts the specified {@code object}, or updates its {@code mutable}
+     * {@link Field}s if its row already exists, in one statement where the
+     * {@link Database}'s upsert only updates the row with the same
+     * {@code primary key}.
+     *
+     * <p>Otherwise, if there are other {@code unique} {@link Field}s, the upsert
+     * would overwrite the row clashing on one of them, so the row is updated by its
+     * {@code primary key} and only inserted if it doesn't exist, so that such a clash
+     * fails the insert.</p>
+     */
+    private void upsert(final Database database, final Layout<T, PK> layout, final T object, final List<Field<T, ?>> fields) {
+        final LinkedHashMap<String, Object> row = this.toInsertableMap(object, fields);
+
+        if (!this.requiresScopedUpsert(database, layout)) {
+            database.upsertUnchecked(this.table, this.primaryField.getName(), row, layout.fieldTable.getMutableFieldNames());
             return;
         }
 
-        // Otherwise, update the value.
-        database.updateUnchecked(this.table, this.primaryField.getName(),
-                this.primaryField.get(object),
-                this.toInsertableMap(object, this.getMutableFields().stream()
-                        .map(field -> ((Field<T, ?>) field))
-                        .collect(Collectors.toUnmodifiableSet())));
+        final PK primaryKey = this.primaryField.get(object);
+        final LinkedHashMap<String, Object> mutableValues = new LinkedHashMap<>(row);
+        mutableValues.keySet().retainAll(layout.fieldTable.getMutableFieldNames());
+
+        final boolean exists = mutableValues.isEmpty() ?
+                database.valueExists(this.table, this.primaryField.getName(), primaryKey) :
+                database.updateRowUnchecked(this.table, this.primaryField.getName(), primaryKey, mutableValues) > 0;
+        if (!exists)
+            database.insertUnchecked(this.table, row);
+    }
+
+    /**
+     * Checks if the upsert of the specified {@link Database}'s
+     * {@link Database#getDialect() dialect} could update a row other than that with the same {@code primary key}.
+     */
+    private boolean requiresScopedUpsert(final Database database, final Layout<T, PK> layout) {
+        return layout.hasOtherUniqueFields && !database.getDialect().isUpsertScopedToPrimaryKey();
+    }
+
+    /**
+     * Updates the {@code mutable} {@link Field}s of the specified {@code object}
+     * whose values differ from its snapshot, doing nothing if none do.
+     *
+     * @return {@code true} if the row is now up to date; {@code false} if it no
+     *         longer exists and so must be inserted.
+     */
+    private boolean updateChangedFields(final Database database, final T object, final List<Field<T, ?>> fields,
+                                        final Object[] values, final Object[] snapshot) {
+        final LinkedHashMap<String, Object> changedValues = new LinkedHashMap<>();
+
+        for (int i = 0; i < values.length; i++) {
+            if (fields.get(i).isMutable() && !Objects.deepEquals(values[i], snapshot[i]))
+                changedValues.put(fields.get(i).getName(), values[i]);
+        }
+
+        return changedValues.isEmpty() || database.updateRowUnchecked(this.table, this.primaryField.getName(),
+                this.primaryField.get(object), changedValues) > 0;
+    }
+
+    /**
+     * Gets the current values of the specified {@link Field}s of the specified
+     * {@code object}, as they are written to the database.
+     */
+    private Object[] getValues(final T object, final List<Field<T, ?>> fields) {
+        final Object[] values = new Object[fields.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).get(object);
+        }
+
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation writes the {@code objects} in batches of
+     * {@link Database#getBatchSize()}, skipping those unchanged since they were
+     * last read or written. Where the upsert of the
+     * {@link Database#getDialect() dialect} isn't scoped to the
+     * {@code primary key} and there are other {@code unique} {@link Field}s, they
+     * are instead written one at a time, as with
+     * {@link #serialise(Database, SerDesable)}.</p>
+     *
+     * @param database The {@link Database} to serialise to.
+     * @param objects The {@code objects} of type {@link T}.
+     */
+    @Override
+    public void serialiseAll(Database database, Collection<T> objects) {
+        final long start = System.nanoTime();
+        final Layout<T, PK> layout = this.getLayout();
+        final List<Field<T, ?>> fields = layout.fieldTable.getFieldList();
+        final Map<T, Object[]> changedObjects = new IdentityHashMap<>();
+
+        // Skip objects whose columns are unchanged since they were last read or written.
+        for (final T object : objects) {
+            final Object[] values = this.getValues(object, fields);
+
+            if (!Arrays.deepEquals(values, layout.loadedObjects.getSnapshot(object)))
+                changedObjects.put(object, values);
+        }
+
+        if (changedObjects.isEmpty())
+            return;
+
+        if (this.requiresScopedUpsert(database, layout)) {
+            // The dialect's batched upsert could overwrite rows clashing on other unique fields.
+            changedObjects.keySet().forEach(object -> this.upsert(database, layout, object, fields));
+        } else {
+            database.upsertAllUnchecked(this.table, this.primaryField.getName(), changedObjects.keySet().stream()
+                            .map(object -> this.toInsertableMap(object, fields)).collect(Collectors.toList()),
+                    layout.fieldTable.getMutableFieldNames());
+        }
+        changedObjects.forEach((object, values) -> {
+            layout.loadedObjects.put(object);
+            layout.loadedObjects.snapshot(object, values);
+            this.cache(layout, object);
+        });
+        database.getMetrics().recordSerialisation(this.table, changedObjects.size(), System.nanoTime() - start);
     }
 
     /**
      * Creates an "insertable" {@link LinkedHashMap} for the given {@code fields}.
      * This refers to the ability to pass it to
-     * {@link Database#update(String, String, Object, LinkedHashMap)}.
+     * {@link Database#upsert(String, String, LinkedHashMap, Set)}.
+     *
+     * <p>{@code null} values of {@code mutable} {@link Field}s are included, so that
+     * they are written as {@code NULL} to an existing row as they are by a
+     * dirty-column update; those of {@code immutable} {@link Field}s are left out,
+     * so the column's default applies.</p>
      *
      * @param object The {@code object} of type {@link T} being serialised.
-     * @param fields The {@link Set} of {@link Field}s being inserted.
+     * @param fields The {@link List} of {@link Field}s being inserted.
      * @return The {@link LinkedHashMap} of {@link Field}s and their equivalent
      *         values in the given {@code object} of type {@link T}.
      */
     private LinkedHashMap<String, Object> toInsertableMap(final T object,
-                                                          final Set<Field<T, ?>> fields) {
-        return fields.stream()
-                .filter(field -> field.get(object) != null)
-                .collect(Collectors.toMap(Field::getName,
-                        field -> Objects.requireNonNull(field.get(object)),
-                        (m1, m2) -> m2, LinkedHashMap::new));
+                                                          final List<Field<T, ?>> fields) {
+        final LinkedHashMap<String, Object> insertableMap = new LinkedHashMap<>();
+
+        for (int i = 0; i < fields.size(); i++) {
+            final Object value = fields.get(i).get(object);
+
+            if (value != null || fields.get(i).isMutable())
+                insertableMap.put(fields.get(i).getName(), value);
+        }
+
+        return insertableMap;
     }
 
     /**
      * {@inheritDoc}
      *
+     * <p>This implementation only considers deserialisations on the current
+     * thread.</p>
+     *
      * @return {@code true} if this {@link SerDes} is currently deserialising an
      *         {@link Object}; {@code false} otherwise.
      */
     @Override
     public boolean currentlyDeserialising() {
-        return this.currentlyDeserialising;
+        final DeserialisationContext context = DeserialisationContext.peek();
+        return context != null && context.isDeserialising(this);
     }
 
     /**
@@ -163,7 +649,7 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
      */
     @Override
     public void whenNextDeserialised(Consumer<T> deserialisationResultConsumer) {
-        this.nextDeserialisedResultConsumers.add(deserialisationResultConsumer);
+        DeserialisationContext.current().addPendingBackReference(this, deserialisationResultConsumer);
     }
 
     /**
@@ -188,49 +674,71 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
      * for any additional deserialisation tasks to be handled post-instantiation.
      * </p>
      *
+     * <p>Until finalised, the {@code object} is only visible to the current
+     * thread, through its {@link DeserialisationContext}.</p>
+     *
      * @param database The {@link Database} to read from, if required.
      * @param resultSet The {@link ResultSet} to deserialise from.
      * @param careful {@code true} if {@link ForeignField} objects shouldn't be
      *                            set until after its {@link SerDes} is finished
      *                            deserialising (to avoid infinite loops).
      * @return The deserialised {@code object} of type {@link T}.
-     * @throws RuntimeException If a {@link Constructor} with the relevant
-     *                          {@link ImmutableField} arguments in the relevant
-     *                          order doesn't exist; if there was another error
-     *                          instantiating the {@code object}.
+     * @throws RuntimeException If there was an error instantiating the
+     *                          {@code object}.
      */
     @Override
     public T deserialise(Database database, ResultSet resultSet, boolean careful) {
-        this.currentlyDeserialising = true;
-
-        final Constructor<T> constructor;
+        final long start = System.nanoTime();
+        final DeserialisationContext context = DeserialisationContext.current();
+        context.enter(this);
 
         try {
-            // Get the relevant constructor, converting all wrapper classes to their
-            // primitive equivalents.
-            constructor = this.type.getConstructor(this.immutableFields.stream()
-                    .map(field -> field instanceof ForeignField ?
-                            ((ForeignField<?, ?, ?>) field).getForeignField()
-                                    .getParentType() :
-                            PrimitiveClass.convert(field.getType()))
-                    .toArray(Class<?>[]::new));
-        } catch (final NoSuchMethodException e) {
-            throw new RuntimeException(NoSuchConstructorException.from(e));
+            // Construct the object and add it to the objects in flight on this thread.
+            final RowMapper<T> rowMapper = this.getLayout().rowMapper;
+            final T constructedObject = rowMapper == null ? this.construct(database, resultSet) :
+                    this.mapRow(rowMapper, database, resultSet);
+            context.addInFlight(this, constructedObject);
+
+            // Finalise deserialisation, then return the result.
+            final T deserialisedObject = this.finaliseDeserialisation(database, resultSet, constructedObject, careful);
+            // The database is only required for foreign fields, so may not have been given.
+            if (database != null)
+                database.getMetrics().recordDeserialisation(this.table, System.nanoTime() - start);
+            return deserialisedObject;
+        } finally {
+            context.exit(this);
         }
+    }
 
-        try {
-            // Construct the object and add it to the set of loaded objects.
-            final T constructedObject = constructor.newInstance(this.immutableFields.stream()
-                    .map(field -> this.getFieldValue(database, resultSet, field)).toArray());
-            this.loadedObjects.add(constructedObject);
+    private T construct(final Database database, final ResultSet resultSet) {
+        final Object[] arguments = new Object[this.immutableFields.size()];
+        int i = 0;
 
-            // Finalise deserialisation, then return the result.
-            return this.finaliseDeserialisation(database, resultSet, constructedObject, careful);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+        for (final Field<T, ?> field : this.immutableFields) {
+            arguments[i++] = this.getFieldValue(database, resultSet, field);
+        }
+
+        return this.type.cast(this.construct(arguments));
+    }
+
+    private T mapRow(final RowMapper<T> rowMapper, final Database database, final ResultSet resultSet) {
+        try {
+            return rowMapper.map(database, resultSet);
+        } catch (final SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private Object construct(final Object[] arguments) {
+        try {
+            return this.constructor.invokeExact(arguments);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
     /**
      * Gets a {@link Field}'s value from the specified {@link ResultSet} in the
      * specified {@link Database}.
@@ -250,11 +758,10 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
     protected <FT> Object getFieldValue(@Nullable final Database database,
                                         final ResultSet resultSet,
                                         final Field<T, FT> field) {
-        return Null.applyOrNull(ResultSetConversions.getValueUnchecked(resultSet,
-                field.getName(), field.getType()),
+        return Null.applyOrNull(this.getReadPlan().readUnchecked(resultSet, field),
                 value -> field instanceof ForeignField ?
                         ((ForeignField<T, FT, ?>) field)
-                                .getFromValue(Objects.requireNonNull(database), value)
+                                .resolve(Objects.requireNonNull(database), value)
                         : value);
     }
 
@@ -273,12 +780,16 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
      */
     protected T finaliseDeserialisation (Database database, ResultSet resultSet,
                                          T constructedObject, boolean careful) {
-        this.currentlyDeserialising = false;
+        // Publish the object now its mutable (possibly unique) fields have been set, and snapshot the values read.
+        final Layout<T, PK> layout = this.getLayout();
+        layout.loadedObjects.put(constructedObject);
+        layout.loadedObjects.snapshot(constructedObject, this.getValues(constructedObject, layout.fieldTable.getFieldList()));
+        this.cache(layout, constructedObject);
 
-        // Accept the next deserialised result consumers and clear them.
-        this.nextDeserialisedResultConsumers.forEach(consumer ->
-                consumer.accept(constructedObject));
-        this.nextDeserialisedResultConsumers.clear();
+        // Resolve the back-references waiting on this object.
+        for (final Consumer<T> consumer : DeserialisationContext.current().finish(this, constructedObject)) {
+            consumer.accept(constructedObject);
+        }
 
         return constructedObject;
     }
@@ -326,8 +837,15 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
         protected final LinkedHashSet<Field<T, ?>> immutableFields = new LinkedHashSet<>();
         /** The {@link Field}s, stored in a {@link LinkedHashMap} to retain the order in which they are added. */
         protected final LinkedHashSet<Field<T, ?>> fields = new LinkedHashSet<>();
+        /** The {@link ForeignField}s to join-fetch, in the order in which they are added. */
+        protected final LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields = new LinkedHashSet<>();
 
         protected PrimaryField<T, PK> primaryField;
+        /** Whether to construct {@code object}s through a compiled {@link RowMapper}. */
+        protected boolean compileRowMapper;
+        /** The {@link EntityCache.Builder} to build the {@link EntityCache} from, if any. */
+        @Nullable
+        protected EntityCache.Builder<T, PK> cache;
 
         /**
          * Constructs a new {@link Builder} {@code object} with the specified
@@ -478,6 +996,100 @@ public abstract class AbstractSerDes<T extends SerDesable<T, PK>, PK> implements
             return this.field(new ImmutableForeignField<>(name, this.type, foreignField, false, true, getter));
         }
 
+        /**
+         * Constructs a new {@link LazyForeignField} with the specified properties
+         * and calls {@link #field(Field)} to add it to the list of {@link Field}s
+         * for the constructed {@link AbstractSerDesable}. The {@code object} it
+         * references is only loaded when first accessed through its
+         * {@link LazyReference}.
+         *
+         * @param name The SQL name of the {@link Field}.
+         * @param foreignField The linking foreign {@link Field}.
+         * @param getter A getter function for the {@link LazyReference}.
+         * @param <FSD> The type of the foreign {@link SerDesable}.
+         * @param <FT> The type of the foreign {@link Field}.
+         * @return This {@link Builder} for chaining.
+         * @since 0.0.7
+         */
+        public <FSD extends SerDesable<FSD, ?>, FT> B lazyField(final String name, final Field<FSD, FT> foreignField, final Function<T, LazyReference<FSD, FT>> getter) {
+            return this.field(new LazyForeignField<>(name, this.type, foreignField, false, false, getter));
+        }
+
+        /**
+         * Constructs a new {@code nullable} {@link LazyForeignField} with the
+         * specified properties and calls {@link #field(Field)} to add it to the
+         * list of {@link Field}s for the constructed {@link AbstractSerDesable}.
+         *
+         * @param name The SQL name of the {@link Field}.
+         * @param foreignField The linking foreign {@link Field}.
+         * @param getter A getter function for the {@link LazyReference}.
+         * @param <FSD> The type of the foreign {@link SerDesable}.
+         * @param <FT> The type of the foreign {@link Field}.
+         * @return This {@link Builder} for chaining.
+         * @since 0.0.7
+         */
+        public <FSD extends SerDesable<FSD, ?>, FT> B nullableLazyField(final String name, final Field<FSD, FT> foreignField, final Function<T, LazyReference<FSD, FT>> getter) {
+            return this.field(new LazyForeignField<>(name, this.type, foreignField, false, true, getter));
+        }
+
+        /**
+         * Sets the previously added {@link ForeignField} with the specified
+         * {@code name} to be join-fetched, so that the {@code object} it references
+         * is selected in the same query as the {@code object} holding it. This suits
+         * references which are always read along with the {@code object}.
+         *
+         * @param name The SQL name of the {@link ForeignField}.
+         * @return This {@link Builder} for chaining.
+         * @throws IllegalArgumentException If no {@link ForeignField} with the
+         *                                  specified {@code name} has been added.
+         * @since 0.0.7
+         */
+        public B joinFetch(final String name) {
+            this.joinFetchedFields.add(this.fields.stream()
+                    .filter(field -> field instanceof ForeignField && field.getName().equals(name))
+                    .map(field -> (ForeignField<T, ?, ?>) field).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No foreign field '" + name + "' has been added to the SerDes Builder for '" + this.type.getName() + "'.")));
+            return (B) this;
+        }
+
+        /**
+         * Sets the {@link SerDes} to construct {@code object}s through a single
+         * {@link MethodHandle} composed for its {@code immutable} {@link Field}s,
+         * which reads each column by index straight into the constructor (without
+         * boxing those read into primitive parameters) and resolves
+         * {@link ForeignField}s in line. This lets
+         * the JIT inline the whole construction, at the cost of composing the
+         * handle when built.
+         *
+         * <p>Rows are then read without calling
+         * {@link AbstractSerDes#getFieldValue(Database, ResultSet, Field)} for the
+         * {@code immutable} {@link Field}s.</p>
+         *
+         * @return This {@link Builder} for chaining.
+         * @since 0.0.7
+         */
+        public B compileRowMapper() {
+            this.compileRowMapper = true;
+            return (B) this;
+        }
+
+        /**
+         * Sets the {@link SerDes} to hold the {@code object}s it loads and writes in
+         * an {@link EntityCache} built from the specified {@link EntityCache.Builder},
+         * so that lookups by {@code primary key} (such as for resolving
+         * {@link ForeignField}s) skip the database until the {@code object} is
+         * evicted or expires. This suits reference data which is read much more
+         * often than it changes.
+         *
+         * @param cache The {@link EntityCache.Builder}.
+         * @return This {@link Builder} for chaining.
+         * @since 0.0.7
+         */
+        public B cache(final EntityCache.Builder<T, PK> cache) {
+            this.cache = cache;
+            return (B) this;
+        }
+
         /**
          * Builds the {@link SerDes} of type {@link SD} from all given properties.
          *
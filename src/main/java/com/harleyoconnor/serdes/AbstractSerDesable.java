@@ -48,10 +48,18 @@ public abstract class AbstractSerDesable<T extends AbstractSerDesable<T, PK>, PK
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.getSerDes().getFields().stream()
-                .filter(field -> !(field instanceof ForeignField &&
-                        ((ForeignField<T, ?, ?>) field).getActual((T) this) == null))
-                .map(field -> field.get((T) this)).toArray());
+        int result = 1;
+
+        // Combined as Arrays#hashCode does, skipping unset foreign fields.
+        for (final Field<T, ?> field : this.getSerDes().getFields()) {
+            final Object value = field.get((T) this);
+
+            if (value == null && field instanceof ForeignField)
+                continue;
+            result = 31 * result + Objects.hashCode(value);
+        }
+
+        return result;
     }
 
 }
@@ -1,16 +1,14 @@
 package com.harleyoconnor.serdes;
 
 import com.google.common.collect.ImmutableSet;
+import com.harleyoconnor.serdes.cache.EntityCache;
 import com.harleyoconnor.serdes.database.Database;
 import com.harleyoconnor.serdes.field.*;
-import com.harleyoconnor.serdes.util.CommonCollectors;
-import com.harleyoconnor.serdes.util.ResultSetConversions;
 
+import javax.annotation.Nullable;
 import java.sql.ResultSet;
 import java.util.LinkedHashSet;
-import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -28,27 +26,24 @@ import java.util.function.Function;
  */
 public final class ClassSerDes<T extends SerDesable<T, PK>, PK> extends AbstractSerDes<T, PK> {
 
-    private final LinkedHashSet<Field<T, ?>> fields;
-
-    private ClassSerDes(final Class<T> type, final String table, final PrimaryField<T, PK> primaryField, final LinkedHashSet<Field<T, ?>> fields, final LinkedHashSet<Field<T, ?>> immutableFields) {
-        super(type, table, primaryField, immutableFields);
-        this.fields = fields;
-    }
-
-    @Override
-    public Set<Field<T, ?>> getFields() {
-        return this.fields.stream().collect(CommonCollectors.toUnmodifiableLinkedSet());
+    private ClassSerDes(final Class<T> type, final String table, final PrimaryField<T, PK> primaryField, final LinkedHashSet<Field<T, ?>> fields, final LinkedHashSet<Field<T, ?>> immutableFields,
+                        final LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields, final boolean compileRowMapper,
+                        @Nullable final EntityCache.Builder<T, PK> cache) {
+        super(type, table, primaryField, fields, immutableFields, joinFetchedFields, compileRowMapper, cache);
     }
 
     @Override
     protected T finaliseDeserialisation(Database database, ResultSet resultSet, T constructedObject, boolean careful) {
-        final Consumer<Field<T, ?>> fieldSetter = field -> this.setField(database, resultSet, constructedObject, field);
-        this.getMutableFields().forEach(fieldSetter);
+        for (final Field<T, ?> field : this.getFieldTable().getMutableFields()) {
+            this.setField(database, resultSet, constructedObject, field);
+        }
 
-        if (!careful)
-            this.getForeignFields().stream().filter(Field::isMutable).forEach(fieldSetter);
-        else this.getForeignFields().forEach(foreignField -> this.setWhenNextDeserialised(database, constructedObject,
-                foreignField, foreignField.getForeignField()));
+        for (final ForeignField<T, ?, ?> foreignField : this.getFieldTable().getForeignFields()) {
+            if (careful)
+                this.setWhenNextDeserialised(database, constructedObject, foreignField, foreignField.getForeignField());
+            else if (foreignField.isMutable())
+                this.setField(database, resultSet, constructedObject, foreignField);
+        }
 
         return super.finaliseDeserialisation(database, resultSet, constructedObject, careful);
     }
@@ -67,7 +62,7 @@ public final class ClassSerDes<T extends SerDesable<T, PK>, PK> extends Abstract
     }
 
     private <V> void setField(final Database database, final ResultSet resultSet, final T object, final Field<T, V> field) {
-        field.set(database, object, ResultSetConversions.getValueUnchecked(resultSet, field.getName(), field.getType()));
+        field.set(database, object, this.getReadPlan().readUnchecked(resultSet, field));
     }
 
     /**
@@ -131,10 +126,18 @@ public final class ClassSerDes<T extends SerDesable<T, PK>, PK> extends Abstract
             return this.field(new MutableForeignField<>(name, this.type, foreignField, false, true, getter, setter));
         }
 
+        public <FKT extends SerDesable<FKT, ?>, FT> B lazyField(final String name, final Field<FKT, FT> foreignField, final Function<T, LazyReference<FKT, FT>> getter, final BiConsumer<T, LazyReference<FKT, FT>> setter) {
+            return this.field(new MutableLazyForeignField<>(name, this.type, foreignField, false, false, getter, setter));
+        }
+
+        public <FKT extends SerDesable<FKT, ?>, FT> B nullableLazyField(final String name, final Field<FKT, FT> foreignField, final Function<T, LazyReference<FKT, FT>> getter, final BiConsumer<T, LazyReference<FKT, FT>> setter) {
+            return this.field(new MutableLazyForeignField<>(name, this.type, foreignField, false, true, getter, setter));
+        }
+
         @Override
         public CSD build () {
             this.assertPrimaryFieldSet();
-            return this.register((CSD) new ClassSerDes<>(this.type, this.tableName, this.primaryField, this.fields, this.immutableFields));
+            return this.register((CSD) new ClassSerDes<>(this.type, this.tableName, this.primaryField, this.fields, this.immutableFields, this.joinFetchedFields, this.compileRowMapper, this.cache));
         }
 
         public static <T extends SerDesable<T, PK>, PK, CSD extends ClassSerDes<T, PK>, B extends ClassSerDes.Builder<T, PK, CSD, B>> Builder<T, PK, CSD, B> of(final Class<T> type, final Class<PK> primaryKeyClass) {
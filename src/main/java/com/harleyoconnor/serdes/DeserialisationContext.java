@@ -0,0 +1,183 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.field.Field;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Holds the state of the deserialisations in progress on the current thread: how
+ * deeply each {@link SerDes} is deserialising, the {@code object}s constructed
+ * but not yet finalised, and the pending back-references waiting on the next
+ * {@code object} of each {@link SerDes}.
+ *
+ * <p>As each thread has its own context, concurrent loads of the same type don't
+ * see each other's state, nor contend on it. {@code object}s being deserialised
+ * are only visible to the thread deserialising them until they are finalised, at
+ * which point they are added to the loaded {@code object}s.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+final class DeserialisationContext {
+
+    private static final ThreadLocal<DeserialisationContext> CURRENT = new ThreadLocal<>();
+
+    /** The amount of nested deserialisations in progress for each {@link SerDes}. */
+    private final Map<SerDes<?, ?>, Integer> depths = new IdentityHashMap<>();
+    /** The {@code object}s constructed but not yet finalised by each {@link SerDes}. */
+    private final Map<SerDes<?, ?>, List<Object>> inFlight = new IdentityHashMap<>();
+    /** The {@link Consumer}s to accept the next {@code object} finalised by each {@link SerDes}. */
+    private final Map<SerDes<?, ?>, List<Consumer<?>>> pendingBackReferences = new IdentityHashMap<>();
+
+    private DeserialisationContext() {
+    }
+
+    /**
+     * Gets the {@link DeserialisationContext} of the current thread, creating it
+     * if it doesn't have one.
+     *
+     * @return The {@link DeserialisationContext}.
+     */
+    static DeserialisationContext current() {
+        DeserialisationContext context = CURRENT.get();
+
+        if (context == null)
+            CURRENT.set(context = new DeserialisationContext());
+        return context;
+    }
+
+    /**
+     * Gets the {@link DeserialisationContext} of the current thread, if it has
+     * one. Threads only hold one while deserialising, or while back-references
+     * are pending.
+     *
+     * @return The {@link DeserialisationContext}, or {@code null} if the current
+     *         thread doesn't have one.
+     */
+    @Nullable
+    static DeserialisationContext peek() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records that the specified {@link SerDes} has started deserialising an
+     * {@code object}. Each call must be followed by a call to
+     * {@link #exit(SerDes)}.
+     *
+     * @param serDes The {@link SerDes}.
+     */
+    void enter(final SerDes<?, ?> serDes) {
+        this.depths.merge(serDes, 1, Integer::sum);
+    }
+
+    /**
+     * Records that the specified {@link SerDes} has finished (or failed)
+     * deserialising an {@code object}, discarding this context once the current
+     * thread holds no more state.
+     *
+     * @param serDes The {@link SerDes}.
+     */
+    void exit(final SerDes<?, ?> serDes) {
+        if (this.depths.merge(serDes, -1, Integer::sum) > 0)
+            return;
+
+        this.depths.remove(serDes);
+        // Anything still in flight failed to deserialise.
+        this.inFlight.remove(serDes);
+
+        if (this.depths.isEmpty() && this.pendingBackReferences.isEmpty())
+            CURRENT.remove();
+    }
+
+    /**
+     * Checks if the specified {@link SerDes} is deserialising an {@code object} on
+     * the current thread.
+     *
+     * @param serDes The {@link SerDes}.
+     * @return {@code true} if it is deserialising; {@code false} otherwise.
+     */
+    boolean isDeserialising(final SerDes<?, ?> serDes) {
+        return this.depths.containsKey(serDes);
+    }
+
+    /**
+     * Adds the specified {@code object}, which the specified {@link SerDes} has
+     * constructed, to the in-flight {@code object}s until it is
+     * {@link #finish(SerDes, Object) finished}.
+     *
+     * @param serDes The {@link SerDes}.
+     * @param object The constructed {@code object}.
+     */
+    void addInFlight(final SerDes<?, ?> serDes, final Object object) {
+        this.inFlight.computeIfAbsent(serDes, key -> new ArrayList<>(1)).add(object);
+    }
+
+    /**
+     * Gets the in-flight {@code object} of the specified {@link SerDes} whose
+     * specified {@link Field} has the specified {@code value}.
+     *
+     * @param serDes The {@link SerDes}.
+     * @param field The {@link Field} to match on.
+     * @param value The value of the {@link Field} to find.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return An {@link Optional} containing the in-flight {@code object}, or
+     *         {@link Optional#empty()} if there isn't one.
+     */
+    <T extends SerDesable<T, ?>, V> Optional<T> getInFlight(final SerDes<T, ?> serDes, final Field<T, V> field, @Nullable final V value) {
+        final List<Object> objects = this.inFlight.get(serDes);
+
+        if (objects == null || value == null)
+            return Optional.empty();
+
+        for (final Object object : objects) {
+            final T inFlightObject = serDes.getType().cast(object);
+
+            if (value.equals(field.get(inFlightObject)))
+                return Optional.of(inFlightObject);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the specified {@link Consumer} to accept the next {@code object}
+     * finished by the specified {@link SerDes}.
+     *
+     * @param serDes The {@link SerDes}.
+     * @param consumer The {@link Consumer} of the next {@code object}.
+     * @param <T> The type of {@link SerDesable}.
+     */
+    <T extends SerDesable<T, ?>> void addPendingBackReference(final SerDes<T, ?> serDes, final Consumer<T> consumer) {
+        this.pendingBackReferences.computeIfAbsent(serDes, key -> new ArrayList<>(1)).add(consumer);
+    }
+
+    /**
+     * Removes the specified {@code object} from the in-flight {@code object}s of
+     * the specified {@link SerDes} once it is fully deserialised, returning the
+     * pending back-references which should now accept it.
+     *
+     * @param serDes The {@link SerDes}.
+     * @param object The deserialised {@code object}.
+     * @param <T> The type of {@link SerDesable}.
+     * @return The {@link Consumer}s to accept the {@code object}.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends SerDesable<T, ?>> List<Consumer<T>> finish(final SerDes<T, ?> serDes, final T object) {
+        final List<Object> objects = this.inFlight.get(serDes);
+
+        if (objects != null) {
+            // Removed by identity, as objects may define equality by their field values.
+            objects.removeIf(inFlightObject -> inFlightObject == object);
+
+            if (objects.isEmpty())
+                this.inFlight.remove(serDes);
+        }
+
+        final List<Consumer<?>> consumers = this.pendingBackReferences.remove(serDes);
+        return consumers == null ? Collections.emptyList() : (List<Consumer<T>>) (List<?>) consumers;
+    }
+
+}
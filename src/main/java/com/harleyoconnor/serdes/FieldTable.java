@@ -0,0 +1,165 @@
+package com.harleyoconnor.serdes;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.ForeignField;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The {@link Field}s of a {@link SerDes}, along with the subsets and column
+ * ordinals used when serialising and deserialising each {@code object}, computed
+ * once when the {@link SerDes} is built.
+ *
+ * <p>All collections are immutable and array-backed, and are returned as is, so
+ * reading them per {@code object} doesn't allocate. The {@link java.util.List}
+ * view allows iterating by index.</p>
+ *
+ * @param <T> The type of {@link SerDesable} the {@link Field}s belong to.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class FieldTable<T extends SerDesable<T, ?>> {
+
+    private final ImmutableSet<Field<T, ?>> fields;
+    private final ImmutableSet<Field<T, ?>> mutableFields;
+    private final ImmutableSet<Field<T, ?>> immutableFields;
+    private final ImmutableSet<ForeignField<T, ?, ?>> foreignFields;
+    private final ImmutableSet<Field<T, ?>> nonNullableFields;
+    private final ImmutableSet<String> mutableFieldNames;
+
+    /** Maps each {@link Field} to its position in {@link #fields}. */
+    private final Map<Field<T, ?>, Integer> ordinals = new IdentityHashMap<>();
+
+    /**
+     * Constructs a new {@link FieldTable} for the specified {@link Field}s.
+     *
+     * @param fields All {@link Field}s of type {@link T}, in column order.
+     */
+    @SuppressWarnings("unchecked")
+    public FieldTable(final Collection<Field<T, ?>> fields) {
+        final ImmutableSet.Builder<Field<T, ?>> mutableFields = ImmutableSet.builder();
+        final ImmutableSet.Builder<Field<T, ?>> immutableFields = ImmutableSet.builder();
+        final ImmutableSet.Builder<ForeignField<T, ?, ?>> foreignFields = ImmutableSet.builder();
+        final ImmutableSet.Builder<Field<T, ?>> nonNullableFields = ImmutableSet.builder();
+        final ImmutableSet.Builder<String> mutableFieldNames = ImmutableSet.builder();
+
+        this.fields = ImmutableSet.copyOf(fields);
+
+        int ordinal = 0;
+        for (final Field<T, ?> field : this.fields) {
+            this.ordinals.put(field, ordinal++);
+
+            if (field.isMutable()) {
+                mutableFields.add(field);
+                mutableFieldNames.add(field.getName());
+            } else immutableFields.add(field);
+
+            if (field instanceof ForeignField)
+                foreignFields.add((ForeignField<T, ?, ?>) field);
+            if (!field.isNullable())
+                nonNullableFields.add(field);
+        }
+
+        this.mutableFields = mutableFields.build();
+        this.immutableFields = immutableFields.build();
+        this.foreignFields = foreignFields.build();
+        this.nonNullableFields = nonNullableFields.build();
+        this.mutableFieldNames = mutableFieldNames.build();
+    }
+
+    /**
+     * Gets all {@link Field}s, in column order.
+     *
+     * @return An immutable {@link java.util.Set} of all {@link Field}s.
+     */
+    public ImmutableSet<Field<T, ?>> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Gets all {@link Field}s as a {@link java.util.List}, in column order, so that
+     * they can be iterated by index.
+     *
+     * @return An immutable {@link java.util.List} of all {@link Field}s.
+     */
+    public ImmutableList<Field<T, ?>> getFieldList() {
+        return this.fields.asList();
+    }
+
+    /**
+     * Gets the {@code mutable} {@link Field}s, in column order.
+     *
+     * @return An immutable {@link java.util.Set} of the {@code mutable}
+     *         {@link Field}s.
+     */
+    public ImmutableSet<Field<T, ?>> getMutableFields() {
+        return this.mutableFields;
+    }
+
+    /**
+     * Gets the {@code immutable} {@link Field}s, in column order.
+     *
+     * @return An immutable {@link java.util.Set} of the {@code immutable}
+     *         {@link Field}s.
+     */
+    public ImmutableSet<Field<T, ?>> getImmutableFields() {
+        return this.immutableFields;
+    }
+
+    /**
+     * Gets the {@link ForeignField}s, in column order.
+     *
+     * @return An immutable {@link java.util.Set} of the {@link ForeignField}s.
+     */
+    public ImmutableSet<ForeignField<T, ?, ?>> getForeignFields() {
+        return this.foreignFields;
+    }
+
+    /**
+     * Gets the {@link Field}s whose columns are declared {@code not null}, in column
+     * order.
+     *
+     * @return An immutable {@link java.util.Set} of the non-nullable
+     *         {@link Field}s.
+     */
+    public ImmutableSet<Field<T, ?>> getNonNullableFields() {
+        return this.nonNullableFields;
+    }
+
+    /**
+     * Gets the column names of the {@code mutable} {@link Field}s, which are those
+     * updated when an existing row is written.
+     *
+     * @return An immutable {@link java.util.Set} of the {@code mutable} column
+     *         names.
+     */
+    public ImmutableSet<String> getMutableFieldNames() {
+        return this.mutableFieldNames;
+    }
+
+    /**
+     * Gets the position of the specified {@link Field} in {@link #getFieldList()}.
+     *
+     * @param field The {@link Field}.
+     * @return The ordinal of the {@link Field}, or {@code -1} if it isn't part of
+     *         this {@link FieldTable}.
+     */
+    public int getOrdinal(final Field<T, ?> field) {
+        return this.ordinals.getOrDefault(field, -1);
+    }
+
+    /**
+     * Gets the amount of {@link Field}s.
+     *
+     * @return The amount of {@link Field}s.
+     */
+    public int size() {
+        return this.fields.size();
+    }
+
+}
@@ -9,6 +9,13 @@ import com.harleyoconnor.serdes.field.PrimaryField;
  * whose {@link PrimaryField} is an {@link Integer} {@code id}. The {@link PrimaryField}
  * {@link Object} can be created by {@link #createPrimaryField(Class)}.
  *
+ * <p>New {@code id}s are allocated by the {@link Database}'s
+ * {@link com.harleyoconnor.serdes.database.IdAllocator} for the {@code table}. By
+ * default this reads the highest {@code id} on each construction; an allocator
+ * reserving them in blocks can be set with
+ * {@link Database#setIdAllocator(String, com.harleyoconnor.serdes.database.IdAllocator)}
+ * so most constructions don't need a database call.</p>
+ *
  * @author Harley O'Connor
  */
 public abstract class IndexedSerDesable<T extends IndexedSerDesable<T>> extends AbstractSerDesable<T, Integer> {
@@ -28,7 +35,7 @@ public abstract class IndexedSerDesable<T extends IndexedSerDesable<T>> extends
     }
 
     public IndexedSerDesable(final Database database) {
-        this.id = database.getMaxOrDefault(this.getSerDes().getTable(), this.getPrimaryField().getName(), 1) + 1;
+        this.id = database.allocateIdUnchecked(this.getSerDes().getTable(), this.getPrimaryField().getName());
     }
 
     public IndexedSerDesable(int id) {
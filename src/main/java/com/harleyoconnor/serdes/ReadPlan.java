@@ -0,0 +1,194 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.exception.NoSuchColumnException;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.util.ResultSetConversions;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the {@link Field}s of a {@link SerDes} from a {@link ResultSet} by column
+ * index rather than by name.
+ *
+ * <p>The index of each {@link Field}'s column is resolved once for each shape of
+ * {@link ResultSetMetaData} (its column labels, in order) and remembered for the
+ * last {@link ResultSet} read, so reading a row costs one typed
+ * {@link ResultSetConversions.IndexedConverter} call per {@link Field} and no name
+ * lookups. This class is thread-safe.</p>
+ *
+ * @param <T> The type of {@link SerDesable} whose {@link Field}s are read.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class ReadPlan<T extends SerDesable<T, ?>> {
+
+    /** The column indexes for a {@link ResultSet}, which is weakly referenced. */
+    private static final class Binding extends WeakReference<ResultSet> {
+        private final int[] indexes;
+
+        private Binding(final ResultSet resultSet, final int[] indexes) {
+            super(resultSet);
+            this.indexes = indexes;
+        }
+    }
+
+    /** Gives the position of each {@link Field} in {@link #columns} and {@link #converters}. */
+    private final FieldTable<T> fieldTable;
+    private final String[] columns;
+    /** The {@link ResultSetConversions.IndexedConverter} for each {@link Field}, or {@code null} if there isn't one. */
+    private volatile ResultSetConversions.IndexedConverter<?>[] converters;
+    /** The {@link ResultSetConversions.ConverterRegistry#getVersion() version} of the registry the converters were looked up from. */
+    private volatile int converterVersion;
+
+    /** The column indexes of each {@link Field} for each shape of {@link ResultSet}, keyed by its column labels. */
+    private final Map<List<String>, int[]> indexesByShape = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile Binding lastBinding;
+
+    /**
+     * Constructs a new {@link ReadPlan} for the {@link Field}s of the specified
+     * {@link FieldTable}, binding each to the registered converter for its type.
+     * Converters registered later are bound when next read.
+     *
+     * @param fieldTable The {@link FieldTable} of the {@link Field}s to read.
+     */
+    public ReadPlan(final FieldTable<T> fieldTable) {
+        final List<Field<T, ?>> fields = fieldTable.getFieldList();
+
+        this.fieldTable = fieldTable;
+        this.columns = new String[fields.size()];
+
+        for (int i = 0; i < fields.size(); i++) {
+            this.columns[i] = fields.get(i).getName();
+        }
+
+        this.resolveConverters();
+    }
+
+    /**
+     * Looks up and binds the converter for each {@link Field}, recording the
+     * version of the registry they were looked up from.
+     */
+    private ResultSetConversions.IndexedConverter<?>[] resolveConverters() {
+        final int version = ResultSetConversions.CONVERTER_REGISTRY.getVersion();
+        final List<Field<T, ?>> fields = this.fieldTable.getFieldList();
+        final ResultSetConversions.IndexedConverter<?>[] converters = new ResultSetConversions.IndexedConverter<?>[fields.size()];
+
+        for (int i = 0; i < fields.size(); i++) {
+            converters[i] = ResultSetConversions.CONVERTER_REGISTRY.getIndexed(fields.get(i).getType()).orElse(null);
+        }
+
+        this.converters = converters;
+        this.converterVersion = version;
+        return converters;
+    }
+
+    /**
+     * Reads the value of the specified {@link Field} from the current row of the
+     * specified {@link ResultSet}.
+     *
+     * @param resultSet The {@link ResultSet} to read from.
+     * @param field The {@link Field} to read.
+     * @param <V> The type of the {@link Field}.
+     * @return The value; otherwise {@code null} if it was {@code null} in the column.
+     * @throws SQLException If the {@link Field}'s column did not exist in the
+     *                      {@link ResultSet}; if a database access exception occurs.
+     * @throws IllegalArgumentException If the {@link Field} is not part of this
+     *                                  {@link ReadPlan}, or there was no registered
+     *                                  conversion function for its type.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <V> V read(final ResultSet resultSet, final Field<T, V> field) throws SQLException {
+        final int ordinal = this.fieldTable.getOrdinal(field);
+
+        if (ordinal < 0)
+            throw new IllegalArgumentException("Field '" + field.getName() + "' is not part of this read plan.");
+
+        final int index = this.getIndexes(resultSet)[ordinal];
+
+        if (index < 1)
+            throw new NoSuchColumnException("No such column '" + this.columns[ordinal] + "'.");
+
+        ResultSetConversions.IndexedConverter<?>[] converters = this.converters;
+
+        // Converters registered since they were looked up replace or fill in those bound.
+        if (this.converterVersion != ResultSetConversions.CONVERTER_REGISTRY.getVersion())
+            converters = this.resolveConverters();
+
+        final var converter = converters[ordinal];
+
+        if (converter == null)
+            throw new IllegalArgumentException("Could not get value of type '" + field.getType() + "'.");
+
+        return (V) converter.apply(resultSet, index);
+    }
+
+    /**
+     * Reads the value of the specified {@link Field} from the current row of the
+     * specified {@link ResultSet}. This method is an "unchecked" version of
+     * {@link #read(ResultSet, Field)} as it throws any {@link SQLException}s as a
+     * {@link RuntimeException}.
+     *
+     * @param resultSet The {@link ResultSet} to read from.
+     * @param field The {@link Field} to read.
+     * @param <V> The type of the {@link Field}.
+     * @return The value; otherwise {@code null} if it was {@code null} in the column.
+     * @throws RuntimeException If there were any {@link SQLException} thrown
+     *                          by {@link #read(ResultSet, Field)}.
+     */
+    @Nullable
+    public <V> V readUnchecked(final ResultSet resultSet, final Field<T, V> field) {
+        try {
+            return this.read(resultSet, field);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the column index of each {@link Field} in the specified
+     * {@link ResultSet}, aligned with {@link FieldTable#getFieldList()}. An index
+     * less than {@code 1} means the {@link Field}'s column doesn't exist.
+     *
+     * @param resultSet The {@link ResultSet}.
+     * @return The column indexes, which must not be modified.
+     * @throws SQLException If a database access error occurs.
+     */
+    int[] getIndexes(final ResultSet resultSet) throws SQLException {
+        final Binding binding = this.lastBinding;
+
+        if (binding != null && binding.get() == resultSet)
+            return binding.indexes;
+
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final List<String> labels = new ArrayList<>(metaData.getColumnCount());
+
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            labels.add(metaData.getColumnLabel(column).toLowerCase(Locale.ROOT));
+        }
+
+        final int[] indexes = this.indexesByShape.computeIfAbsent(labels, this::resolveIndexes);
+        this.lastBinding = new Binding(resultSet, indexes);
+        return indexes;
+    }
+
+    private int[] resolveIndexes(final List<String> labels) {
+        final int[] indexes = new int[this.columns.length];
+
+        for (int i = 0; i < indexes.length; i++) {
+            // Column labels are matched case-insensitively, with the first match winning, as ResultSet#findColumn does.
+            indexes[i] = labels.indexOf(this.columns[i].toLowerCase(Locale.ROOT)) + 1;
+        }
+
+        return indexes;
+    }
+
+}
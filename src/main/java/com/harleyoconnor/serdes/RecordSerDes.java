@@ -1,11 +1,13 @@
 package com.harleyoconnor.serdes;
 
+import com.harleyoconnor.serdes.cache.EntityCache;
 import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.ForeignField;
 import com.harleyoconnor.serdes.field.ImmutableField;
 import com.harleyoconnor.serdes.field.PrimaryField;
 
+import javax.annotation.Nullable;
 import java.util.LinkedHashSet;
-import java.util.Set;
 
 /**
  * Implementation of {@link SerDes} specifically built for {@link Record} objects, and hence
@@ -32,20 +34,17 @@ public final class RecordSerDes<T extends Record & SerDesable<T, PK>, PK> extend
      * @param name The name of the SQL table.
      * @param primaryField The {@link PrimaryField} of the SQL table.
      * @param fields All {@link Field} {@code object}s for this {@link RecordSerDes}.
+     * @param joinFetchedFields The {@link ForeignField}s to join-fetch.
+     * @param compileRowMapper {@code true} to construct {@code object}s through a
+     *                         compiled {@link RowMapper}.
+     * @param cache The {@link EntityCache.Builder} to build the
+     *              {@link EntityCache} from, or {@code null} to not cache
+     *              {@code object}s.
      */
-    private RecordSerDes(Class<T> type, String name, final PrimaryField<T, PK> primaryField, final LinkedHashSet<Field<T, ?>> fields) {
-        super(type, name, primaryField, fields);
-    }
-
-    /**
-     * {@inheritDoc}
-     *
-     * @return The result of {@link #getImmutableFields()} (not collected as that is already
-     *         handled by this method.
-     */
-    @Override
-    public Set<Field<T, ?>> getFields() {
-        return this.getImmutableFields();
+    private RecordSerDes(Class<T> type, String name, final PrimaryField<T, PK> primaryField, final LinkedHashSet<Field<T, ?>> fields,
+                         final LinkedHashSet<ForeignField<T, ?, ?>> joinFetchedFields, final boolean compileRowMapper,
+                         @Nullable final EntityCache.Builder<T, PK> cache) {
+        super(type, name, primaryField, fields, fields, joinFetchedFields, compileRowMapper, cache);
     }
 
     /**
@@ -94,7 +93,7 @@ public final class RecordSerDes<T extends Record & SerDesable<T, PK>, PK> extend
         @Override
         public RSD build() {
             this.assertPrimaryFieldSet();
-            return this.register((RSD) new RecordSerDes<>(this.type, this.tableName, this.primaryField, this.immutableFields));
+            return this.register((RSD) new RecordSerDes<>(this.type, this.tableName, this.primaryField, this.immutableFields, this.joinFetchedFields, this.compileRowMapper, this.cache));
         }
 
         /**
@@ -0,0 +1,241 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.exception.NoSuchColumnException;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.ForeignField;
+import com.harleyoconnor.serdes.util.ResultSetConversions;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Constructs {@code object}s of type {@link T} from the current row of a
+ * {@link ResultSet} through a single {@link MethodHandle}, composed once from the
+ * {@code immutable} {@link Field}s of a {@link SerDes}.
+ *
+ * <p>Each {@link Field}'s column is read by index straight into its constructor
+ * parameter through the matching typed {@link ResultSet} getter (so a column read
+ * into a primitive constructor parameter, such as an {@code int} through
+ * {@code getInt}, is never boxed), {@link ForeignField}s are resolved in line, and
+ * no argument array is built, leaving the JIT a single call tree per {@link SerDes} that it can
+ * inline. Types without a matching getter, or whose built in converter has been
+ * overridden, are read with their registered
+ * {@link ResultSetConversions.IndexedConverter}. The handle is composed again if
+ * converters are registered after it was composed.</p>
+ *
+ * @param <T> The type of {@link SerDesable} being constructed.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+final class RowMapper<T extends SerDesable<T, ?>> {
+
+    /** The leading parameters of the composed handle: the {@link Database}, the {@link ResultSet} and its column indexes. */
+    private static final List<Class<?>> ROW_PARAMETERS = List.of(Database.class, ResultSet.class, int[].class);
+
+    /**
+     * The typed {@link ResultSet} getter reading each type with a built in
+     * converter in {@link ResultSetConversions}.
+     */
+    private static final Map<Class<?>, String> GETTERS = Map.of(
+            Boolean.class, "getBoolean",
+            Integer.class, "getInt",
+            Double.class, "getDouble",
+            Float.class, "getFloat",
+            String.class, "getString",
+            BigDecimal.class, "getBigDecimal",
+            Date.class, "getDate",
+            Time.class, "getTime",
+            Timestamp.class, "getTimestamp",
+            java.util.Date.class, "getDate"
+    );
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodHandle INDEX_GETTER = MethodHandles.arrayElementGetter(int[].class);
+    private static final MethodHandle APPLY_CONVERTER;
+    private static final MethodHandle RESOLVE_FOREIGN;
+
+    static {
+        try {
+            APPLY_CONVERTER = LOOKUP.findStatic(RowMapper.class, "applyConverter",
+                    MethodType.methodType(Object.class, ResultSetConversions.IndexedConverter.class, ResultSet.class, int.class));
+            RESOLVE_FOREIGN = LOOKUP.findStatic(RowMapper.class, "resolveForeign",
+                    MethodType.methodType(Object.class, ForeignField.class, Database.class, Object.class));
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<T> type;
+    private final ReadPlan<T> readPlan;
+    private final String[] columns;
+    private final MethodHandle constructor;
+    private final List<Field<T, ?>> immutableFields;
+    /** The ordinals of the {@code immutable} {@link Field}s in the {@link FieldTable}. */
+    private final int[] ordinals;
+    /** The composed {@link MethodHandle}, of type {@code (Database, ResultSet, int[])Object}. */
+    private volatile MethodHandle mapper;
+    /** The {@link ResultSetConversions.ConverterRegistry#getVersion() version} of the registry the mapper was composed with. */
+    private volatile int converterVersion;
+
+    /**
+     * Constructs a new {@link RowMapper}, composing the specified
+     * {@code constructor} with a reader for each of the specified
+     * {@code immutableFields}.
+     *
+     * @param type The {@link Class} of {@link T}.
+     * @param fieldTable The {@link FieldTable} of the {@link SerDes}.
+     * @param readPlan The {@link ReadPlan} resolving column indexes.
+     * @param constructor The {@link MethodHandle} of the {@link T} constructor,
+     *                    taking the {@code immutableFields} in order.
+     * @param immutableFields The {@code immutable} {@link Field}s.
+     * @throws IllegalArgumentException If there are too many
+     *                                  {@code immutableFields} to compose into a
+     *                                  single {@link MethodHandle}.
+     */
+    RowMapper(final Class<T> type, final FieldTable<T> fieldTable, final ReadPlan<T> readPlan, final MethodHandle constructor,
+              final List<Field<T, ?>> immutableFields) {
+        // Each parameter is replaced by the three row parameters, which must fit within the JVM's limit of 255.
+        if (immutableFields.size() * ROW_PARAMETERS.size() > 255)
+            throw new IllegalArgumentException("Too many immutable fields to compile a row mapper for '" + type.getName() + "'.");
+
+        this.type = type;
+        this.readPlan = readPlan;
+        this.columns = fieldTable.getFieldList().stream().map(Field::getName).toArray(String[]::new);
+        this.constructor = constructor;
+        this.immutableFields = List.copyOf(immutableFields);
+        this.ordinals = immutableFields.stream().mapToInt(fieldTable::getOrdinal).toArray();
+        this.compose();
+    }
+
+    /**
+     * Composes the {@code constructor} with a reader for each {@code immutable}
+     * {@link Field}, using the converters currently registered.
+     */
+    private MethodHandle compose() {
+        final int version = ResultSetConversions.CONVERTER_REGISTRY.getVersion();
+        MethodHandle mapper = this.constructor.asType(this.constructor.type().changeReturnType(Object.class));
+
+        for (int i = 0; i < this.immutableFields.size(); i++) {
+            final Class<?> parameterType = mapper.type().parameterType(i * ROW_PARAMETERS.size());
+            final MethodHandle reader = reader(this.immutableFields.get(i), this.ordinals[i]);
+
+            mapper = MethodHandles.collectArguments(mapper, i * ROW_PARAMETERS.size(),
+                    reader.asType(reader.type().changeReturnType(parameterType)));
+        }
+
+        // Route the row parameters to each reader.
+        final int[] reorder = new int[this.immutableFields.size() * ROW_PARAMETERS.size()];
+        Arrays.setAll(reorder, index -> index % ROW_PARAMETERS.size());
+
+        mapper = MethodHandles.permuteArguments(mapper, MethodType.methodType(Object.class, ROW_PARAMETERS), reorder);
+        this.mapper = mapper;
+        this.converterVersion = version;
+        return mapper;
+    }
+
+    /**
+     * Constructs an {@code object} of type {@link T} from the current row of the
+     * specified {@link ResultSet}.
+     *
+     * @param database The {@link Database} to resolve {@link ForeignField}s from.
+     * @param resultSet The {@link ResultSet} to read from.
+     * @return The constructed {@code object}.
+     * @throws SQLException If the column of an {@code immutable} {@link Field} did
+     *                      not exist in the {@link ResultSet}; if a database access
+     *                      exception occurs.
+     */
+    T map(@Nullable final Database database, final ResultSet resultSet) throws SQLException {
+        final int[] indexes = this.readPlan.getIndexes(resultSet);
+
+        for (final int ordinal : this.ordinals) {
+            if (indexes[ordinal] < 1)
+                throw new NoSuchColumnException("No such column '" + this.columns[ordinal] + "'.");
+        }
+
+        MethodHandle mapper = this.mapper;
+
+        // Converters registered since it was composed replace those it reads with.
+        if (this.converterVersion != ResultSetConversions.CONVERTER_REGISTRY.getVersion())
+            mapper = this.compose();
+
+        try {
+            return this.type.cast((Object) mapper.invokeExact(database, resultSet, indexes));
+        } catch (final SQLException | RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Creates a {@link MethodHandle} of type {@code (Database, ResultSet, int[])R},
+     * returning the value of the specified {@link Field} read from the column at the
+     * specified {@code ordinal} of the index array, where {@code R} is the type
+     * returned by its {@link #columnReader(Class) column reader}, or {@code Object}
+     * for a {@link ForeignField}.
+     */
+    private static MethodHandle reader(final Field<?, ?> field, final int ordinal) {
+        MethodHandle reader = columnReader(field.getType());
+
+        // Read the column index from the array, rather than taking it directly.
+        reader = MethodHandles.filterArguments(reader, 1, MethodHandles.insertArguments(INDEX_GETTER, 1, ordinal));
+        reader = MethodHandles.dropArguments(reader, 0, Database.class);
+
+        if (field instanceof ForeignField) {
+            // Resolve the foreign object from the value read, with the database.
+            reader = MethodHandles.collectArguments(RESOLVE_FOREIGN.bindTo(field), 1,
+                    reader.asType(reader.type().changeReturnType(Object.class)));
+            reader = MethodHandles.permuteArguments(reader,
+                    MethodType.methodType(Object.class, ROW_PARAMETERS), 0, 0, 1, 2);
+        }
+
+        return reader;
+    }
+
+    /**
+     * Creates a {@link MethodHandle} of type {@code (ResultSet, int)R} returning
+     * the value of a column of the specified {@code type}, through its typed getter
+     * if its converter is built in. {@code R} is the return type of the getter, such
+     * as {@code int} for {@code getInt}, or {@code Object} if read with a converter.
+     */
+    private static MethodHandle columnReader(final Class<?> type) {
+        final String getter = GETTERS.get(type);
+
+        try {
+            if (getter != null && ResultSetConversions.CONVERTER_REGISTRY.isBuiltIn(type))
+                return LOOKUP.unreflect(ResultSet.class.getMethod(getter, int.class));
+        } catch (final ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Without a converter, reads fail until one is registered, at which point the mapper is composed again.
+        return MethodHandles.insertArguments(APPLY_CONVERTER, 0, ResultSetConversions.CONVERTER_REGISTRY.getIndexed(type)
+                .orElseGet(() -> (resultSet, column) -> {
+                    throw new IllegalArgumentException("Could not get value of type '" + type + "'.");
+                }));
+    }
+
+    @Nullable
+    private static Object applyConverter(final ResultSetConversions.IndexedConverter<?> converter, final ResultSet resultSet,
+                                         final int column) throws SQLException {
+        return converter.apply(resultSet, column);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Object resolveForeign(final ForeignField<?, ?, ?> foreignField, @Nullable final Database database,
+                                         @Nullable final Object value) {
+        return value == null ? null : ((ForeignField<?, Object, ?>) foreignField).resolve(Objects.requireNonNull(database), value);
+    }
+
+}
@@ -1,13 +1,16 @@
 package com.harleyoconnor.serdes;
 
+import com.harleyoconnor.serdes.cache.EntityCache;
 import com.harleyoconnor.serdes.database.Database;
 import com.harleyoconnor.serdes.database.DefaultDatabase;
 import com.harleyoconnor.serdes.field.*;
 import com.harleyoconnor.serdes.util.CommonCollectors;
 
+import javax.annotation.Nullable;
 import java.sql.ResultSet;
-import java.util.Objects;
-import java.util.Set;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -62,6 +65,34 @@ public interface SerDes<T extends SerDesable<T, PK>, PK> {
      */
     Set<T> getLoadedObjects();
 
+    /**
+     * Gets the currently loaded {@link Object} of type {@link T} with the specified
+     * {@code primaryKeyValue}.
+     *
+     * @param primaryKeyValue The value of the {@code primary key}.
+     * @return An {@link Optional} containing the loaded {@code object}, or
+     *         {@link Optional#empty()} if it isn't loaded.
+     * @since 0.0.7
+     */
+    default Optional<T> getLoaded(@Nullable final PK primaryKeyValue) {
+        return this.getLoaded(this.getPrimaryField(), primaryKeyValue);
+    }
+
+    /**
+     * Gets the currently loaded {@link Object} of type {@link T} whose specified
+     * {@link Field} has the specified {@code value}.
+     *
+     * @param field The {@link Field} to match on.
+     * @param value The value of the {@link Field} to find.
+     * @param <V> The type of the {@link Field}.
+     * @return An {@link Optional} containing the loaded {@code object}, or
+     *         {@link Optional#empty()} if it isn't loaded.
+     * @since 0.0.7
+     */
+    default <V> Optional<T> getLoaded(final Field<T, V> field, @Nullable final V value) {
+        return this.getLoadedObjects().stream().filter(object -> Objects.equals(field.get(object), value)).findFirst();
+    }
+
     /**
      * Gets all {@link Field} objects for {@link T} as a {@link Set}.
      *
@@ -120,6 +151,32 @@ public interface SerDes<T extends SerDesable<T, PK>, PK> {
                 .collect(CommonCollectors.toUnmodifiableLinkedSet());
     }
 
+    /**
+     * Gets the {@link ForeignField}s whose referenced {@code object}s are
+     * join-fetched, meaning they are selected in the same query as the
+     * {@code object}s holding them, by
+     * {@link Database#selectAll(SerDes, String, Object)}.
+     *
+     * @return A {@link Set} of the join-fetched {@link ForeignField}s, which is
+     *         empty by default.
+     * @since 0.0.7
+     */
+    default Set<ForeignField<T, ?, ?>> getJoinFetchedFields() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Gets the {@link EntityCache} which holds the {@code object}s loaded by this
+     * {@link SerDes} between lookups by {@code primary key}, if it has one.
+     *
+     * @return An {@link Optional} containing the {@link EntityCache}, or
+     *         {@link Optional#empty()} by default.
+     * @since 0.0.7
+     */
+    default Optional<EntityCache<T, PK>> getCache() {
+        return Optional.empty();
+    }
+
     /**
      * Serialises the given {@code object} of type {@link T} to the
      * {@link DefaultDatabase}, writing all {@link Field} objects back.
@@ -139,6 +196,89 @@ public interface SerDes<T extends SerDesable<T, PK>, PK> {
      */
     void serialise (final Database database, final T object);
 
+    /**
+     * Serialises all the given {@code objects} of type {@link T} to the
+     * {@link DefaultDatabase} in batches.
+     *
+     * @param objects The {@code objects} of type {@link T}.
+     * @since 0.0.7
+     */
+    default void serialiseAll (final Collection<T> objects) {
+        this.serialiseAll(DefaultDatabase.get(), objects);
+    }
+
+    /**
+     * Serialises all the given {@code objects} of type {@link T} to the specified
+     * {@link Database}, writing all {@link Field} objects back as with
+     * {@link #serialise(Database, SerDesable)}.
+     *
+     * <p>This default implementation serialises each {@code object} in turn.
+     * {@link AbstractSerDes} overrides it to write them in batches of
+     * {@link Database#getBatchSize()}.</p>
+     *
+     * @param database The {@link Database} to serialise to.
+     * @param objects The {@code objects} of type {@link T}.
+     * @since 0.0.7
+     */
+    default void serialiseAll (final Database database, final Collection<T> objects) {
+        for (final T object : objects) {
+            this.serialise(database, object);
+        }
+    }
+
+    /**
+     * Asynchronously serialises the given {@code object} of type {@link T} to the
+     * {@link DefaultDatabase}.
+     *
+     * @param object The {@code object} of type {@link T}.
+     * @return A {@link CompletableFuture} completed once the {@code object} has been
+     *         serialised.
+     * @since 0.0.7
+     */
+    default CompletableFuture<Void> serialiseAsync (final T object) {
+        return this.serialiseAsync(DefaultDatabase.get(), object);
+    }
+
+    /**
+     * Asynchronously serialises the given {@code object} of type {@link T} to the
+     * specified {@link Database}, as with {@link #serialise(Database, SerDesable)}.
+     * This runs on the {@link Database#getExecutor() executor} of the
+     * {@link Database}, after any writes to this {@link SerDes}'s {@code table}
+     * submitted before it, as described in
+     * {@link Database#writeAsync(String, java.util.function.Supplier)}.
+     *
+     * @param database The {@link Database} to serialise to.
+     * @param object The {@code object} of type {@link T}.
+     * @return A {@link CompletableFuture} completed once the {@code object} has been
+     *         serialised.
+     * @since 0.0.7
+     */
+    default CompletableFuture<Void> serialiseAsync (final Database database, final T object) {
+        return database.writeAsync(this.getTable(), () -> {
+            this.serialise(database, object);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronously serialises all the given {@code objects} of type {@link T} to
+     * the specified {@link Database}, as with
+     * {@link #serialiseAll(Database, Collection)}. This is ordered with other writes
+     * as with {@link #serialiseAsync(Database, SerDesable)}.
+     *
+     * @param database The {@link Database} to serialise to.
+     * @param objects The {@code objects} of type {@link T}.
+     * @return A {@link CompletableFuture} completed once the {@code objects} have
+     *         been serialised.
+     * @since 0.0.7
+     */
+    default CompletableFuture<Void> serialiseAllAsync (final Database database, final Collection<T> objects) {
+        return database.writeAsync(this.getTable(), () -> {
+            this.serialiseAll(database, objects);
+            return null;
+        });
+    }
+
     /**
      * Gets a {@link ResultSet} for the specified {@code primaryKeyValue} of type
      * {@link PK} from the {@link DefaultDatabase}.
@@ -204,8 +344,128 @@ public interface SerDes<T extends SerDesable<T, PK>, PK> {
      * @return The deserialised {@link Object} of type {@link T}.
      */
     default T deserialise (final Database database, final PK primaryKeyValue) {
-        return this.getLoadedObjects().stream().filter(serDesable -> Objects.equals(this.getPrimaryField().get(serDesable), primaryKeyValue))
-                .findFirst().orElseGet(() -> this.deserialise(database, this.getResultSet(database, primaryKeyValue)));
+        final Optional<T> loaded = this.getLoaded(primaryKeyValue);
+        database.getMetrics().recordIdentityMapLookup(this.getTable(), loaded.isPresent());
+
+        return loaded.orElseGet(() -> {
+            try (final var resultSet = this.getResultSet(database, primaryKeyValue)) {
+                return this.deserialise(database, resultSet);
+            } catch (final SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * Deserialises the {@code object}s of type {@link T} with the given
+     * {@code primaryKeyValues} from the {@link DefaultDatabase}, as with
+     * {@link #deserialiseAll(Database, Collection)}.
+     *
+     * @param primaryKeyValues The values of the {@code primary key}s of the
+     *                         {@code object}s to deserialise.
+     * @return A {@link Map} of each {@code primary key} found to its
+     *         {@code object}, in the order the {@code primaryKeyValues} were given.
+     * @since 0.0.7
+     */
+    default Map<PK, T> deserialiseAll(final Collection<PK> primaryKeyValues) {
+        return this.deserialiseAll(DefaultDatabase.get(), primaryKeyValues);
+    }
+
+    /**
+     * Deserialises the {@code object}s of type {@link T} with the given
+     * {@code primaryKeyValues} from the specified {@link Database}. Those already
+     * {@link #getLoaded(Object) loaded} are returned as they are, and the rest
+     * are selected together with
+     * {@link Database#selectAllIn(SerDes, String, Collection)}, in as few
+     * {@code where ... in (...)} queries as its chunking allows, rather than one
+     * query per {@code object}.
+     *
+     * @param database The {@link Database} to deserialise from.
+     * @param primaryKeyValues The values of the {@code primary key}s of the
+     *                         {@code object}s to deserialise. {@code null} and
+     *                         repeated values are ignored.
+     * @return A {@link Map} of each {@code primary key} found to its
+     *         {@code object}, in the order the {@code primaryKeyValues} were given.
+     *         Keys without a row are left out.
+     * @throws RuntimeException If a database access error occurs.
+     * @since 0.0.7
+     */
+    default Map<PK, T> deserialiseAll(final Database database, final Collection<PK> primaryKeyValues) {
+        final Map<PK, T> objects = new LinkedHashMap<>();
+        final List<PK> missingValues = new ArrayList<>();
+
+        for (final PK primaryKeyValue : primaryKeyValues) {
+            if (primaryKeyValue == null || objects.containsKey(primaryKeyValue))
+                continue;
+
+            final Optional<T> loaded = this.getLoaded(primaryKeyValue);
+            database.getMetrics().recordIdentityMapLookup(this.getTable(), loaded.isPresent());
+
+            // Missing keys are mapped to null for now, so the map keeps the given order.
+            objects.put(primaryKeyValue, loaded.orElse(null));
+            if (loaded.isEmpty())
+                missingValues.add(primaryKeyValue);
+        }
+
+        if (!missingValues.isEmpty()) {
+            for (final T object : database.selectAllInUnchecked(this, this.getPrimaryField().getName(), missingValues)) {
+                objects.put(this.getPrimaryField().get(object), object);
+            }
+            objects.values().removeIf(Objects::isNull);
+        }
+
+        return objects;
+    }
+
+    /**
+     * Asynchronously deserialises the {@code object}s of type {@link T} with the
+     * given {@code primaryKeyValues} from the specified {@link Database}, as with
+     * {@link #deserialiseAll(Database, Collection)}, once any writes to this
+     * {@link SerDes}'s {@code table} submitted before it have completed.
+     *
+     * @param database The {@link Database} to deserialise from.
+     * @param primaryKeyValues The values of the {@code primary key}s of the
+     *                         {@code object}s to deserialise.
+     * @return A {@link CompletableFuture} completed with a {@link Map} of each
+     *         {@code primary key} found to its {@code object}.
+     * @since 0.0.7
+     */
+    default CompletableFuture<Map<PK, T>> deserialiseAllAsync(final Database database, final Collection<PK> primaryKeyValues) {
+        return database.readAsync(this.getTable(), () -> this.deserialiseAll(database, primaryKeyValues));
+    }
+
+    /**
+     * Asynchronously deserialises the {@code object} of type {@link T} with the
+     * given {@code primaryKeyValue} from the {@link DefaultDatabase}.
+     *
+     * @param primaryKeyValue The value of the {@code primary key} for the object to
+     *                        deserialise.
+     * @return A {@link CompletableFuture} completed with the deserialised
+     *         {@link Object} of type {@link T}.
+     * @since 0.0.7
+     */
+    default CompletableFuture<T> deserialiseAsync (final PK primaryKeyValue) {
+        return this.deserialiseAsync(DefaultDatabase.get(), primaryKeyValue);
+    }
+
+    /**
+     * Asynchronously deserialises the {@code object} of type {@link T} with the
+     * given {@code primaryKeyValue} from the specified {@link Database}, as with
+     * {@link #deserialise(Database, Object)}. This runs on the
+     * {@link Database#getExecutor() executor} of the {@link Database} once any
+     * writes to this {@link SerDes}'s {@code table} submitted before it have
+     * completed, so it sees an {@link #serialiseAsync(Database, SerDesable)
+     * asynchronous save} made before it.
+     *
+     * @param database The {@link Database} to deserialise from.
+     * @param primaryKeyValue The value of the {@code primary key} for the object to
+     *                        deserialise.
+     * @return A {@link CompletableFuture} completed with the deserialised
+     *         {@link Object} of type {@link T}.
+     * @since 0.0.7
+     */
+    default CompletableFuture<T> deserialiseAsync (final Database database, final PK primaryKeyValue) {
+        return database.readAsync(this.getTable(), () -> this.deserialise(database, primaryKeyValue));
     }
 
     /**
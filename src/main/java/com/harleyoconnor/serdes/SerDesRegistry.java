@@ -2,13 +2,16 @@ package com.harleyoconnor.serdes;
 
 import com.harleyoconnor.serdes.exception.NoSuchSerDesException;
 
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Holds a central registry for {@link SerDes} objects.
  *
+ * <p>The registry is thread-safe, and looks up the {@link SerDes} for a type in
+ * constant time without locking.</p>
+ *
  * @author Harley O'Connor
  */
 @SuppressWarnings("unchecked")
@@ -19,23 +22,26 @@ public final class SerDesRegistry {
      */
     private SerDesRegistry() {}
 
-    /** The {@link Set} of {@link SerDes} objects registered. */
-    private static final Set<SerDes<?, ?>> serDesables = new HashSet<>();
+    /** The {@link SerDes} objects registered, keyed by the {@link Class} they handle. */
+    private static final Map<Class<?>, SerDes<?, ?>> serDesables = new ConcurrentHashMap<>();
 
     public static <T extends SerDesable<T, ?>> SerDes<T, ?> getUnsafe (final Class<T> serDesableClass) throws NoSuchSerDesException {
         return get(serDesableClass).orElseThrow(() -> new NoSuchSerDesException("No SerDes found for Class '" + serDesableClass.getSimpleName() + "'."));
     }
 
     public static <T extends SerDesable<T, ?>> Optional<SerDes<T, ?>> get (final Class<T> serDesableClass) {
-        return (Optional<SerDes<T, ?>>) getOptionalCapture(serDesableClass);
-    }
-
-    private static <T extends SerDesable<T, ?>> Optional<? extends SerDes<T, ?>> getOptionalCapture(final Class<T> serDesableClass) {
-        return serDesables.stream().filter(serDes -> serDes.getType().equals(serDesableClass)).map(serDes -> (SerDes<T, ?>) serDes).findFirst();
+        return Optional.ofNullable((SerDes<T, ?>) serDesables.get(serDesableClass));
     }
 
+    /**
+     * Registers the specified {@link SerDes} for its {@link SerDes#getType() type},
+     * replacing any {@link SerDes} previously registered for it.
+     *
+     * @param serDes The {@link SerDes} to register.
+     * @param <T> The type of {@link SerDesable} the {@link SerDes} handles.
+     */
     public static <T extends SerDesable<T, ?>> void register (final SerDes<T, ?> serDes) {
-        serDesables.add(serDes);
+        serDesables.put(serDes.getType(), serDes);
     }
 
 }
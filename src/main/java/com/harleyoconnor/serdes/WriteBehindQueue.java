@@ -0,0 +1,408 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.database.DefaultDatabase;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serialises {@code object}s of type {@link T} in the background, so that callers
+ * don't wait on the database to save them.
+ *
+ * <p>Queued {@code object}s are keyed by their {@code primary key}, so saving the
+ * same {@code object} again before it is written only writes it once. A background
+ * flusher writes queued {@code object}s with
+ * {@link SerDes#serialiseAll(Database, Collection)} once a full batch is queued, or
+ * once the flush interval has passed since the last write. Once the queue holds its
+ * capacity, callers wait for it to drain.</p>
+ *
+ * <p>Batches are taken from the queue and written one at a time, so a later
+ * version of an {@code object} is never overwritten by an earlier one.
+ * {@link #flush()} writes all queued {@code object}s on the calling thread, and
+ * {@link #close()} stops the flusher before flushing. If a background write fails,
+ * its {@code object}s are queued again (unless they have since been queued again),
+ * the failure is logged and the flusher waits before retrying, for longer after
+ * each consecutive failure.</p>
+ *
+ * <p>This queue must be instantiated using {@link Builder}.</p>
+ *
+ * @param <T> The type of {@link SerDesable} being serialised.
+ * @param <PK> The type of the {@code primary key}.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class WriteBehindQueue<T extends SerDesable<T, PK>, PK> implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(WriteBehindQueue.class.getName());
+
+    /** The longest the flusher waits before retrying after consecutive failed writes. */
+    private static final long MAXIMUM_RETRY_DELAY_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final SerDes<T, PK> serDes;
+    private final Supplier<Database> databaseSupplier;
+    private final int batchSize;
+    private final int capacity;
+    private final long flushIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = this.lock.newCondition();
+    private final Condition batchQueued = this.lock.newCondition();
+    /** The queued {@code object}s, keyed by {@code primary key} in the order they were first queued. */
+    private final LinkedHashMap<PK, T> queued = new LinkedHashMap<>();
+    private boolean closed;
+    /** {@code true} while the flusher is writing, during which it isn't interrupted. */
+    private boolean flusherWriting;
+
+    /** Held while draining and writing a batch, so that batches are written in the order they were drained. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Thread flusher;
+
+    private WriteBehindQueue(final Builder<T, PK> builder) {
+        this.serDes = builder.serDes;
+        this.databaseSupplier = builder.databaseSupplier;
+        this.batchSize = builder.batchSize;
+        this.capacity = builder.capacity;
+        this.flushIntervalNanos = builder.flushInterval.toNanos();
+
+        this.flusher = new Thread(this::runFlusher, "SerDes-WriteBehind-" + this.serDes.getTable());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues the specified {@code object} to be serialised, replacing it if it is
+     * already queued. If the queue is at capacity, this waits until there is room.
+     *
+     * @param object The {@code object} of type {@link T} to serialise.
+     * @throws InterruptedException If interrupted while waiting for room.
+     * @throws IllegalStateException If this queue has been closed.
+     */
+    public void serialise(final T object) throws InterruptedException {
+        final PK primaryKey = Objects.requireNonNull(this.serDes.getPrimaryField().get(object));
+
+        this.lock.lockInterruptibly();
+        try {
+            while (!this.closed && this.queued.size() >= this.capacity && !this.queued.containsKey(primaryKey)) {
+                this.notFull.await();
+            }
+
+            if (this.closed)
+                throw new IllegalStateException("Write-behind queue for '" + this.serDes.getTable() + "' has been closed.");
+
+            this.queued.put(primaryKey, object);
+
+            if (this.queued.size() >= this.batchSize)
+                this.batchQueued.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes all queued {@code object}s on the calling thread, returning once they
+     * have been written.
+     *
+     * @throws RuntimeException If writing failed, in which case the {@code object}s
+     *                          not written remain queued.
+     */
+    public void flush() {
+        boolean written;
+
+        do {
+            written = this.writeNextBatch();
+        } while (written);
+    }
+
+    /**
+     * Gets the amount of {@code object}s currently queued.
+     *
+     * @return The amount of queued {@code object}s.
+     */
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.queued.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting {@code object}s, stops the flusher and flushes those queued.
+     * If the flusher is writing a batch, this waits for it to finish, so any
+     * {@code object}s it fails to write are included in the final flush.
+     *
+     * @throws RuntimeException If the final flush failed, in which case the
+     *                          {@code object}s not written remain queued.
+     */
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.batchQueued.signalAll();
+            this.notFull.signalAll();
+
+            // A write in progress is left to finish, as interrupting it may break the connection.
+            if (!this.flusherWriting)
+                this.flusher.interrupt();
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.joinFlusher();
+        this.flush();
+    }
+
+    /**
+     * Waits for the flusher to exit, which it does once it sees this queue is closed.
+     */
+    private void joinFlusher() {
+        boolean interrupted = false;
+
+        while (this.flusher.isAlive()) {
+            try {
+                this.flusher.join();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    private void runFlusher() {
+        int failures = 0;
+
+        try {
+            while (true) {
+                this.lock.lock();
+                try {
+                    long remainingNanos = failures == 0 ? this.flushIntervalNanos : this.getRetryDelayNanos(failures);
+
+                    // While retrying, wait out the delay even if a full batch is queued.
+                    while (!this.closed && (failures > 0 || this.queued.size() < this.batchSize) && remainingNanos > 0) {
+                        remainingNanos = this.batchQueued.awaitNanos(remainingNanos);
+                    }
+
+                    // Anything left once closed is written by close.
+                    if (this.closed)
+                        return;
+                    this.flusherWriting = true;
+                } finally {
+                    this.lock.unlock();
+                }
+
+                try {
+                    this.writeNextBatch();
+                    failures = 0;
+                } catch (final RuntimeException e) {
+                    failures++;
+                    LOGGER.log(System.Logger.Level.WARNING, "Failed to write queued objects to '" +
+                            this.serDes.getTable() + "', retrying in " +
+                            TimeUnit.NANOSECONDS.toMillis(this.getRetryDelayNanos(failures)) + "ms.", e);
+                } finally {
+                    this.lock.lock();
+                    try {
+                        this.flusherWriting = false;
+                    } finally {
+                        this.lock.unlock();
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets how long the flusher waits before retrying after the specified amount
+     * of consecutive failed writes, which doubles with each failure up to
+     * {@link #MAXIMUM_RETRY_DELAY_NANOS}.
+     */
+    private long getRetryDelayNanos(final int failures) {
+        final long delay = this.flushIntervalNanos << Math.min(failures - 1, 20);
+        return delay < 0 ? MAXIMUM_RETRY_DELAY_NANOS : Math.min(delay, MAXIMUM_RETRY_DELAY_NANOS);
+    }
+
+    /**
+     * Drains and writes the next batch while holding the {@link #writeLock}, so that
+     * no batch drained after it can be written first. If writing fails, the batch is
+     * queued again before the {@link #writeLock} is released.
+     *
+     * @return {@code true} if a batch was written; {@code false} if the queue was
+     *         empty.
+     * @throws RuntimeException If writing failed.
+     */
+    private boolean writeNextBatch() {
+        this.writeLock.lock();
+        try {
+            final List<T> batch = this.drain();
+
+            if (batch.isEmpty())
+                return false;
+
+            this.write(batch);
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes up to a batch of {@code object}s from the queue, in the order they
+     * were queued.
+     */
+    private List<T> drain() {
+        this.lock.lock();
+        try {
+            final List<T> batch = new ArrayList<>(Math.min(this.batchSize, this.queued.size()));
+            final Iterator<T> iterator = this.queued.values().iterator();
+
+            while (batch.size() < this.batchSize && iterator.hasNext()) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+
+            if (!batch.isEmpty())
+                this.notFull.signalAll();
+            return batch;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void write(final List<T> batch) {
+        try {
+            this.serDes.serialiseAll(this.databaseSupplier.get(), batch);
+        } catch (final RuntimeException e) {
+            this.requeue(batch);
+            throw e;
+        }
+    }
+
+    private void requeue(final List<T> batch) {
+        this.lock.lock();
+        try {
+            // Objects queued again since are newer, so take precedence.
+            batch.forEach(object -> this.queued.putIfAbsent(this.serDes.getPrimaryField().get(object), object));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * A {@code builder}, allowing for easy creation of a {@link WriteBehindQueue}.
+     *
+     * @param <T> The type of {@link SerDesable} being serialised.
+     * @param <PK> The type of the {@code primary key}.
+     */
+    public static final class Builder<T extends SerDesable<T, PK>, PK> {
+        private final SerDes<T, PK> serDes;
+
+        private Supplier<Database> databaseSupplier = DefaultDatabase::get;
+        private int batchSize = Database.DEFAULT_BATCH_SIZE;
+        private int capacity = 10_000;
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * Constructs a new {@link Builder} {@code object} for the specified
+         * {@link SerDes}.
+         *
+         * <p>For external construction, {@link #of(SerDes)} should be used.</p>
+         *
+         * @param serDes The {@link SerDes} to serialise with.
+         */
+        private Builder(final SerDes<T, PK> serDes) {
+            this.serDes = serDes;
+        }
+
+        /**
+         * Sets the {@link Database} to write to. Defaults to the
+         * {@link DefaultDatabase} at the time of each write.
+         *
+         * @param database The {@link Database} to write to.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> database(final Database database) {
+            this.databaseSupplier = () -> database;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of {@code object}s written at a time, and the amount
+         * queued which triggers a write. Defaults to
+         * {@link Database#DEFAULT_BATCH_SIZE}.
+         *
+         * @param batchSize The batch size.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of {@code object}s queued before callers wait for
+         * the queue to drain. Defaults to {@code 10000}.
+         *
+         * @param capacity The capacity of the queue.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> capacity(final int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the longest queued {@code object}s wait for a write when fewer than a
+         * batch are queued. Defaults to {@code 1} second.
+         *
+         * @param flushInterval The flush interval.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> flushInterval(final Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link WriteBehindQueue} from the data given to this
+         * {@link Builder}, starting its flusher.
+         *
+         * @return The built {@link WriteBehindQueue}.
+         * @throws IllegalArgumentException If the batch size is less than {@code 1},
+         *                                  the capacity is less than the batch size,
+         *                                  or the flush interval isn't positive.
+         */
+        public WriteBehindQueue<T, PK> build() {
+            if (this.batchSize < 1 || this.capacity < this.batchSize)
+                throw new IllegalArgumentException("Invalid write-behind queue size: batch size " + this.batchSize +
+                        ", capacity " + this.capacity + ".");
+            if (this.flushInterval.isNegative() || this.flushInterval.isZero())
+                throw new IllegalArgumentException("Flush interval must be positive, was " + this.flushInterval + ".");
+            return new WriteBehindQueue<>(this);
+        }
+
+        /**
+         * Constructs a new {@link Builder} {@code object} for the specified
+         * {@link SerDes}.
+         *
+         * @param serDes The {@link SerDes} to serialise with.
+         * @param <T> The type of {@link SerDesable} being serialised.
+         * @param <PK> The type of the {@code primary key}.
+         * @return The new {@link Builder}.
+         */
+        public static <T extends SerDesable<T, PK>, PK> Builder<T, PK> of(final SerDes<T, PK> serDes) {
+            return new Builder<>(serDes);
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.harleyoconnor.serdes.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.harleyoconnor.serdes.SerDesable;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.ToIntFunction;
+
+/**
+ * A bounded second-level cache of the {@link SerDesable}s of type {@link T} loaded
+ * by a {@link com.harleyoconnor.serdes.SerDes}, keyed by {@code primary key}.
+ *
+ * <p>Unlike the {@link IdentityMap}, which only weakly references loaded
+ * {@code object}s, this holds them strongly until they are evicted by size or
+ * weight, or expire a set time after they were written or last accessed. So that
+ * lookups by {@code primary key} skip the database between refreshes, while
+ * {@code object}s remain unique per row, cached {@code object}s stay in the
+ * {@link IdentityMap} while cached, and those which expire or are
+ * {@link #invalidate(Object) invalidated} are removed from it, so that they are
+ * selected again on their next lookup.</p>
+ *
+ * <p>Statistics of hits, misses and evictions are recorded, and are available from
+ * {@link #getStats()}. This class is thread-safe, and must be instantiated using
+ * {@link Builder}.</p>
+ *
+ * @param <T> The type of {@link SerDesable} being cached.
+ * @param <PK> The type of the {@code primary key}.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class EntityCache<T extends SerDesable<T, PK>, PK> {
+
+    private final Cache<PK, T> cache;
+
+    private EntityCache(final Builder<T, PK> builder, final IdentityMap<T, PK> identityMap) {
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder().recordStats();
+
+        if (builder.maximumSize >= 0)
+            cacheBuilder.maximumSize(builder.maximumSize);
+        if (builder.expireAfterWrite != null)
+            cacheBuilder.expireAfterWrite(builder.expireAfterWrite);
+        if (builder.expireAfterAccess != null)
+            cacheBuilder.expireAfterAccess(builder.expireAfterAccess);
+
+        final CacheBuilder<PK, T> typedBuilder = cacheBuilder.removalListener(notification -> {
+            // Expired and invalidated objects must be selected again, rather than found loaded.
+            if (notification.getValue() != null && (notification.getCause() == RemovalCause.EXPIRED ||
+                    notification.getCause() == RemovalCause.EXPLICIT))
+                identityMap.remove(notification.getValue());
+        });
+        final ToIntFunction<T> weigher = builder.weigher;
+
+        if (weigher != null)
+            typedBuilder.maximumWeight(builder.maximumWeight).weigher((final PK primaryKey, final T object) -> weigher.applyAsInt(object));
+
+        this.cache = typedBuilder.build();
+    }
+
+    /**
+     * Gets the cached {@code object} with the specified {@code primary key}. On a
+     * miss, expired {@code object}s are removed from the loaded {@code object}s
+     * before returning.
+     *
+     * @param primaryKey The value of the {@code primary key}.
+     * @return An {@link Optional} containing the cached {@code object}, or
+     *         {@link Optional#empty()} if it isn't cached.
+     */
+    public Optional<T> get(@Nullable final PK primaryKey) {
+        if (primaryKey == null)
+            return Optional.empty();
+
+        final T object = this.cache.getIfPresent(primaryKey);
+
+        // Removals are otherwise only processed periodically, so run them now so that an expired object isn't found loaded.
+        if (object == null)
+            this.cache.cleanUp();
+        return Optional.ofNullable(object);
+    }
+
+    /**
+     * Caches the specified {@code object}, replacing any {@code object} cached with
+     * the same {@code primary key} and restarting its expiry.
+     *
+     * @param primaryKey The value of the {@code primary key}.
+     * @param object The {@code object} of type {@link T} to cache.
+     */
+    public void put(final PK primaryKey, final T object) {
+        this.cache.put(primaryKey, object);
+    }
+
+    /**
+     * Removes the {@code object} with the specified {@code primary key} from this
+     * cache and from the loaded {@code object}s, so that it is selected again on
+     * its next lookup.
+     *
+     * @param primaryKey The value of the {@code primary key}.
+     */
+    public void invalidate(final PK primaryKey) {
+        this.cache.invalidate(primaryKey);
+    }
+
+    /**
+     * Removes all {@code object}s from this cache and from the loaded
+     * {@code object}s, so that they are selected again on their next lookup.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Gets the approximate amount of {@code object}s cached.
+     *
+     * @return The amount of cached {@code object}s.
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Gets the statistics of this cache, such as its hit, miss and eviction counts.
+     *
+     * @return A snapshot of the {@link CacheStats}.
+     */
+    public CacheStats getStats() {
+        return this.cache.stats();
+    }
+
+    /**
+     * A {@code builder}, allowing for easy creation of an {@link EntityCache}.
+     *
+     * <p>A maximum size or maximum weight may be set, but not both. If neither
+     * is set, the cache is unbounded, and only removes {@code object}s once they
+     * expire.</p>
+     *
+     * @param <T> The type of {@link SerDesable} being cached.
+     * @param <PK> The type of the {@code primary key}.
+     */
+    public static final class Builder<T extends SerDesable<T, PK>, PK> {
+        private long maximumSize = -1;
+        private long maximumWeight = -1;
+        @Nullable
+        private ToIntFunction<T> weigher;
+        @Nullable
+        private Duration expireAfterWrite;
+        @Nullable
+        private Duration expireAfterAccess;
+
+        /**
+         * Constructs a new {@link Builder} {@code object}.
+         *
+         * <p>For external construction, {@link #of(Class, Class)} should be
+         * used.</p>
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum amount of {@code object}s cached, past which those used
+         * least recently are evicted.
+         *
+         * @param maximumSize The maximum amount of {@code object}s.
+         * @return This {@link Builder} for chaining.
+         * @throws IllegalArgumentException If the {@code maximumSize} is negative.
+         * @throws IllegalStateException If a maximum weight has been set.
+         */
+        public Builder<T, PK> maximumSize(final long maximumSize) {
+            if (maximumSize < 0)
+                throw new IllegalArgumentException("Maximum size must not be negative, was " + maximumSize + ".");
+            if (this.weigher != null)
+                throw new IllegalStateException("A maximum weight has already been set.");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the {@code object}s cached, as given by
+         * the specified {@code weigher} when each is cached, past which those used
+         * least recently are evicted.
+         *
+         * @param maximumWeight The maximum total weight.
+         * @param weigher Gives the weight of each {@code object}, which must not be
+         *                negative.
+         * @return This {@link Builder} for chaining.
+         * @throws IllegalArgumentException If the {@code maximumWeight} is negative.
+         * @throws IllegalStateException If a maximum size has been set.
+         */
+        public Builder<T, PK> maximumWeight(final long maximumWeight, final ToIntFunction<T> weigher) {
+            if (maximumWeight < 0)
+                throw new IllegalArgumentException("Maximum weight must not be negative, was " + maximumWeight + ".");
+            if (this.maximumSize >= 0)
+                throw new IllegalStateException("A maximum size has already been set.");
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets the time after which {@code object}s expire once cached, after which
+         * they are selected again. {@code object}s are cached again each time they
+         * are read or written.
+         *
+         * @param expireAfterWrite The time until {@code object}s expire.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> expireAfterWrite(final Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        /**
+         * Sets the time after which {@code object}s expire once they were last
+         * looked up or cached, after which they are selected again.
+         *
+         * @param expireAfterAccess The time until {@code object}s expire.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> expireAfterAccess(final Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link EntityCache} from the data given to this
+         * {@link Builder}, which removes expired and invalidated {@code object}s
+         * from the specified {@link IdentityMap}.
+         *
+         * @param identityMap The {@link IdentityMap} of the loaded {@code object}s.
+         * @return The built {@link EntityCache}.
+         * @throws IllegalArgumentException If an expiry time is negative.
+         */
+        public EntityCache<T, PK> build(final IdentityMap<T, PK> identityMap) {
+            return new EntityCache<>(this, identityMap);
+        }
+
+        /**
+         * Constructs a new {@link Builder} {@code object} for the specified types.
+         *
+         * @param type The {@link Class} of {@link T}.
+         * @param primaryKeyClass The {@link Class} of {@link PK}.
+         * @param <T> The type of {@link SerDesable} being cached.
+         * @param <PK> The type of the {@code primary key}.
+         * @return The new {@link Builder}.
+         */
+        public static <T extends SerDesable<T, PK>, PK> Builder<T, PK> of(final Class<T> type, final Class<PK> primaryKeyClass) {
+            return new Builder<>();
+        }
+    }
+
+}
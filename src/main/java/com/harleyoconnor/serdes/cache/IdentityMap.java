@@ -0,0 +1,312 @@
+package com.harleyoconnor.serdes.cache;
+
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.field.Field;
+
+import javax.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Maps the {@code primary key} of each loaded {@link SerDesable} of type {@link T}
+ * to its instance, so that loaded objects can be found in constant time. Secondary
+ * indexes are kept for {@code unique} {@link Field}s, which are the targets of most
+ * {@code foreign key}s.
+ *
+ * <p>Each entry can also hold a {@link #snapshot(SerDesable, Object[]) snapshot} of
+ * the column values of its object as last read from or written to the database,
+ * so that only changed columns need to be written. Values of the mutable JDK types
+ * {@link Date} (including its {@code java.sql} subclasses), {@link Calendar} and
+ * arrays are copied into the snapshot, so that changing them in place is seen as a
+ * change. Values of other mutable types must be replaced, rather than changed in
+ * place, for the change to be seen.</p>
+ *
+ * <p>Instances are only weakly referenced, so an entry is reclaimed once the
+ * application no longer holds the object it maps to. This class is thread-safe.</p>
+ *
+ * @param <T> The type of {@link SerDesable} being mapped.
+ * @param <PK> The type of the {@code primary key}.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class IdentityMap<T extends SerDesable<T, PK>, PK> {
+
+    /**
+     * A {@link WeakReference} to a loaded object, remembering the keys it was indexed
+     * under so they can be removed once it is reclaimed.
+     */
+    private static final class Entry<T> extends WeakReference<T> {
+        private final Object primaryKey;
+        /** The values this entry is indexed under, aligned with the unique fields. */
+        private volatile Object[] uniqueValues;
+        /** The column values of the object as last read from or written to the database. */
+        @Nullable
+        private volatile Object[] snapshot;
+
+        private Entry(final T referent, final ReferenceQueue<? super T> queue, final Object primaryKey, final Object[] uniqueValues) {
+            super(referent, queue);
+            this.primaryKey = primaryKey;
+            this.uniqueValues = uniqueValues;
+        }
+    }
+
+    private final Field<T, PK> primaryField;
+    /** The {@code unique} {@link Field}s (other than the {@link #primaryField}) which are indexed. */
+    private final List<Field<T, ?>> uniqueFields;
+
+    private final ConcurrentHashMap<PK, Entry<T>> byPrimaryKey = new ConcurrentHashMap<>();
+    /** The secondary indexes, aligned with {@link #uniqueFields}. */
+    private final List<ConcurrentHashMap<Object, Entry<T>>> byUniqueField;
+
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+    /**
+     * Constructs a new {@link IdentityMap} for the specified {@link Field}s,
+     * indexing each of those that are {@code unique}.
+     *
+     * @param primaryField The {@code primary} {@link Field}.
+     * @param fields All {@link Field}s of type {@link T}.
+     */
+    public IdentityMap(final Field<T, PK> primaryField, final Collection<Field<T, ?>> fields) {
+        this.primaryField = primaryField;
+        this.uniqueFields = fields.stream().filter(Field::isUnique).filter(field -> !field.equals(primaryField))
+                .collect(Collectors.toUnmodifiableList());
+        this.byUniqueField = this.uniqueFields.stream().map(field -> new ConcurrentHashMap<Object, Entry<T>>())
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Adds the specified {@code object} to this {@link IdentityMap}, replacing any
+     * object with the same {@code primary key}. If the {@code object} is already
+     * mapped, its {@code unique} indexes are updated to its current values instead.
+     *
+     * @param object The {@code object} of type {@link T} to add.
+     */
+    public void put(final T object) {
+        this.expungeStaleEntries();
+
+        final PK primaryKey = Objects.requireNonNull(this.primaryField.get(object));
+        final Object[] uniqueValues = this.getUniqueValues(object);
+        final Entry<T> existing = this.byPrimaryKey.get(primaryKey);
+
+        if (existing != null && existing.get() == object) {
+            this.unindex(existing);
+            existing.uniqueValues = uniqueValues;
+            this.index(existing);
+            return;
+        }
+
+        final Entry<T> entry = new Entry<>(object, this.queue, primaryKey, uniqueValues);
+        final Entry<T> replaced = this.byPrimaryKey.put(primaryKey, entry);
+
+        if (replaced != null)
+            this.unindex(replaced);
+        this.index(entry);
+    }
+
+    /**
+     * Removes the specified {@code object} from this {@link IdentityMap}, if it is
+     * currently mapped.
+     *
+     * @param object The {@code object} of type {@link T} to remove.
+     */
+    public void remove(final T object) {
+        final Entry<T> entry = this.getEntry(object);
+
+        if (entry != null)
+            this.remove(entry);
+    }
+
+    /**
+     * Sets the snapshot of the specified {@code object}'s column values as last
+     * read from or written to the database, if it is currently mapped. The values
+     * of mutable JDK types are copied, so should be compared to the snapshot with
+     * {@link Objects#deepEquals(Object, Object)}.
+     *
+     * @param object The {@code object} of type {@link T}.
+     * @param values The column values of the {@code object}.
+     */
+    public void snapshot(final T object, final Object[] values) {
+        final Entry<T> entry = this.getEntry(object);
+
+        if (entry != null)
+            entry.snapshot = copyMutableValues(values);
+    }
+
+    /**
+     * Copies the specified values, also copying each value of a mutable JDK type so
+     * that changing the original in place doesn't change the copy.
+     */
+    private static Object[] copyMutableValues(final Object[] values) {
+        final Object[] copy = new Object[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            final Object value = values[i];
+
+            if (value instanceof Date)
+                copy[i] = ((Date) value).clone();
+            else if (value instanceof Calendar)
+                copy[i] = ((Calendar) value).clone();
+            else if (value != null && value.getClass().isArray())
+                copy[i] = copyArray(value);
+            else copy[i] = value;
+        }
+
+        return copy;
+    }
+
+    private static Object copyArray(final Object array) {
+        final int length = Array.getLength(array);
+        final Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+
+        System.arraycopy(array, 0, copy, 0, length);
+        return copy;
+    }
+
+    /**
+     * Gets the snapshot of the specified {@code object}'s column values as last
+     * read from or written to the database.
+     *
+     * @param object The {@code object} of type {@link T}.
+     * @return The column values, or {@code null} if the {@code object} isn't mapped
+     *         or has no snapshot.
+     */
+    @Nullable
+    public Object[] getSnapshot(final T object) {
+        final Entry<T> entry = this.getEntry(object);
+        return entry == null ? null : entry.snapshot;
+    }
+
+    @Nullable
+    private Entry<T> getEntry(final T object) {
+        final PK primaryKey = this.primaryField.get(object);
+
+        if (primaryKey == null)
+            return null;
+
+        final Entry<T> entry = this.byPrimaryKey.get(primaryKey);
+        return entry != null && entry.get() == object ? entry : null;
+    }
+
+    /**
+     * Gets the loaded {@code object} with the specified {@code primary key}.
+     *
+     * @param primaryKey The value of the {@code primary key}.
+     * @return An {@link Optional} containing the loaded {@code object}, or
+     *         {@link Optional#empty()} if it isn't loaded.
+     */
+    public Optional<T> get(@Nullable final PK primaryKey) {
+        this.expungeStaleEntries();
+
+        return primaryKey == null ? Optional.empty() :
+                Optional.ofNullable(this.byPrimaryKey.get(primaryKey)).map(WeakReference::get);
+    }
+
+    /**
+     * Gets the loaded {@code object} whose specified {@link Field} has the specified
+     * {@code value}. This is a constant time lookup for the {@code primary} and
+     * {@code unique} {@link Field}s, and a scan of all loaded objects otherwise.
+     *
+     * @param field The {@link Field} to match on.
+     * @param value The value of the {@link Field} to find.
+     * @param <V> The type of the {@link Field}.
+     * @return An {@link Optional} containing the loaded {@code object}, or
+     *         {@link Optional#empty()} if it isn't loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Optional<T> get(final Field<T, V> field, @Nullable final V value) {
+        if (field.equals(this.primaryField))
+            return this.get((PK) value);
+
+        final int index = this.uniqueFields.indexOf(field);
+
+        if (index < 0)
+            return this.values().stream().filter(object -> Objects.equals(field.get(object), value)).findFirst();
+
+        this.expungeStaleEntries();
+
+        // Mutable unique fields may have changed since they were indexed, so make sure the value still matches.
+        return value == null ? Optional.empty() : Optional.ofNullable(this.byUniqueField.get(index).get(value))
+                .map(WeakReference::get).filter(object -> Objects.equals(field.get(object), value));
+    }
+
+    /**
+     * Gets an unmodifiable snapshot of all currently loaded {@code object}s.
+     *
+     * @return A {@link Set} of the loaded {@code object}s of type {@link T}.
+     */
+    public Set<T> values() {
+        this.expungeStaleEntries();
+
+        // Collected by identity, as loaded objects may define equality by their field values.
+        final Set<T> values = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.byPrimaryKey.values().stream().map(WeakReference::get).filter(Objects::nonNull).forEach(values::add);
+
+        return Collections.unmodifiableSet(values);
+    }
+
+    /**
+     * Gets the amount of entries in this {@link IdentityMap}. This may include
+     * entries whose {@code object} has been reclaimed but not yet expunged.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+        this.expungeStaleEntries();
+        return this.byPrimaryKey.size();
+    }
+
+    private Object[] getUniqueValues(final T object) {
+        final Object[] values = new Object[this.uniqueFields.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.uniqueFields.get(i).get(object);
+        }
+
+        return values;
+    }
+
+    private void index(final Entry<T> entry) {
+        final Object[] uniqueValues = entry.uniqueValues;
+
+        for (int i = 0; i < uniqueValues.length; i++) {
+            if (uniqueValues[i] != null)
+                this.byUniqueField.get(i).put(uniqueValues[i], entry);
+        }
+    }
+
+    private void unindex(final Entry<T> entry) {
+        final Object[] uniqueValues = entry.uniqueValues;
+
+        for (int i = 0; i < uniqueValues.length; i++) {
+            if (uniqueValues[i] != null)
+                this.byUniqueField.get(i).remove(uniqueValues[i], entry);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(final Entry<T> entry) {
+        this.byPrimaryKey.remove((PK) entry.primaryKey, entry);
+        this.unindex(entry);
+    }
+
+    /**
+     * Removes all entries whose {@code object} has been reclaimed by the garbage
+     * collector.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        Reference<? extends T> reference;
+
+        while ((reference = this.queue.poll()) != null) {
+            this.remove((Entry<T>) reference);
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * An {@link IdAllocator} which reserves {@code id}s from the database in blocks,
+ * handing them out from memory until the block is exhausted. Only one in every
+ * {@link #getBlockSize() block size} allocations therefore needs a database call.
+ *
+ * <p>Allocation is thread-safe. {@code id}s left unused in a block, such as when
+ * the application exits, are skipped rather than reused.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see CounterTableIdAllocator
+ * @see SequenceIdAllocator
+ * @see GeneratedKeyIdAllocator
+ */
+public abstract class BlockIdAllocator implements IdAllocator {
+
+    /** The default amount of {@code id}s reserved at a time. */
+    public static final int DEFAULT_BLOCK_SIZE = 50;
+
+    protected final String table;
+    protected final String column;
+    protected final int blockSize;
+
+    /** The next {@code id} to hand out, which is available while it is less than {@link #limit}. */
+    private long next;
+    private long limit;
+
+    /**
+     * Constructs a new {@link BlockIdAllocator}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     * @param blockSize The amount of {@code id}s to reserve at a time.
+     * @throws IllegalArgumentException If the {@code blockSize} is less than
+     *                                  {@code 1}.
+     */
+    protected BlockIdAllocator(final String table, final String column, final int blockSize) {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Block size must be at least 1, was " + blockSize + ".");
+        this.table = table;
+        this.column = column;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Gets the amount of {@code id}s reserved at a time.
+     *
+     * @return The block size.
+     */
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation hands out the next {@code id} of the current block,
+     * reserving a new block if it has been exhausted.</p>
+     *
+     * @param database The {@link Database} to reserve blocks from.
+     * @return The allocated {@code id}.
+     * @throws SQLException If reserving a new block failed.
+     */
+    @Override
+    public synchronized int allocate(final Database database) throws SQLException {
+        if (this.next >= this.limit) {
+            this.next = this.reserveBlock(database);
+            this.limit = this.next + this.blockSize;
+        }
+
+        return Math.toIntExact(this.next++);
+    }
+
+    /**
+     * Reserves a block of {@link #blockSize} {@code id}s, which must not be handed
+     * out to any other allocator.
+     *
+     * @param database The {@link Database} to reserve the block from.
+     * @return The first {@code id} of the reserved block.
+     * @throws SQLException If a database access error occurs.
+     */
+    protected abstract long reserveBlock(Database database) throws SQLException;
+
+    /**
+     * Gets the first {@code id} after those already used in the {@link #table}.
+     *
+     * @param database The {@link Database} to read from.
+     * @return The first unused {@code id}.
+     * @throws SQLException If a database access error occurs.
+     */
+    protected long getFirstUnusedId(final Database database) throws SQLException {
+        return Math.max(database.getMax(this.table, this.column), 0) + 1L;
+    }
+
+    /**
+     * Checks if the specified {@link SQLException} was caused by a constraint
+     * violation, such as a duplicate {@code primary key}.
+     *
+     * @param e The {@link SQLException} to check.
+     * @return {@code true} if the {@link SQLException} was caused by a constraint
+     *         violation; {@code false} otherwise.
+     */
+    protected static boolean isConstraintViolation(final SQLException e) {
+        // SQL state class 23 is an integrity constraint violation.
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    /**
+     * Checks that the specified {@link Connection} is in auto-commit mode, so that a
+     * block reserved on it is committed straight away, rather than as part of a
+     * transaction whose rollback would allow the block to be reserved again.
+     *
+     * @param connection The {@link Connection} blocks are reserved on.
+     * @throws SQLException If the {@link Connection} is not in auto-commit mode; if
+     *                      a database access error occurs.
+     */
+    protected void requireAutoCommit(final Connection connection) throws SQLException {
+        if (!connection.getAutoCommit())
+            throw new SQLException("Cannot reserve ids for '" + this.table + "' inside a transaction, as rolling it back " +
+                    "would allow them to be handed out again.");
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A {@link Connection} leased from a {@link Database} for the duration of one or
+ * more operations, along with the {@link StatementCache} belonging to it.
+ *
+ * <p>Leases should be closed once finished with, which returns the
+ * {@link Connection} to its {@link Database} (without closing it). A
+ * {@link PooledDatabase} gives a thread that already holds a lease the same
+ * {@link Connection} again, so a lease can be held around several operations to run
+ * them in one transaction.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see Database#lease()
+ */
+public interface ConnectionLease extends AutoCloseable {
+
+    /**
+     * Gets the leased {@link Connection}. This should not be used after the lease
+     * has been closed.
+     *
+     * @return The leased {@link Connection}.
+     */
+    Connection getConnection();
+
+    /**
+     * Gets the {@link StatementCache} for the leased {@link Connection}.
+     *
+     * @return The {@link StatementCache} for the leased {@link Connection}.
+     */
+    StatementCache getStatementCache();
+
+    /**
+     * Returns the leased {@link Connection} to its {@link Database}.
+     *
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    void close() throws SQLException;
+
+}
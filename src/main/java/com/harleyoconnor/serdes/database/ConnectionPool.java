@@ -0,0 +1,537 @@
+package com.harleyoconnor.serdes.database;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A pool of {@link Connection}s, from which a {@link PooledDatabase} leases a
+ * {@link Connection} for each operation.
+ *
+ * <p>The pool keeps at least {@link Builder#minimumSize(int) minimumSize} and at most
+ * {@link Builder#maximumSize(int) maximumSize} {@link Connection}s. Threads waiting
+ * for a {@link Connection} are served in the order they arrived. {@link Connection}s
+ * that have been idle for a while are validated before being leased, and those that
+ * exceed their idle timeout or maximum lifetime are closed and replaced in the
+ * background. If a leak detection threshold is set, a warning is logged (with the
+ * stack trace of the borrower) for any lease held for longer than it.</p>
+ *
+ * <p>Leases are re-entrant: a thread which borrows while it already holds a lease is
+ * given the same {@link Connection}, which is only returned to the pool once every
+ * lease on it has been closed.</p>
+ *
+ * <p>This pool must be instantiated using {@link Builder}.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see PooledDatabase
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(ConnectionPool.class.getName());
+
+    /**
+     * A {@link Connection} belonging to this pool, which is its own
+     * {@link ConnectionLease}.
+     */
+    private final class PooledConnection implements ConnectionLease {
+        private final Connection connection;
+        private final StatementCache statementCache;
+        private final long createdAt = System.nanoTime();
+        private final AtomicInteger holds = new AtomicInteger();
+
+        private volatile long releasedAt = this.createdAt;
+        private volatile long borrowedAt;
+        @Nullable
+        private volatile Thread borrower;
+        @Nullable
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(final Connection connection) {
+            this.connection = connection;
+            this.statementCache = new StatementCache(connection, ConnectionPool.this.statementCacheSize);
+        }
+
+        @Override
+        public Connection getConnection() {
+            return this.connection;
+        }
+
+        @Override
+        public StatementCache getStatementCache() {
+            return this.statementCache;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            ConnectionPool.this.release(this);
+        }
+    }
+
+    private final Supplier<Connection> connectionSupplier;
+    private final int minimumSize;
+    private final int maximumSize;
+    private final int statementCacheSize;
+    private final long borrowTimeout;
+    private final long validationInterval;
+    private final int validationTimeoutSeconds;
+    private final long idleTimeout;
+    private final long maximumLifetime;
+    private final long leakDetectionThreshold;
+
+    /** Limits the amount of leased {@link Connection}s, handing permits out fairly. */
+    private final Semaphore permits;
+    /** The idle {@link Connection}s, most recently released first. */
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> connections = ConcurrentHashMap.newKeySet();
+    private final Map<Thread, PooledConnection> leased = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed;
+
+    private ConnectionPool(final Builder builder) {
+        this.connectionSupplier = builder.connectionSupplier;
+        this.minimumSize = builder.minimumSize;
+        this.maximumSize = builder.maximumSize;
+        this.statementCacheSize = builder.statementCacheSize;
+        this.borrowTimeout = builder.borrowTimeout.toNanos();
+        this.validationInterval = builder.validationInterval.toNanos();
+        this.validationTimeoutSeconds = (int) Math.max(1, builder.validationTimeout.toSeconds());
+        this.idleTimeout = builder.idleTimeout.toNanos();
+        this.maximumLifetime = builder.maximumLifetime.toNanos();
+        this.leakDetectionThreshold = builder.leakDetectionThreshold == null ? 0 : builder.leakDetectionThreshold.toNanos();
+        this.permits = new Semaphore(this.maximumSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "SerDes Connection Pool Housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0, builder.housekeepingInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leases a {@link Connection} from this pool, waiting for one to become
+     * available if all are in use. If the calling thread already holds a lease, the
+     * same {@link Connection} is leased again.
+     *
+     * @return The {@link ConnectionLease}, which should be closed once finished with.
+     * @throws SQLTransientConnectionException If no {@link Connection} became
+     *                                         available within the borrow timeout.
+     * @throws SQLException If this pool is closed; if the thread was interrupted
+     *                      whilst waiting; if a new {@link Connection} could not be
+     *                      created.
+     */
+    public ConnectionLease borrow() throws SQLException {
+        if (this.closed)
+            throw new SQLException("Connection pool is closed.");
+
+        final Thread thread = Thread.currentThread();
+        final PooledConnection held = this.leased.get(thread);
+
+        if (held != null) {
+            held.holds.incrementAndGet();
+            return held;
+        }
+
+        try {
+            if (!this.permits.tryAcquire(this.borrowTimeout, TimeUnit.NANOSECONDS))
+                throw new SQLTransientConnectionException("Timed out after " +
+                        TimeUnit.NANOSECONDS.toMillis(this.borrowTimeout) + "ms waiting for a connection.");
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted whilst waiting for a connection.", e);
+        }
+
+        try {
+            final PooledConnection connection = this.take();
+            connection.holds.set(1);
+            connection.borrower = thread;
+            connection.borrowedAt = System.nanoTime();
+            connection.borrowTrace = this.leakDetectionThreshold > 0 ? new Throwable("Connection leased here") : null;
+            connection.leakReported = false;
+            this.leased.put(thread, connection);
+            return connection;
+        } catch (final SQLException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a usable idle {@link Connection}, or creates a new one if there are none.
+     */
+    private PooledConnection take() throws SQLException {
+        PooledConnection connection;
+
+        while ((connection = this.idle.pollFirst()) != null) {
+            if (this.isUsable(connection))
+                return connection;
+            this.discard(connection);
+        }
+
+        return this.create();
+    }
+
+    private boolean isUsable(final PooledConnection connection) {
+        final long now = System.nanoTime();
+
+        if (now - connection.createdAt > this.maximumLifetime)
+            return false;
+
+        // Recently used connections are assumed to still be valid, saving a round trip.
+        if (now - connection.releasedAt < this.validationInterval)
+            return true;
+
+        try {
+            return connection.connection.isValid(this.validationTimeoutSeconds);
+        } catch (final SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(final PooledConnection connection) throws SQLException {
+        final int holds = connection.holds.decrementAndGet();
+
+        if (holds > 0)
+            return;
+        if (holds < 0) {
+            // Lease was closed more than once.
+            connection.holds.set(0);
+            return;
+        }
+
+        final Thread borrower = connection.borrower;
+        if (borrower != null)
+            this.leased.remove(borrower, connection);
+        connection.borrower = null;
+        connection.borrowTrace = null;
+
+        try {
+            // Abandon any transaction the borrower left open.
+            if (!connection.connection.getAutoCommit()) {
+                connection.connection.rollback();
+                connection.connection.setAutoCommit(true);
+            }
+
+            connection.releasedAt = System.nanoTime();
+
+            if (this.closed || connection.releasedAt - connection.createdAt > this.maximumLifetime)
+                this.discard(connection);
+            else this.idle.offerFirst(connection);
+        } catch (final SQLException e) {
+            this.discard(connection);
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        final Connection connection;
+
+        try {
+            connection = this.connectionSupplier.get();
+        } catch (final RuntimeException e) {
+            throw e.getCause() instanceof SQLException ? (SQLException) e.getCause() : new SQLException(e);
+        }
+
+        final var pooledConnection = new PooledConnection(connection);
+        this.connections.add(pooledConnection);
+        return pooledConnection;
+    }
+
+    private void discard(final PooledConnection connection) {
+        this.connections.remove(connection);
+
+        try {
+            connection.statementCache.close();
+            connection.connection.close();
+        } catch (final SQLException e) {
+            LOGGER.log(System.Logger.Level.DEBUG, "Failed to close discarded connection.", e);
+        }
+    }
+
+    /**
+     * Closes idle {@link Connection}s past their idle timeout or maximum lifetime,
+     * tops the pool up to its minimum size and reports leaked leases.
+     */
+    private void housekeep() {
+        if (this.closed)
+            return;
+
+        final long now = System.nanoTime();
+        final Iterator<PooledConnection> idleIterator = this.idle.descendingIterator();
+
+        while (idleIterator.hasNext()) {
+            final var connection = idleIterator.next();
+            final boolean expired = now - connection.createdAt > this.maximumLifetime;
+            final boolean timedOut = now - connection.releasedAt > this.idleTimeout &&
+                    this.connections.size() > this.minimumSize;
+
+            // Only discard it if it wasn't borrowed in the meantime.
+            if ((expired || timedOut) && this.idle.removeLastOccurrence(connection))
+                this.discard(connection);
+        }
+
+        try {
+            while (this.connections.size() < this.minimumSize && !this.closed) {
+                this.idle.offerLast(this.create());
+            }
+        } catch (final SQLException | RuntimeException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Failed to create connection for pool.", e);
+        }
+
+        if (this.leakDetectionThreshold > 0)
+            this.leased.values().stream()
+                    .filter(connection -> !connection.leakReported && now - connection.borrowedAt > this.leakDetectionThreshold)
+                    .forEach(connection -> {
+                        connection.leakReported = true;
+                        LOGGER.log(System.Logger.Level.WARNING, "Connection leased by thread '" + connection.borrower +
+                                "' for more than " + TimeUnit.NANOSECONDS.toMillis(this.leakDetectionThreshold) +
+                                "ms, it may have been leaked.", connection.borrowTrace);
+                    });
+    }
+
+    /**
+     * Gets the total amount of {@link Connection}s currently open in this pool.
+     *
+     * @return The total amount of {@link Connection}s.
+     */
+    public int getTotalConnections() {
+        return this.connections.size();
+    }
+
+    /**
+     * Gets the amount of idle {@link Connection}s in this pool.
+     *
+     * @return The amount of idle {@link Connection}s.
+     */
+    public int getIdleConnections() {
+        return this.idle.size();
+    }
+
+    /**
+     * Gets the amount of {@link Connection}s currently leased from this pool.
+     *
+     * @return The amount of leased {@link Connection}s.
+     */
+    public int getActiveConnections() {
+        return this.maximumSize - this.permits.availablePermits();
+    }
+
+    /**
+     * Gets the amount of threads currently waiting for a {@link Connection}.
+     *
+     * @return The amount of waiting threads.
+     */
+    public int getWaitingThreads() {
+        return this.permits.getQueueLength();
+    }
+
+    /**
+     * Closes this pool and all idle {@link Connection}s. {@link Connection}s that are
+     * currently leased are closed as their leases are closed.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.housekeeper.shutdownNow();
+
+        PooledConnection connection;
+        while ((connection = this.idle.pollFirst()) != null) {
+            this.discard(connection);
+        }
+    }
+
+    /**
+     * A {@code builder}, allowing for easy creation of a {@link ConnectionPool}.
+     */
+    public static final class Builder {
+        private final Supplier<Connection> connectionSupplier;
+
+        private int minimumSize = 1;
+        private int maximumSize = 10;
+        private int statementCacheSize = StatementCache.DEFAULT_MAXIMUM_SIZE;
+        private Duration borrowTimeout = Duration.ofSeconds(30);
+        private Duration validationInterval = Duration.ofMillis(500);
+        private Duration validationTimeout = Duration.ofSeconds(5);
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration maximumLifetime = Duration.ofMinutes(30);
+        private Duration housekeepingInterval = Duration.ofSeconds(30);
+        @Nullable
+        private Duration leakDetectionThreshold;
+
+        /**
+         * Constructs a new {@link Builder} {@code object} with the specified
+         * {@link Connection} {@link Supplier}.
+         *
+         * <p>For external construction, {@link #of(Supplier)} should be used.</p>
+         *
+         * @param connectionSupplier Supplies new {@link Connection}s for the pool.
+         */
+        private Builder(final Supplier<Connection> connectionSupplier) {
+            this.connectionSupplier = connectionSupplier;
+        }
+
+        /**
+         * Sets the minimum amount of {@link Connection}s kept open. Defaults to
+         * {@code 1}.
+         *
+         * @param minimumSize The minimum amount of {@link Connection}s.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder minimumSize(final int minimumSize) {
+            this.minimumSize = minimumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of {@link Connection}s that may be open at once.
+         * Defaults to {@code 10}.
+         *
+         * @param maximumSize The maximum amount of {@link Connection}s.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder maximumSize(final int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the {@link StatementCache} for each
+         * {@link Connection}. Defaults to {@link StatementCache#DEFAULT_MAXIMUM_SIZE}.
+         *
+         * @param statementCacheSize The maximum amount of cached statements per {@link Connection}.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder statementCacheSize(final int statementCacheSize) {
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets how long to wait for a {@link Connection} before giving up. Defaults to
+         * {@code 30} seconds.
+         *
+         * @param borrowTimeout The borrow timeout.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder borrowTimeout(final Duration borrowTimeout) {
+            this.borrowTimeout = borrowTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how long a {@link Connection} may be idle before it is validated on
+         * borrow. Defaults to {@code 500} milliseconds.
+         *
+         * @param validationInterval The validation interval.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder validationInterval(final Duration validationInterval) {
+            this.validationInterval = validationInterval;
+            return this;
+        }
+
+        /**
+         * Sets how long to wait for a {@link Connection} to be validated. Defaults to
+         * {@code 5} seconds.
+         *
+         * @param validationTimeout The validation timeout.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder validationTimeout(final Duration validationTimeout) {
+            this.validationTimeout = validationTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how long a {@link Connection} may be idle before it is closed, if
+         * there are more than the minimum. Defaults to {@code 10} minutes.
+         *
+         * @param idleTimeout The idle timeout.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder idleTimeout(final Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how long a {@link Connection} may be open before it is replaced.
+         * Defaults to {@code 30} minutes.
+         *
+         * @param maximumLifetime The maximum lifetime.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder maximumLifetime(final Duration maximumLifetime) {
+            this.maximumLifetime = maximumLifetime;
+            return this;
+        }
+
+        /**
+         * Sets how often idle {@link Connection}s are evicted and leaks are checked
+         * for. Defaults to {@code 30} seconds.
+         *
+         * @param housekeepingInterval The housekeeping interval.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder housekeepingInterval(final Duration housekeepingInterval) {
+            this.housekeepingInterval = housekeepingInterval;
+            return this;
+        }
+
+        /**
+         * Sets how long a lease may be held before it is reported as a possible leak.
+         * Leak detection is disabled by default.
+         *
+         * @param leakDetectionThreshold The leak detection threshold, or {@code null} to disable leak detection.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder leakDetectionThreshold(@Nullable final Duration leakDetectionThreshold) {
+            this.leakDetectionThreshold = leakDetectionThreshold;
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link ConnectionPool} from the data given to this
+         * {@link Builder}.
+         *
+         * @return The built {@link ConnectionPool}.
+         * @throws IllegalArgumentException If the minimum size is negative, or the
+         *                                  maximum size is less than {@code 1} or
+         *                                  the minimum size.
+         */
+        public ConnectionPool build() {
+            if (this.minimumSize < 0 || this.maximumSize < 1 || this.minimumSize > this.maximumSize)
+                throw new IllegalArgumentException("Invalid pool size: minimum " + this.minimumSize + ", maximum " +
+                        this.maximumSize + ".");
+            return new ConnectionPool(this);
+        }
+
+        /**
+         * Constructs a new {@link Builder} {@code object} with the specified
+         * {@link Connection} {@link Supplier}.
+         *
+         * @param connectionSupplier Supplies new {@link Connection}s for the pool. Any
+         *                           {@link SQLException} should be thrown as the cause
+         *                           of a {@link RuntimeException}.
+         * @return The new {@link Builder}.
+         */
+        public static Builder of(final Supplier<Connection> connectionSupplier) {
+            return new Builder(connectionSupplier);
+        }
+    }
+
+}
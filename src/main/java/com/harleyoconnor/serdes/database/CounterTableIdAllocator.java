@@ -0,0 +1,153 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A {@link BlockIdAllocator} which reserves blocks by advancing a counter row in a
+ * shared counter {@code table}, in its own transaction. The row lock taken by the
+ * {@code update} keeps concurrent reservations, including those from other
+ * processes, from overlapping.
+ *
+ * <p>The counter {@code table} has the columns {@code name varchar(255) primary
+ * key} and {@code next_id bigint not null}. It must already exist, unless this is
+ * constructed to create it. Each counter is started after the highest {@code id}
+ * already in its {@code table}, so this can be used on existing data.</p>
+ *
+ * <p>As a rollback would undo the reservation of a block this allocator has already
+ * handed {@code id}s out from, blocks are only reserved on a {@link Connection} in
+ * auto-commit mode, and reserving one inside a transaction fails.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class CounterTableIdAllocator extends BlockIdAllocator {
+
+    /** The default name of the counter {@code table}. */
+    public static final String DEFAULT_COUNTER_TABLE = "serdes_id_counters";
+
+    private final String counterTable;
+    private final boolean createCounterTable;
+    private volatile boolean counterTableCreated;
+
+    /**
+     * Constructs a new {@link CounterTableIdAllocator} using the existing
+     * {@link #DEFAULT_COUNTER_TABLE} and the {@link #DEFAULT_BLOCK_SIZE}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     */
+    public CounterTableIdAllocator(final String table, final String column) {
+        this(table, column, DEFAULT_BLOCK_SIZE, DEFAULT_COUNTER_TABLE, false);
+    }
+
+    /**
+     * Constructs a new {@link CounterTableIdAllocator}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     * @param blockSize The amount of {@code id}s to reserve at a time.
+     * @param counterTable The name of the counter {@code table}.
+     * @param createCounterTable {@code true} to create the counter {@code table}
+     *                           on first use if it doesn't exist.
+     */
+    public CounterTableIdAllocator(final String table, final String column, final int blockSize, final String counterTable,
+                                   final boolean createCounterTable) {
+        super(table, column, blockSize);
+        this.counterTable = counterTable;
+        this.createCounterTable = createCounterTable;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws SQLException If the {@link Connection} is not in auto-commit mode; if
+     *                      a database access error occurs.
+     */
+    @Override
+    protected long reserveBlock(final Database database) throws SQLException {
+        final Dialect dialect = database.getDialect();
+
+        try (final var lease = database.lease()) {
+            final Connection connection = lease.getConnection();
+
+            requireAutoCommit(connection);
+
+            if (this.createCounterTable && !this.counterTableCreated) {
+                try (final var statement = connection.createStatement()) {
+                    statement.execute("create table if not exists " + dialect.quote(this.counterTable) +
+                            " (name varchar(255) primary key, next_id bigint not null)");
+                }
+                this.counterTableCreated = true;
+            }
+
+            connection.setAutoCommit(false);
+
+            try {
+                while (true) {
+                    final Long end = this.advance(connection, dialect);
+
+                    if (end != null) {
+                        connection.commit();
+                        return end - this.blockSize;
+                    }
+
+                    // There's no counter for the table yet, so start one after its existing ids.
+                    final long start = this.getFirstUnusedId(database);
+
+                    try (final PreparedStatement statement = connection.prepareStatement("insert into " +
+                            dialect.quote(this.counterTable) + " (name, next_id) values (?, ?)")) {
+                        statement.setString(1, this.table);
+                        statement.setLong(2, start + this.blockSize);
+                        statement.executeUpdate();
+
+                        connection.commit();
+                        return start;
+                    } catch (final SQLException e) {
+                        // If another allocator started the counter first, advance it instead.
+                        if (!isConstraintViolation(e))
+                            throw e;
+                        connection.rollback();
+                    }
+                }
+            } catch (final SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Advances the counter for the {@link #table} by the {@link #blockSize}.
+     *
+     * @return The new value of the counter, or {@code null} if there is no counter
+     *         for the {@link #table}.
+     */
+    private Long advance(final Connection connection, final Dialect dialect) throws SQLException {
+        final String counterTable = dialect.quote(this.counterTable);
+
+        try (final PreparedStatement statement = connection.prepareStatement("update " + counterTable +
+                " set next_id = next_id + ? where name = ?")) {
+            statement.setLong(1, this.blockSize);
+            statement.setString(2, this.table);
+
+            if (statement.executeUpdate() == 0)
+                return null;
+        }
+
+        try (final PreparedStatement statement = connection.prepareStatement("select next_id from " + counterTable +
+                " where name = ?")) {
+            statement.setString(1, this.table);
+
+            try (final ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+}
@@ -1,55 +1,413 @@
 package com.harleyoconnor.serdes.database;
 
+import com.harleyoconnor.javautilities.function.ThrowableBiFunction;
 import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesRegistry;
 import com.harleyoconnor.serdes.SerDesable;
 import com.harleyoconnor.serdes.exception.NoSuchRowException;
 import com.harleyoconnor.serdes.field.Field;
 import com.harleyoconnor.serdes.field.ForeignField;
 import com.harleyoconnor.serdes.field.PrimaryField;
+import com.harleyoconnor.serdes.metrics.Metrics;
+import com.harleyoconnor.serdes.query.Projection;
+import com.harleyoconnor.serdes.query.Query;
+import com.harleyoconnor.serdes.util.ResultSetConversions;
 
 import javax.annotation.Nullable;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Contains various methods for interacting with a {@link Database}. Currently
  * highly work in progress and so doesn't have much Javadoc.
  *
+ * <p>This implementation uses a single {@link Connection} for all operations; a
+ * {@link PooledDatabase} should be used where operations are made from many
+ * threads.</p>
+ *
  * @author Harley O'Connor
  */
 // TODO: Javadoc
-public class Database {
+public class Database implements AutoCloseable {
+
+    /** The default amount of rows written per batch by {@link #upsertAll(String, String, Collection, Set)}. */
+    public static final int DEFAULT_BATCH_SIZE = 500;
 
+    /**
+     * The maximum amount of values in the {@code in} list of each query made by
+     * {@link #selectAllIn(SerDes, String, Collection)}, which is further limited by
+     * the {@link Dialect#getParameterLimit() parameter limit} of the {@link Dialect}.
+     */
+    public static final int IN_LIST_CHUNK_SIZE = 1000;
+
+    /** The default amount of rows fetched from the database at a time by {@link #stream(SerDes, String, Object)}. */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    @Nullable
     private final Connection connection;
+    private final Dialect dialect;
+    @Nullable
+    private final StatementCache statementCache;
+    @Nullable
+    private final ConnectionLease connectionLease;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+
+    /** The {@link IdAllocator} for each {@code table}, created on first use if not set. */
+    private final Map<String, IdAllocator> idAllocators = new ConcurrentHashMap<>();
+
+    private volatile Executor executor = OrderedTasks.getDefaultExecutor();
+    private final OrderedTasks orderedTasks;
+
+    private volatile Metrics metrics = Metrics.noOp();
 
     public Database(Connection connection) {
+        this(connection, Dialect.detect(connection));
+    }
+
+    /**
+     * @since 0.0.7
+     */
+    public Database(Connection connection, Dialect dialect) {
         this.connection = connection;
+        this.dialect = dialect;
+        this.statementCache = new StatementCache(connection);
+        this.orderedTasks = OrderedTasks.serial();
+        this.connectionLease = new ConnectionLease() {
+            @Override
+            public Connection getConnection() {
+                return connection;
+            }
+
+            @Override
+            public StatementCache getStatementCache() {
+                return Database.this.statementCache;
+            }
+
+            @Override
+            public void close() {
+                // The connection is shared by all operations, so is kept open.
+            }
+        };
+    }
+
+    /**
+     * Constructs a new {@link Database} without a {@link Connection} of its own, for
+     * implementations which override {@link #lease()} to lease a separate
+     * {@link Connection} for each concurrent operation.
+     *
+     * @param dialect The {@link Dialect} of SQL used by the {@code database}.
+     * @since 0.0.7
+     */
+    protected Database(Dialect dialect) {
+        this.connection = null;
+        this.dialect = dialect;
+        this.statementCache = null;
+        this.orderedTasks = OrderedTasks.perTable();
+        this.connectionLease = null;
     }
 
     /**
      * Gets the {@link Connection} that this {@link Database} controls.
      *
      * @return The {@link Connection} for the {@code database}.
+     * @throws UnsupportedOperationException If this {@link Database} leases a
+     *                                       different {@link Connection} for each
+     *                                       operation.
      */
     public Connection getConnection() {
+        if (this.connection == null)
+            throw new UnsupportedOperationException("Database '" + this.getClass().getSimpleName() + "' leases connections per operation, use lease() instead.");
         return this.connection;
     }
 
+    /**
+     * Leases a {@link Connection} from this {@link Database}, which all operations
+     * run on. The lease should be closed once finished with.
+     *
+     * <p>This implementation always leases the same {@link Connection}.</p>
+     *
+     * @return The {@link ConnectionLease}.
+     * @throws SQLException If a {@link Connection} could not be leased.
+     * @since 0.0.7
+     */
+    public ConnectionLease lease() throws SQLException {
+        return Objects.requireNonNull(this.connectionLease);
+    }
+
+    /**
+     * Ensures the specified {@code lease} is closed once the specified
+     * {@link ResultSet}, which was read from its {@link Connection}, is closed.
+     *
+     * <p>This implementation returns the {@link ResultSet} as is, as leases of its
+     * single {@link Connection} need not be closed.</p>
+     *
+     * @param lease The {@link ConnectionLease} the {@link ResultSet} was read from.
+     * @param resultSet The {@link ResultSet}.
+     * @return A {@link ResultSet} which closes the {@code lease} when closed.
+     * @since 0.0.7
+     */
+    protected ResultSet releaseOnClose(final ConnectionLease lease, final ResultSet resultSet) {
+        return resultSet;
+    }
+
+    /**
+     * Gets the {@link Dialect} of SQL used by this {@link Database}.
+     *
+     * @return The {@link Dialect} for the {@code database}.
+     * @since 0.0.7
+     */
+    public Dialect getDialect() {
+        return this.dialect;
+    }
+
+    /**
+     * Gets the {@link StatementCache} holding the statements generated by this
+     * {@link Database}, through which its size can be configured.
+     *
+     * @return The {@link StatementCache} for the {@link #getConnection() connection}.
+     * @throws UnsupportedOperationException If this {@link Database} leases a
+     *                                       different {@link Connection} for each
+     *                                       operation.
+     * @since 0.0.7
+     */
+    public StatementCache getStatementCache() {
+        if (this.statementCache == null)
+            throw new UnsupportedOperationException("Database '" + this.getClass().getSimpleName() + "' leases connections per operation, use lease() instead.");
+        return this.statementCache;
+    }
+
+    /**
+     * Gets the maximum amount of rows written (and committed, if the
+     * {@link Connection} is in auto-commit mode) per batch by
+     * {@link #upsertAll(String, String, Collection, Set)}.
+     *
+     * @return The batch size.
+     * @since 0.0.7
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Sets the maximum amount of rows written (and committed, if the
+     * {@link Connection} is in auto-commit mode) per batch by
+     * {@link #upsertAll(String, String, Collection, Set)}.
+     *
+     * @param batchSize The batch size.
+     * @return This {@link Database} for chaining.
+     * @throws IllegalArgumentException If the {@code batchSize} is less than
+     *                                  {@code 1}.
+     * @since 0.0.7
+     */
+    public Database setBatchSize(final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("Batch size must be at least 1, was " + batchSize + ".");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Gets the amount of rows fetched from the database at a time by
+     * {@link #stream(SerDes, String, Object)}.
+     *
+     * @return The fetch size.
+     * @since 0.0.7
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the amount of rows fetched from the database at a time by
+     * {@link #stream(SerDes, String, Object)}. This is passed to the driver as a
+     * hint via {@link java.sql.Statement#setFetchSize(int)}, so its exact effect is
+     * driver specific; {@code 0} leaves it to the driver.
+     *
+     * @param fetchSize The fetch size.
+     * @return This {@link Database} for chaining.
+     * @throws IllegalArgumentException If the {@code fetchSize} is negative.
+     * @since 0.0.7
+     */
+    public Database setFetchSize(final int fetchSize) {
+        if (fetchSize < 0)
+            throw new IllegalArgumentException("Fetch size must not be negative, was " + fetchSize + ".");
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Gets the {@link Executor} which asynchronous operations, such as
+     * {@link #selectAllAsync(SerDes, String, Object)}, run on.
+     *
+     * @return The {@link Executor}.
+     * @since 0.0.7
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Sets the {@link Executor} which asynchronous operations, such as
+     * {@link #selectAllAsync(SerDes, String, Object)}, run on. Defaults to one
+     * running each operation on a new virtual thread where they are supported (Java
+     * 21 and above), and on a cached pool of daemon threads otherwise.
+     *
+     * <p>Operations block on JDBC, so the {@link Executor} should not run them on
+     * threads which must not block, such as those of an event loop.</p>
+     *
+     * @param executor The {@link Executor}.
+     * @return This {@link Database} for chaining.
+     * @since 0.0.7
+     */
+    public Database setExecutor(final Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Gets the {@link Metrics} which the operations of this {@link Database}, and
+     * of the {@link SerDes}s using it, are recorded to.
+     *
+     * @return The {@link Metrics}.
+     * @since 0.0.7
+     */
+    public Metrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Sets the {@link Metrics} which the operations of this {@link Database}, and
+     * of the {@link SerDes}s using it, are recorded to. Defaults to
+     * {@link Metrics#noOp()}.
+     *
+     * @param metrics The {@link Metrics}.
+     * @return This {@link Database} for chaining.
+     * @since 0.0.7
+     */
+    public Database setMetrics(final Metrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Copies the settings of the specified {@link Database}, such as its batch size
+     * and {@link IdAllocator}s, to this {@link Database}, for when it replaces it.
+     *
+     * @param database The {@link Database} being replaced.
+     */
+    void copySettings(final Database database) {
+        this.batchSize = database.batchSize;
+        this.fetchSize = database.fetchSize;
+        this.executor = database.executor;
+        this.metrics = database.metrics;
+        this.idAllocators.putAll(database.idAllocators);
+
+        if (this.statementCache != null && database.statementCache != null) {
+            try {
+                this.statementCache.setMaximumSize(database.statementCache.getMaximumSize());
+            } catch (final SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Runs the specified {@code task}, which writes to the specified {@code table},
+     * on the {@link #getExecutor() executor}.
+     *
+     * <p>Writes to the same {@code table} run one at a time, in the order they were
+     * submitted, and {@link #readAsync(String, Supplier) reads} of a {@code table}
+     * run once the writes submitted before them have completed. So a save followed
+     * by a load of the same {@code object} sees the save, whatever the
+     * {@link Connection} each runs on.</p>
+     *
+     * <p>As this implementation runs all operations on one {@link Connection}, all
+     * asynchronous operations, whatever their {@code table}, run one at a time in
+     * the order they were submitted, so that none is pulled into the transaction of
+     * another. A {@link PooledDatabase} only orders them per {@code table}.</p>
+     *
+     * @param table The {@code table} written to.
+     * @param task The {@code task} to run.
+     * @param <R> The type of the result.
+     * @return A {@link CompletableFuture} completed with the result of the
+     *         {@code task}, or exceptionally if it threw.
+     * @since 0.0.7
+     */
+    public <R> CompletableFuture<R> writeAsync(final String table, final Supplier<R> task) {
+        return this.orderedTasks.write(table, task, this.executor);
+    }
+
+    /**
+     * Runs the specified {@code task}, which reads from the specified {@code table},
+     * on the {@link #getExecutor() executor} once all
+     * {@link #writeAsync(String, Supplier) writes} submitted before it for the
+     * {@code table} have completed. Reads run concurrently with each other, unless
+     * this {@link Database} has a single {@link Connection}, in which case they run
+     * one at a time with all other asynchronous operations, as described in
+     * {@link #writeAsync(String, Supplier)}.
+     *
+     * @param table The {@code table} read from.
+     * @param task The {@code task} to run.
+     * @param <R> The type of the result.
+     * @return A {@link CompletableFuture} completed with the result of the
+     *         {@code task}, or exceptionally if it threw.
+     * @since 0.0.7
+     */
+    public <R> CompletableFuture<R> readAsync(final String table, final Supplier<R> task) {
+        return this.orderedTasks.read(table, task, this.executor);
+    }
+
+    /**
+     * Selects the rows of the specified {@code table} where the column
+     * {@code valueName} is equal to the specified {@code value}, returning the
+     * {@link ResultSet} positioned at the first row.
+     *
+     * <p>The statement behind the returned {@link ResultSet} is cached, and will not
+     * be reused until the {@link ResultSet} is closed, so callers should close it
+     * once finished.</p>
+     */
     public ResultSet select(String table, String valueName, @Nullable Object value) throws SQLException {
-        final var statement = this.connection.prepareStatement("select * from `" + table + "` where " + valueName + " = ?",
-                ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE);
+        final var key = new StatementCache.Key(table, StatementCache.Operation.SELECT, Collections.emptyList(), List.of(valueName));
+        final var lease = this.lease();
 
-        statement.setObject(1, value);
+        try {
+            final var statementCache = lease.getStatementCache();
+            final var statement = statementCache.borrow(key, () ->
+                    "select * from " + this.dialect.quote(table) + " where " + valueName + " = ?", this.metrics);
+            ResultSet resultSet = null;
 
-        final var resultSet = statement.executeQuery();
+            try {
+                statement.setObject(1, value);
+                final long start = System.nanoTime();
+                resultSet = statement.executeQuery();
+                this.metrics.recordStatement(table, key.operation().name(), System.nanoTime() - start);
 
-        if (!resultSet.next())
-            throw new NoSuchRowException("No row could be found where '" + valueName + "' is '" + value + "'.");
+                if (!resultSet.next()) {
+                    resultSet.close();
+                    throw new NoSuchRowException("No row could be found where '" + valueName + "' is '" + value + "'.");
+                }
+            } finally {
+                statementCache.release(key, statement, resultSet);
+            }
 
-        return resultSet;
+            return this.releaseOnClose(lease, resultSet);
+        } catch (final SQLException | RuntimeException e) {
+            lease.close();
+            throw e;
+        }
     }
 
     public ResultSet selectUnchecked(String table, String valueName, @Nullable Object value) {
@@ -61,22 +419,94 @@ public class Database {
     }
 
     /**
+     * Selects and deserialises all {@code object}s of the specified {@link SerDes}
+     * whose column {@code field} is equal to the specified {@code value}.
+     *
+     * <p>The {@link ForeignField}s of the selected rows are resolved in batches:
+     * the distinct values of each are collected from all rows first, and those not
+     * already loaded are selected with {@link #selectAllIn(SerDes, String, Collection)}
+     * before any row is deserialised, rather than with a query per row.</p>
+     *
+     * <p>If the {@link SerDes} has {@link SerDes#getJoinFetchedFields() join-fetched}
+     * fields, they are selected in the same query as described in
+     * {@link #selectAll(SerDes, String, Object, Collection)}.</p>
+     *
      * @since 0.0.6
      */
     public <PF, V extends SerDesable<V, PF>> List<V> selectAll(final SerDes<V, PF> serDes, final String field, final Object value) throws SQLException {
-        final List<V> selected = new LinkedList<>();
+        if (!serDes.getJoinFetchedFields().isEmpty())
+            return this.selectAll(serDes, field, value, serDes.getJoinFetchedFields());
+
+        final var key = new StatementCache.Key(serDes.getTable(), StatementCache.Operation.SELECT, Collections.emptyList(), List.of(field));
+
+        return this.selectAll(serDes, key, () -> "select * from " + this.dialect.quote(serDes.getTable()) + " where " + field + " = ?",
+                Collections.singletonList(value), Collections.emptyList(), newPreloadingSet(), new ArrayList<>());
+    }
+
+    /**
+     * Selects and deserialises all {@code object}s of the specified {@link SerDes}
+     * whose column {@code field} is equal to the specified {@code value}, along with
+     * the {@code object}s referenced by the specified {@link ForeignField}s, in a
+     * single query.
+     *
+     * <p>The {@code table} of each join-fetched {@link ForeignField}'s
+     * {@link SerDes} is {@code left join}ed on the {@code foreign key}, with every
+     * column aliased by the {@code table} it belongs to, and each referenced
+     * {@code object} is deserialised from the same row as the {@code object}
+     * referencing it (unless it is already loaded). The remaining
+     * {@link ForeignField}s are resolved in batches, as with
+     * {@link #selectAll(SerDes, String, Object)}.</p>
+     *
+     * @param serDes The {@link SerDes} to deserialise the rows with.
+     * @param field The name of the column to match.
+     * @param value The value of the column to match.
+     * @param joinFetchedFields The {@link ForeignField}s of the {@link SerDes} to
+     *                          join-fetch.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected.
+     * @return The deserialised {@code object}s.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> List<V> selectAll(final SerDes<V, PF> serDes, final String field, @Nullable final Object value,
+                                                               final Collection<? extends ForeignField<V, ?, ?>> joinFetchedFields) throws SQLException {
+        final List<ForeignField<V, ?, ?>> joined = List.copyOf(joinFetchedFields);
+        final var key = new StatementCache.Key(serDes.getTable(), StatementCache.Operation.JOIN,
+                joined.stream().map(Field::getName).collect(Collectors.toList()), List.of(field));
+
+        return this.selectAll(serDes, key, () -> this.getJoinedSelectStatement(serDes, field, joined),
+                Collections.singletonList(value), joined, newPreloadingSet(), new ArrayList<>());
+    }
 
+    /**
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> List<V> selectAllUnchecked(final SerDes<V, PF> serDes, final String field, @Nullable final Object value,
+                                                                        final Collection<? extends ForeignField<V, ?, ?>> joinFetchedFields) {
         try {
-            final var resultSet = this.select(serDes.getTable(), field, value);
+            return this.selectAll(serDes, field, value, joinFetchedFields);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            do {
-                selected.add(serDes.deserialise(this, resultSet));
-            } while (resultSet.next());
-        } catch (final NoSuchRowException e) {
-            return Collections.emptyList();
+    private String getJoinedSelectStatement(final SerDes<?, ?> serDes, final String field, final List<? extends ForeignField<?, ?, ?>> joined) {
+        final List<String> columns = new ArrayList<>();
+        final StringBuilder from = new StringBuilder(this.dialect.quote(serDes.getTable()) + " t0");
+
+        serDes.getFields().forEach(column -> columns.add("t0." + column.getName() + " as t0_" + column.getName()));
+
+        for (int i = 0; i < joined.size(); i++) {
+            final ForeignField<?, ?, ?> foreignField = joined.get(i);
+            final SerDes<?, ?> foreignSerDes = SerDesRegistry.getUnsafe(foreignField.getForeignField().getParentType());
+            final String alias = "t" + (i + 1);
+
+            foreignSerDes.getFields().forEach(column -> columns.add(alias + "." + column.getName() + " as " + alias + "_" + column.getName()));
+            from.append(" left join ").append(this.dialect.quote(foreignSerDes.getTable())).append(" ").append(alias).append(" on ")
+                    .append(alias).append(".").append(foreignField.getForeignField().getName()).append(" = t0.").append(foreignField.getName());
         }
 
-        return selected;
+        return "select " + String.join(", ", columns) + " from " + from + " where t0." + field + " = ?";
     }
 
     /**
@@ -90,20 +520,525 @@ public class Database {
         }
     }
 
-    public void update(final String table, final String primaryFieldName, @Nullable final Object primaryFieldValue, final LinkedHashMap<String, Object> valuesToUpdate) throws SQLException {
-        final var statementBuilder = new StringBuilder("update `" + table + "` set ");
-        final var fieldNames = new ArrayList<>(valuesToUpdate.keySet());
+    /**
+     * Asynchronously selects and deserialises all {@code object}s of the specified
+     * {@link SerDes} whose column {@code field} is equal to the specified
+     * {@code value}, as with {@link #selectAll(SerDes, String, Object)}. This runs
+     * on the {@link #getExecutor() executor} once all
+     * {@link #writeAsync(String, Supplier) writes} submitted before it for the
+     * {@link SerDes}'s {@code table} have completed.
+     *
+     * @param serDes The {@link SerDes} to deserialise the rows with.
+     * @param field The name of the column to match.
+     * @param value The value of the column to match.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected.
+     * @return A {@link CompletableFuture} completed with the deserialised
+     *         {@code object}s, or exceptionally with a {@link RuntimeException}
+     *         wrapping any {@link SQLException}.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> CompletableFuture<List<V>> selectAllAsync(final SerDes<V, PF> serDes, final String field, @Nullable final Object value) {
+        return this.readAsync(serDes.getTable(), () -> this.selectAllUnchecked(serDes, field, value));
+    }
+
+    /**
+     * Selects and deserialises all {@code object}s of the specified {@link SerDes}
+     * whose column {@code field} is equal to any of the specified {@code values},
+     * with one query per {@link #IN_LIST_CHUNK_SIZE} values. Their
+     * {@link ForeignField}s are resolved in batches, as with
+     * {@link #selectAll(SerDes, String, Object)}.
+     *
+     * <p>The {@code in} list of each query is padded to a power of two by repeating
+     * its last value, so only a few distinct statements are prepared and cached.</p>
+     *
+     * @param serDes The {@link SerDes} to deserialise the rows with.
+     * @param field The name of the column to match.
+     * @param values The values of the column to match; {@code null} values are
+     *               ignored.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected.
+     * @return The deserialised {@code object}s, in no particular order.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> List<V> selectAllIn(final SerDes<V, PF> serDes, final String field, final Collection<?> values) throws SQLException {
+        return this.selectAllIn(serDes, field, values, newPreloadingSet(), new ArrayList<>());
+    }
+
+    /**
+     * Selects and deserialises all {@code object}s of the specified {@link SerDes}
+     * whose column {@code field} is equal to any of the specified {@code values}.
+     * This method is an "unchecked" version of
+     * {@link #selectAllIn(SerDes, String, Collection)} as it throws any
+     * {@link SQLException}s as a {@link RuntimeException}.
+     *
+     * @param serDes The {@link SerDes} to deserialise the rows with.
+     * @param field The name of the column to match.
+     * @param values The values of the column to match; {@code null} values are
+     *               ignored.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected.
+     * @return The deserialised {@code object}s, in no particular order.
+     * @throws RuntimeException If there were any {@link SQLException} thrown by
+     *                          {@link #selectAllIn(SerDes, String, Collection)}.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> List<V> selectAllInUnchecked(final SerDes<V, PF> serDes, final String field, final Collection<?> values) {
+        try {
+            return this.selectAllIn(serDes, field, values);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private <V extends SerDesable<V, ?>> List<V> selectAllIn(final SerDes<V, ?> serDes, final String field, final Collection<?> values,
+                                                             final Set<SerDes<?, ?>> preloading, final List<Object> preloaded) throws SQLException {
+        final List<Object> distinctValues = values.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        final int chunkSize = Math.min(IN_LIST_CHUNK_SIZE, this.dialect.getParameterLimit());
+        final List<V> selected = new ArrayList<>();
+
+        for (int from = 0; from < distinctValues.size(); from += chunkSize) {
+            final List<Object> chunk = new ArrayList<>(distinctValues.subList(from, Math.min(from + chunkSize, distinctValues.size())));
+            final int size = chunk.size() <= 1 ? chunk.size() : Math.min(Integer.highestOneBit(chunk.size() - 1) << 1, chunkSize);
 
-        for (int i = 0; i < fieldNames.size(); i++) {
-            statementBuilder.append(fieldNames.get(i)).append(" = ?").append(i != fieldNames.size() - 1 ? ", " : " ");
+            while (chunk.size() < size) {
+                chunk.add(chunk.get(chunk.size() - 1));
+            }
+
+            final var key = new StatementCache.Key(serDes.getTable(), StatementCache.Operation.SELECT_IN, Collections.emptyList(),
+                    List.of(field, Integer.toString(size)));
+            selected.addAll(this.selectAll(serDes, key, () -> "select * from " + this.dialect.quote(serDes.getTable()) + " where " +
+                    field + " in (" + Dialect.placeholders(size) + ")", chunk, Collections.emptyList(), preloading, preloaded));
         }
 
-        statementBuilder.append("where ").append(primaryFieldName).append( " = ?;");
+        return selected;
+    }
 
-        final var args = fieldNames.stream().map(valuesToUpdate::get).collect(Collectors.toList());
-        args.add(primaryFieldValue);
+    /**
+     * Selects the rows of the specified {@link SerDes} with the specified query, and
+     * deserialises them after preloading their {@link ForeignField}s. The query's
+     * {@link StatementCache.Operation} must give a scrollable {@link ResultSet}, as
+     * it is read twice.
+     *
+     * @param joined The join-fetched {@link ForeignField}s, whose {@code table}s
+     *               are aliased {@code t1}, {@code t2} and so on in the query, with
+     *               the {@link SerDes}' own {@code table} aliased {@code t0}. If
+     *               empty, the query's columns are not aliased.
+     * @param preloading The {@link SerDes} whose rows are currently being selected
+     *                   further up, which are not preloaded again so that cyclic
+     *                   references terminate.
+     * @param preloaded Holds the preloaded {@code object}s until the outermost
+     *                  select returns, as loaded objects are only weakly referenced.
+     */
+    private <V extends SerDesable<V, ?>> List<V> selectAll(final SerDes<V, ?> serDes, final StatementCache.Key key, final Supplier<String> sqlSupplier,
+                                                           final List<Object> args, final List<? extends ForeignField<V, ?, ?>> joined,
+                                                           final Set<SerDes<?, ?>> preloading, final List<Object> preloaded) throws SQLException {
+        try (final var lease = this.lease()) {
+            final var statementCache = lease.getStatementCache();
+            final var statement = statementCache.borrow(key, sqlSupplier, this.metrics);
+
+            try {
+                setArguments(statement, args);
+                final long start = System.nanoTime();
+
+                try (final var resultSet = statement.executeQuery()) {
+                    this.metrics.recordStatement(key.table(), key.operation().name(), System.nanoTime() - start);
+                    final ResultSet rows = joined.isEmpty() ? resultSet : PrefixedResultSet.of(resultSet, "t0_");
+                    final List<JoinedRows<?, ?>> joinedRows = new ArrayList<>(joined.size());
+
+                    for (int i = 0; i < joined.size(); i++) {
+                        joinedRows.add(JoinedRows.of(joined.get(i), PrefixedResultSet.of(resultSet, "t" + (i + 1) + "_")));
+                    }
+
+                    preloading.add(serDes);
+
+                    for (final ForeignField<V, ?, ?> foreignField : serDes.getForeignFields()) {
+                        // Lazy references are only loaded when accessed.
+                        if (!joined.contains(foreignField) && !foreignField.isLazy())
+                            this.preload(foreignField, rows, preloading, preloaded);
+                    }
+
+                    final List<V> selected = new ArrayList<>();
+                    resultSet.beforeFirst();
+
+                    while (resultSet.next()) {
+                        // Deserialise the referenced objects first, so they're found loaded when the row references them.
+                        for (final JoinedRows<?, ?> joinedRow : joinedRows) {
+                            joinedRow.deserialise(this, preloaded);
+                        }
+
+                        selected.add(serDes.deserialise(this, rows));
+                    }
+
+                    return selected;
+                }
+            } finally {
+                statementCache.release(key, statement, null);
+            }
+        }
+    }
+
+    /**
+     * Selects the {@code object}s referenced by the specified {@link ForeignField}
+     * in any row of the specified {@link ResultSet} which aren't already loaded.
+     */
+    private <T, FKT extends SerDesable<FKT, ?>> void preload(final ForeignField<?, T, FKT> foreignField, final ResultSet resultSet,
+                                                             final Set<SerDes<?, ?>> preloading, final List<Object> preloaded) throws SQLException {
+        final Field<FKT, T> referencedField = foreignField.getForeignField();
+        final SerDes<FKT, ?> foreignSerDes = SerDesRegistry.getUnsafe(referencedField.getParentType());
+        final var converter = ResultSetConversions.CONVERTER_REGISTRY.getIndexed(foreignField.getType());
+
+        // References back to a SerDes being selected are resolved row by row, so cycles terminate.
+        if (preloading.contains(foreignSerDes) || converter.isEmpty())
+            return;
+
+        final int column = resultSet.findColumn(foreignField.getName());
+        final Set<T> missingValues = new LinkedHashSet<>();
+        resultSet.beforeFirst();
+
+        while (resultSet.next()) {
+            final T value = converter.get().apply(resultSet, column);
+
+            if (value != null && !resultSet.wasNull() && foreignSerDes.getLoaded(referencedField, value).isEmpty())
+                missingValues.add(value);
+        }
+
+        if (!missingValues.isEmpty())
+            preloaded.addAll(this.selectAllIn(foreignSerDes, referencedField.getName(), missingValues, preloading, preloaded));
+    }
+
+    /**
+     * The columns of a join-fetched {@link ForeignField}'s {@code table} in a
+     * {@link ResultSet}, from which the {@code object} it references is deserialised.
+     */
+    private static final class JoinedRows<T, FKT extends SerDesable<FKT, ?>> {
+        private final Field<FKT, T> referencedField;
+        private final SerDes<FKT, ?> serDes;
+        private final ResultSet rows;
+        private final int keyColumn;
+        private final ResultSetConversions.IndexedConverter<T> keyConverter;
+
+        private JoinedRows(final Field<FKT, T> referencedField, final ResultSet rows) throws SQLException {
+            this.referencedField = referencedField;
+            this.serDes = SerDesRegistry.getUnsafe(referencedField.getParentType());
+            this.rows = rows;
+            this.keyColumn = rows.findColumn(referencedField.getName());
+            this.keyConverter = ResultSetConversions.CONVERTER_REGISTRY.getIndexed(referencedField.getType())
+                    .orElseThrow(() -> new IllegalArgumentException("Could not get value of type '" + referencedField.getType() + "'."));
+        }
+
+        private static <T, FKT extends SerDesable<FKT, ?>> JoinedRows<T, FKT> of(final ForeignField<?, T, FKT> foreignField, final ResultSet rows) throws SQLException {
+            return new JoinedRows<>(foreignField.getForeignField(), rows);
+        }
+
+        /**
+         * Deserialises the referenced {@code object} from the current row, unless
+         * the row had no match or it is already loaded.
+         */
+        private void deserialise(final Database database, final List<Object> deserialised) throws SQLException {
+            final T key = this.keyConverter.apply(this.rows, this.keyColumn);
+
+            if (key != null && !this.rows.wasNull() && this.serDes.getLoaded(this.referencedField, key).isEmpty())
+                deserialised.add(this.serDes.deserialise(database, this.rows));
+        }
+    }
+
+    private static Set<SerDes<?, ?>> newPreloadingSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /**
+     * Streams the {@code object}s of the specified {@link SerDes} whose column
+     * {@code field} is equal to the specified {@code value}, deserialising each row
+     * only as it is consumed.
+     *
+     * <p>Rows are read through a forward-only, read-only {@link ResultSet}, fetched
+     * {@link #getFetchSize() fetch size} rows at a time, so scanning a large
+     * {@code table} does not buffer it in memory (subject to the driver honouring
+     * the fetch size). The {@link ResultSet} is closed once the {@link Stream} is
+     * exhausted or closed, so the {@link Stream} should be closed if it may not be
+     * fully consumed, such as with a try-with-resources block.</p>
+     *
+     * @param serDes The {@link SerDes} to deserialise the rows with.
+     * @param field The name of the column to match.
+     * @param value The value of the column to match.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being streamed.
+     * @return A lazily deserialised {@link Stream} of the matching {@code object}s.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> Stream<V> stream(final SerDes<V, PF> serDes, final String field, @Nullable final Object value) throws SQLException {
+        final var key = new StatementCache.Key(serDes.getTable(), StatementCache.Operation.STREAM, Collections.emptyList(), List.of(field));
+
+        return this.stream(key, () -> "select * from " + this.dialect.quote(serDes.getTable()) + " where " + field + " = ?",
+                Collections.singletonList(value), serDes::deserialise);
+    }
+
+    /**
+     * Streams the {@code object}s selected by the specified {@link Query},
+     * deserialising each row only as it is consumed.
+     *
+     * <p>The filtering, ordering and pagination of the {@link Query} are all
+     * performed by the database, through a single {@link PreparedStatement} which
+     * is cached for each distinct shape of {@link Query}. Rows are read as
+     * described in {@link #stream(SerDes, String, Object)}, so the {@link Stream}
+     * should be closed if it may not be fully consumed.</p>
+     *
+     * @param query The {@link Query} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being streamed.
+     * @return A lazily deserialised {@link Stream} of the selected {@code object}s,
+     *         in the order of the {@link Query}.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> Stream<V> stream(final Query<V, PF> query) throws SQLException {
+        final String sql = query.getSql(this.dialect);
+        final var key = new StatementCache.Key(query.getSerDes().getTable(), StatementCache.Operation.QUERY,
+                Collections.emptyList(), List.of(sql));
+
+        return this.stream(key, () -> sql, query.getArguments(), query.getSerDes()::deserialise);
+    }
+
+    /**
+     * Streams the {@code object}s selected by the specified {@link Query}. This
+     * method is an "unchecked" version of {@link #stream(Query)} as it throws any
+     * {@link SQLException}s as a {@link RuntimeException}.
+     *
+     * @param query The {@link Query} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being streamed.
+     * @return A lazily deserialised {@link Stream} of the selected {@code object}s,
+     *         in the order of the {@link Query}.
+     * @throws RuntimeException If there were any {@link SQLException} thrown by
+     *                          {@link #stream(Query)}.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> Stream<V> streamUnchecked(final Query<V, PF> query) {
+        try {
+            return this.stream(query);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Selects and deserialises all {@code object}s selected by the specified
+     * {@link Query}, as {@link #stream(Query) streamed}.
+     *
+     * @param query The {@link Query} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected.
+     * @return The selected {@code object}s, in the order of the {@link Query}.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> List<V> selectAll(final Query<V, PF> query) throws SQLException {
+        try (final Stream<V> stream = this.stream(query)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Selects and deserialises all {@code object}s selected by the specified
+     * {@link Query}. This method is an "unchecked" version of
+     * {@link #selectAll(Query)} as it throws any {@link SQLException}s as a
+     * {@link RuntimeException}.
+     *
+     * @param query The {@link Query} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected.
+     * @return The selected {@code object}s, in the order of the {@link Query}.
+     * @throws RuntimeException If there were any {@link SQLException} thrown by
+     *                          {@link #selectAll(Query)}.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> List<V> selectAllUnchecked(final Query<V, PF> query) {
+        try {
+            return this.selectAll(query);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Streams the rows selected by the specified {@link Projection}, reading and
+     * mapping each row only as it is consumed.
+     *
+     * <p>Only the columns of the selected {@link Field}s are selected, through a
+     * single {@link PreparedStatement} which is cached for each distinct shape of
+     * {@link Projection}, and rows are never deserialised into {@code object}s.
+     * Rows are read as described in {@link #stream(SerDes, String, Object)}, so
+     * the {@link Stream} should be closed if it may not be fully consumed.</p>
+     *
+     * @param projection The {@link Projection} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected from.
+     * @param <R> The type each row is mapped to.
+     * @return A lazily read {@link Stream} of the mapped rows, in the order of the
+     *         {@link Query}.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>, R> Stream<R> stream(final Projection<V, PF, R> projection) throws SQLException {
+        final String sql = projection.getSql(this.dialect);
+        final var key = new StatementCache.Key(projection.getQuery().getSerDes().getTable(), StatementCache.Operation.QUERY,
+                projection.getFields().stream().map(Field::getName).collect(Collectors.toList()), List.of(sql));
+
+        return this.stream(key, () -> sql, projection.getQuery().getArguments(), (database, resultSet) -> projection.read(resultSet));
+    }
+
+    /**
+     * Streams the rows selected by the specified {@link Projection}. This method is
+     * an "unchecked" version of {@link #stream(Projection)} as it throws any
+     * {@link SQLException}s as a {@link RuntimeException}.
+     *
+     * @param projection The {@link Projection} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected from.
+     * @param <R> The type each row is mapped to.
+     * @return A lazily read {@link Stream} of the mapped rows, in the order of the
+     *         {@link Query}.
+     * @throws RuntimeException If there were any {@link SQLException} thrown by
+     *                          {@link #stream(Projection)}.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>, R> Stream<R> streamUnchecked(final Projection<V, PF, R> projection) {
+        try {
+            return this.stream(projection);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        this.executePreparedStatement(statementBuilder.toString(), args);
+    /**
+     * Selects and maps all rows selected by the specified {@link Projection}, as
+     * {@link #stream(Projection) streamed}.
+     *
+     * @param projection The {@link Projection} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected from.
+     * @param <R> The type each row is mapped to.
+     * @return The mapped rows, in the order of the {@link Query}.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>, R> List<R> selectAll(final Projection<V, PF, R> projection) throws SQLException {
+        try (final Stream<R> stream = this.stream(projection)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Selects and maps all rows selected by the specified {@link Projection}. This
+     * method is an "unchecked" version of {@link #selectAll(Projection)} as it
+     * throws any {@link SQLException}s as a {@link RuntimeException}.
+     *
+     * @param projection The {@link Projection} to run.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being selected from.
+     * @param <R> The type each row is mapped to.
+     * @return The mapped rows, in the order of the {@link Query}.
+     * @throws RuntimeException If there were any {@link SQLException} thrown by
+     *                          {@link #selectAll(Projection)}.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>, R> List<R> selectAllUnchecked(final Projection<V, PF, R> projection) {
+        try {
+            return this.selectAll(projection);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Executes the cached {@code select} statement with the specified {@code key}
+     * and {@code arguments} through a forward-only {@link ResultSet}, streaming
+     * each of its rows as read by the specified {@code reader}.
+     */
+    private <V> Stream<V> stream(final StatementCache.Key key, final Supplier<String> sqlSupplier, final List<Object> arguments,
+                                 final ThrowableBiFunction<Database, ResultSet, V, SQLException> reader) throws SQLException {
+        final var lease = this.lease();
+        final ResultSet resultSet;
+
+        try {
+            final var statementCache = lease.getStatementCache();
+            final var statement = statementCache.borrow(key, sqlSupplier, this.metrics);
+            ResultSet executedResultSet = null;
+
+            try {
+                statement.setFetchSize(this.fetchSize);
+                for (int i = 0; i < arguments.size(); i++) {
+                    statement.setObject(i + 1, arguments.get(i));
+                }
+                final long start = System.nanoTime();
+                executedResultSet = statement.executeQuery();
+                this.metrics.recordStatement(key.table(), key.operation().name(), System.nanoTime() - start);
+            } finally {
+                statementCache.release(key, statement, executedResultSet);
+            }
+
+            resultSet = this.releaseOnClose(lease, executedResultSet);
+        } catch (final SQLException | RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<V>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super V> action) {
+                try {
+                    if (resultSet.isClosed())
+                        return false;
+
+                    if (!resultSet.next()) {
+                        resultSet.close();
+                        return false;
+                    }
+
+                    action.accept(reader.apply(Database.this, resultSet));
+                    return true;
+                } catch (final SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }, false).onClose(() -> {
+            try {
+                resultSet.close();
+            } catch (final SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * Streams the {@code object}s of the specified {@link SerDes} whose column
+     * {@code field} is equal to the specified {@code value}. This method is an
+     * "unchecked" version of {@link #stream(SerDes, String, Object)} as it throws
+     * any {@link SQLException}s as a {@link RuntimeException}.
+     *
+     * @param serDes The {@link SerDes} to deserialise the rows with.
+     * @param field The name of the column to match.
+     * @param value The value of the column to match.
+     * @param <PF> The type of the {@code primary field}.
+     * @param <V> The type of {@link SerDesable} being streamed.
+     * @return A lazily deserialised {@link Stream} of the matching {@code object}s.
+     * @throws RuntimeException If there were any {@link SQLException} thrown by
+     *                          {@link #stream(SerDes, String, Object)}.
+     * @since 0.0.7
+     */
+    public <PF, V extends SerDesable<V, PF>> Stream<V> streamUnchecked(final SerDes<V, PF> serDes, final String field, @Nullable final Object value) {
+        try {
+            return this.stream(serDes, field, value);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void update(final String table, final String primaryFieldName, @Nullable final Object primaryFieldValue, final LinkedHashMap<String, Object> valuesToUpdate) throws SQLException {
+        this.updateRow(table, primaryFieldName, primaryFieldValue, valuesToUpdate);
     }
 
     public void updateUnchecked(final String table, final String primaryFieldName, @Nullable final Object primaryFieldValue, final LinkedHashMap<String, Object> valuesToUpdate) {
@@ -114,26 +1049,258 @@ public class Database {
         }
     }
 
+    /**
+     * Updates the specified columns of the row of the specified {@code table} with
+     * the specified {@code primary key}, as with
+     * {@link #update(String, String, Object, LinkedHashMap)}, returning whether the
+     * row existed.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param primaryFieldName The name of the {@code primary key} column.
+     * @param primaryFieldValue The value of the {@code primary key}.
+     * @param valuesToUpdate The columns to update, mapped to their new values.
+     * @return The amount of rows updated, which is {@code 0} if there was no row
+     *         with the {@code primary key}.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public int updateRow(final String table, final String primaryFieldName, @Nullable final Object primaryFieldValue, final LinkedHashMap<String, Object> valuesToUpdate) throws SQLException {
+        final var fieldNames = new ArrayList<>(valuesToUpdate.keySet());
+        final var args = fieldNames.stream().map(valuesToUpdate::get).collect(Collectors.toList());
+        args.add(primaryFieldValue);
+
+        return this.executeCachedStatement(new StatementCache.Key(table, StatementCache.Operation.UPDATE, fieldNames, List.of(primaryFieldName)),
+                () -> "update " + this.dialect.quote(table) + " set " + fieldNames.stream().map(fieldName -> fieldName + " = ?")
+                        .collect(Collectors.joining(", ")) + " where " + primaryFieldName + " = ?", args);
+    }
+
+    /**
+     * @since 0.0.7
+     */
+    public int updateRowUnchecked(final String table, final String primaryFieldName, @Nullable final Object primaryFieldValue, final LinkedHashMap<String, Object> valuesToUpdate) {
+        try {
+            return this.updateRow(table, primaryFieldName, primaryFieldValue, valuesToUpdate);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public void insert(final String table, final LinkedHashMap<String, Object> valuesToInsert) throws SQLException {
-        final var statementBuilder = new StringBuilder("insert into `" + table + "` (");
         final var fieldNames = new ArrayList<>(valuesToInsert.keySet());
 
-        for (int i = 0; i < fieldNames.size(); i++) {
-            statementBuilder.append(fieldNames.get(i)).append(i != fieldNames.size() - 1 ? ", " : " ");
+        this.executeCachedStatement(new StatementCache.Key(table, StatementCache.Operation.INSERT, fieldNames, Collections.emptyList()),
+                () -> this.dialect.getInsertStatement(table, fieldNames),
+                fieldNames.stream().map(valuesToInsert::get).collect(Collectors.toList()));
+    }
+
+    public void insertUnchecked(final String table, final LinkedHashMap<String, Object> valuesToInsert) {
+        try {
+            this.insert(table, valuesToInsert);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
         }
+    }
 
-        statementBuilder.append(") values (");
+    /**
+     * Inserts the specified {@code valuesToInsert} as a new row, or updates the
+     * existing row with the same {@code primary key} in a single statement. Only the
+     * columns in {@code updatableColumns} are written to an existing row.
+     *
+     * <p>Unless the {@link Dialect#isUpsertScopedToPrimaryKey() upsert of the
+     * dialect is scoped to the primary key}, as it isn't for {@link Dialect#MYSQL},
+     * an existing row clashing on any other {@code unique} key is updated instead of
+     * the insert failing. Where the {@code table} has other {@code unique} keys,
+     * {@link #updateRow(String, String, Object, LinkedHashMap)} followed by
+     * {@link #insert(String, LinkedHashMap)} should then be used instead.</p>
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param primaryFieldName The name of the {@code primary key} column.
+     * @param valuesToInsert The column names mapped to the values to write.
+     * @param updatableColumns The names of the columns that may be overwritten in
+     *                         an existing row.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public void upsert(final String table, final String primaryFieldName, final LinkedHashMap<String, Object> valuesToInsert, final Set<String> updatableColumns) throws SQLException {
+        final var fieldNames = new ArrayList<>(valuesToInsert.keySet());
+        final var columnsToUpdate = getColumnsToUpdate(primaryFieldName, fieldNames, updatableColumns);
+
+        this.executeCachedStatement(new StatementCache.Key(table, StatementCache.Operation.UPSERT, fieldNames, columnsToUpdate),
+                () -> this.dialect.getUpsertStatement(table, primaryFieldName, fieldNames, columnsToUpdate),
+                fieldNames.stream().map(valuesToInsert::get).collect(Collectors.toList()));
+    }
 
-        for (int i = 0; i < fieldNames.size(); i++) {
-            statementBuilder.append("?").append(i != fieldNames.size() - 1 ? ", " : " ");
+    /**
+     * @since 0.0.7
+     */
+    public void upsertUnchecked(final String table, final String primaryFieldName, final LinkedHashMap<String, Object> valuesToInsert, final Set<String> updatableColumns) {
+        try {
+            this.upsert(table, primaryFieldName, valuesToInsert, updatableColumns);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
         }
+    }
+
+    /**
+     * Upserts all the specified {@code rows} as with
+     * {@link #upsert(String, String, LinkedHashMap, Set)}, grouping them by the
+     * columns they write so that each group reuses one statement through
+     * {@link PreparedStatement#addBatch()}.
+     *
+     * <p>Batches are executed every {@link #getBatchSize()} rows. If the
+     * {@link Connection} is in auto-commit mode, each batch is committed as it is
+     * executed and any failed batch is rolled back; otherwise committing is left to
+     * the caller's transaction.</p>
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param primaryFieldName The name of the {@code primary key} column.
+     * @param rows The rows to write, each mapping column names to values.
+     * @param updatableColumns The names of the columns that may be overwritten in
+     *                         an existing row.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public void upsertAll(final String table, final String primaryFieldName, final Collection<LinkedHashMap<String, Object>> rows, final Set<String> updatableColumns) throws SQLException {
+        final Map<List<String>, List<LinkedHashMap<String, Object>>> rowsByColumns = rows.stream()
+                .collect(Collectors.groupingBy(row -> List.copyOf(row.keySet()), LinkedHashMap::new, Collectors.toList()));
 
-        this.executePreparedStatement(statementBuilder.append(")").toString(), fieldNames.stream().map(valuesToInsert::get).collect(Collectors.toList()));
+        try (final var lease = this.lease()) {
+            this.upsertAll(lease, table, primaryFieldName, rowsByColumns, updatableColumns);
+        }
     }
 
-    public void insertUnchecked(final String table, final LinkedHashMap<String, Object> valuesToInsert) {
+    private void upsertAll(final ConnectionLease lease, final String table, final String primaryFieldName, final Map<List<String>, List<LinkedHashMap<String, Object>>> rowsByColumns, final Set<String> updatableColumns) throws SQLException {
+        final var connection = lease.getConnection();
+        final var statementCache = lease.getStatementCache();
+        final boolean autoCommit = connection.getAutoCommit();
+
+        if (autoCommit)
+            connection.setAutoCommit(false);
+
         try {
-            this.insert(table, valuesToInsert);
+            for (final var entry : rowsByColumns.entrySet()) {
+                final var fieldNames = entry.getKey();
+                final var columnsToUpdate = getColumnsToUpdate(primaryFieldName, fieldNames, updatableColumns);
+                final var key = new StatementCache.Key(table, StatementCache.Operation.UPSERT, fieldNames, columnsToUpdate);
+                final var statement = statementCache.borrow(key, () ->
+                        this.dialect.getUpsertStatement(table, primaryFieldName, fieldNames, columnsToUpdate), this.metrics);
+                final long start = System.nanoTime();
+
+                try {
+                    int batched = 0;
+
+                    for (final var row : entry.getValue()) {
+                        for (int i = 0; i < fieldNames.size(); i++) {
+                            statement.setObject(i + 1, row.get(fieldNames.get(i)));
+                        }
+                        statement.addBatch();
+
+                        if (++batched == this.batchSize) {
+                            executeBatch(connection, statement, autoCommit);
+                            batched = 0;
+                        }
+                    }
+
+                    if (batched > 0)
+                        executeBatch(connection, statement, autoCommit);
+                    this.metrics.recordStatement(table, key.operation().name(), System.nanoTime() - start);
+                } catch (final SQLException e) {
+                    statement.clearBatch();
+                    throw e;
+                } finally {
+                    statementCache.release(key, statement, null);
+                }
+            }
+        } catch (final SQLException e) {
+            if (autoCommit)
+                connection.rollback();
+            throw e;
+        } finally {
+            if (autoCommit)
+                connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * @since 0.0.7
+     */
+    public void upsertAllUnchecked(final String table, final String primaryFieldName, final Collection<LinkedHashMap<String, Object>> rows, final Set<String> updatableColumns) {
+        try {
+            this.upsertAll(table, primaryFieldName, rows, updatableColumns);
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void executeBatch(final Connection connection, final PreparedStatement statement, final boolean commit) throws SQLException {
+        statement.executeBatch();
+
+        if (commit)
+            connection.commit();
+    }
+
+    private static List<String> getColumnsToUpdate(final String primaryFieldName, final List<String> fieldNames, final Set<String> updatableColumns) {
+        return fieldNames.stream().filter(fieldName -> !fieldName.equals(primaryFieldName) && updatableColumns.contains(fieldName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sets the {@link IdAllocator} used to allocate {@code id}s for new rows of the
+     * specified {@code table}.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param idAllocator The {@link IdAllocator} for the {@code table}.
+     * @return This {@link Database} for chaining.
+     * @since 0.0.7
+     */
+    public Database setIdAllocator(final String table, final IdAllocator idAllocator) {
+        this.idAllocators.put(table, idAllocator);
+        return this;
+    }
+
+    /**
+     * Gets the {@link IdAllocator} for the specified {@code table}, creating a
+     * {@link MaxIdAllocator} reading the highest {@code id} on every allocation for
+     * it if one hasn't been set.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param fieldName The name of the {@code id} column.
+     * @return The {@link IdAllocator} for the {@code table}.
+     * @since 0.0.7
+     */
+    public IdAllocator getIdAllocator(final String table, final String fieldName) {
+        return this.idAllocators.computeIfAbsent(table, key -> new MaxIdAllocator(table, fieldName));
+    }
+
+    /**
+     * Allocates an {@code id} for a new row of the specified {@code table} from its
+     * {@link #getIdAllocator(String, String) IdAllocator}.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param fieldName The name of the {@code id} column.
+     * @return The allocated {@code id}.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public int allocateId(final String table, final String fieldName) throws SQLException {
+        return this.getIdAllocator(table, fieldName).allocate(this);
+    }
+
+    /**
+     * Allocates an {@code id} for a new row of the specified {@code table}. This
+     * method is an "unchecked" version of {@link #allocateId(String, String)} as it
+     * throws any {@link SQLException}s as a {@link RuntimeException}.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param fieldName The name of the {@code id} column.
+     * @return The allocated {@code id}.
+     * @throws RuntimeException If there were any {@link SQLException} thrown by
+     *                          {@link #allocateId(String, String)}.
+     * @since 0.0.7
+     */
+    public int allocateIdUnchecked(final String table, final String fieldName) {
+        try {
+            return this.allocateId(table, fieldName);
         } catch (final SQLException e) {
             throw new RuntimeException(e);
         }
@@ -157,18 +1324,29 @@ public class Database {
     }
 
     public int getMax(final String table, final String fieldName) throws SQLException {
-        final var resultSet = this.connection.prepareStatement("select max(" + fieldName + ") from " + table).executeQuery();
+        final var key = new StatementCache.Key(table, StatementCache.Operation.MAX, List.of(fieldName), Collections.emptyList());
+
+        try (final var lease = this.lease()) {
+            final var statement = lease.getStatementCache().borrow(key, () ->
+                    "select max(" + fieldName + ") from " + this.dialect.quote(table), this.metrics);
+            final long start = System.nanoTime();
 
-        if (!resultSet.next())
-            return -1;
+            try (final var resultSet = statement.executeQuery()) {
+                this.metrics.recordStatement(table, key.operation().name(), System.nanoTime() - start);
+                if (!resultSet.next())
+                    return -1;
 
-        return resultSet.getInt(1);
+                return resultSet.getInt(1);
+            } finally {
+                lease.getStatementCache().release(key, statement, null);
+            }
+        }
     }
 
     public boolean valueExists(final String table, final String fieldName, @Nullable final Object fieldValue) {
         try {
             // TODO: Make a method that doesn't involve pointlessly transferring this data to the client.
-            this.select(table, fieldName, fieldValue);
+            this.select(table, fieldName, fieldValue).close();
         } catch (final NoSuchRowException e) {
             return false;
         } catch (final SQLException e) {
@@ -179,7 +1357,7 @@ public class Database {
 
     public boolean tableExists(final String table){
         try {
-            this.select("INFORMATION_SCHEMA.TABLES", "TABLE_NAME", table);
+            this.select("INFORMATION_SCHEMA.TABLES", "TABLE_NAME", table).close();
         } catch (final NoSuchRowException e) {
             return false;
         } catch (final SQLException e) {
@@ -233,13 +1411,51 @@ public class Database {
     }
 
     public void executePreparedStatement(final String sqlQuery, final List<Object> args) throws SQLException {
-        final var statement = this.connection.prepareStatement(sqlQuery);
+        try (final var lease = this.lease();
+             final var statement = lease.getConnection().prepareStatement(sqlQuery)) {
+            setArguments(statement, args);
+            final long start = System.nanoTime();
+            statement.execute();
+            this.metrics.recordStatement("", "EXECUTE", System.nanoTime() - start);
+        }
+    }
+
+    private int executeCachedStatement(final StatementCache.Key key, final Supplier<String> sqlSupplier, final List<Object> args) throws SQLException {
+        try (final var lease = this.lease()) {
+            final var statementCache = lease.getStatementCache();
+            final var statement = statementCache.borrow(key, sqlSupplier, this.metrics);
+
+            try {
+                setArguments(statement, args);
+                final long start = System.nanoTime();
+                final int updated = statement.executeUpdate();
+                this.metrics.recordStatement(key.table(), key.operation().name(), System.nanoTime() - start);
+                return updated;
+            } finally {
+                statementCache.release(key, statement, null);
+            }
+        }
+    }
 
+    /**
+     * Closes the {@link StatementCache} and {@link Connection} controlled by this
+     * {@link Database}.
+     *
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    @Override
+    public void close() throws SQLException {
+        if (this.statementCache != null)
+            this.statementCache.close();
+        if (this.connection != null)
+            this.connection.close();
+    }
+
+    private static void setArguments(final PreparedStatement statement, final List<Object> args) throws SQLException {
         for (int i = 1; i <= args.size(); i++) {
             statement.setObject(i, args.get(i - 1));
         }
-
-        statement.executeQuery();
     }
 
 }
@@ -1,9 +1,11 @@
 package com.harleyoconnor.serdes.database;
 
-import com.harleyoconnor.serdes.util.Scheduler;
-
+import javax.annotation.Nullable;
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 /**
@@ -14,49 +16,179 @@ import java.util.function.Supplier;
  * is used, as it means there is no longer any need to pass around
  * {@link Database} instances.</p>
  *
+ * <p>When {@link #set(Supplier) set} from a {@link Supplier}, the default
+ * database uses a single {@link Connection} for all operations, as a
+ * {@link Database} does. Since 0.0.7, it can instead be
+ * {@link #set(ConnectionPool) set} to lease {@link Connection}s from a
+ * {@link ConnectionPool}, as a {@link PooledDatabase} does, so it can be used
+ * safely from many threads; {@link #getConnection()} and
+ * {@link #getStatementCache()} are then not supported, and {@link #lease()}
+ * should be used instead.</p>
+ *
  * @author Harley O'Connor
  * @since 0.0.5
  */
 public final class DefaultDatabase extends Database {
 
-    private static DefaultDatabase DEFAULT_DATABASE;
+    /**
+     * The time after which the {@link Connection} of a default database
+     * {@link #set(Supplier) set} from a {@link Supplier} is replaced.
+     */
+    private static final long CONNECTION_LIFETIME_NANOS = Duration.ofMinutes(15).toNanos();
+
+    private static volatile DefaultDatabase DEFAULT_DATABASE;
+
+    /** Supplies the replacement {@link Connection}s, if not leasing from a {@link #pool}. */
+    @Nullable
+    private final Supplier<Connection> connectionSupplier;
+    /** The {@link System#nanoTime()} at which the {@link Connection} was opened, if not leasing from a {@link #pool}. */
+    private final long openedAt;
+    @Nullable
+    private final ConnectionPool pool;
 
     /**
-     * Gets the {@link #DEFAULT_DATABASE}.
+     * Gets the {@link #DEFAULT_DATABASE}, first replacing it with a new
+     * {@link Connection} if it was {@link #set(Supplier) set} from a
+     * {@link Supplier} over 15 minutes ago.
      *
      * @return The {@link #DEFAULT_DATABASE} object.
      */
     public static DefaultDatabase get() {
+        final DefaultDatabase database = DEFAULT_DATABASE;
+        return database == null || !database.hasExpired() ? database : replace(database);
+    }
+
+    private static synchronized DefaultDatabase replace(final DefaultDatabase expired) {
+        // Another thread may have replaced it already.
+        if (DEFAULT_DATABASE == expired) {
+            DEFAULT_DATABASE = new DefaultDatabase(expired.connectionSupplier);
+            DEFAULT_DATABASE.copySettings(expired);
+        }
         return DEFAULT_DATABASE;
     }
 
     /**
-     * Creates and sets the {@link #DEFAULT_DATABASE} to the specified
-     * {@link Connection}.
+     * Creates and sets the {@link #DEFAULT_DATABASE} to the {@link Connection}
+     * from the specified {@link Supplier}.
      *
-     * <p>Takes a {@link Supplier} since the {@link Connection} is
-     * reset every 15 minutes.</p>
+     * <p>Takes a {@link Supplier} since the {@link Connection} is replaced once
+     * it has been open for 15 minutes. The replaced {@link Connection} is not
+     * closed, as operations may still be using it.</p>
      *
      * @param connectionSupplier A {@link Supplier} for the
      *                           {@link Connection} to the
      *                           {@link #DEFAULT_DATABASE}.
      */
-    public static void set(final Supplier<Connection> connectionSupplier) {
-        DEFAULT_DATABASE = new DefaultDatabase(connectionSupplier.get());
+    public static synchronized void set(final Supplier<Connection> connectionSupplier) {
+        final DefaultDatabase previous = DEFAULT_DATABASE;
+        DEFAULT_DATABASE = new DefaultDatabase(connectionSupplier);
+        closePool(previous);
+    }
+
+    /**
+     * Creates and sets the {@link #DEFAULT_DATABASE} to lease {@link Connection}s
+     * from the specified {@link ConnectionPool}, closing the pool of the previous
+     * default database if there was one.
+     *
+     * @param pool The {@link ConnectionPool} for the {@link #DEFAULT_DATABASE}.
+     * @throws RuntimeException If a {@link Connection} could not be leased
+     *                          to detect the {@link Dialect}.
+     * @since 0.0.7
+     */
+    public static synchronized void set(final ConnectionPool pool) {
+        final DefaultDatabase previous = DEFAULT_DATABASE;
+        DEFAULT_DATABASE = new DefaultDatabase(pool);
+
+        if (previous == null || previous.pool != pool)
+            closePool(previous);
+    }
+
+    private static void closePool(@Nullable final DefaultDatabase database) {
+        if (database != null && database.pool != null)
+            database.pool.close();
+    }
+
+    /**
+     * Constructs a new {@link DefaultDatabase} with the {@link Connection} from
+     * the specified {@link Supplier}.
+     *
+     * @param connectionSupplier A {@link Supplier} for the {@link Connection}.
+     */
+    private DefaultDatabase(final Supplier<Connection> connectionSupplier) {
+        super(connectionSupplier.get());
+        this.connectionSupplier = connectionSupplier;
+        this.openedAt = System.nanoTime();
+        this.pool = null;
+    }
+
+    /**
+     * Constructs a new {@link DefaultDatabase} leasing from the specified
+     * {@link ConnectionPool}.
+     *
+     * @param pool The {@link ConnectionPool} to lease {@link Connection}s from.
+     */
+    private DefaultDatabase(final ConnectionPool pool) {
+        super(detectDialect(pool));
+        this.connectionSupplier = null;
+        this.openedAt = 0;
+        this.pool = pool;
+    }
+
+    private static Dialect detectDialect(final ConnectionPool pool) {
+        try (final var lease = pool.borrow()) {
+            return Dialect.detect(lease.getConnection());
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private boolean hasExpired() {
+        return this.connectionSupplier != null && System.nanoTime() - this.openedAt >= CONNECTION_LIFETIME_NANOS;
+    }
+
+    /**
+     * Gets the {@link ConnectionPool} this {@link Database} leases from, if it was
+     * {@link #set(ConnectionPool) set} to lease from one.
+     *
+     * @return An {@link Optional} containing the {@link ConnectionPool}, or
+     *         {@link Optional#empty()} if this uses a single {@link Connection}.
+     * @since 0.0.7
+     */
+    public Optional<ConnectionPool> getPool() {
+        return Optional.ofNullable(this.pool);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>If {@link #set(ConnectionPool) set} to lease from a
+     * {@link ConnectionPool}, this implementation leases from it, and the time
+     * spent waiting is recorded to the {@link #getMetrics() metrics}.</p>
+     *
+     * @return The {@link ConnectionLease}.
+     * @throws SQLException If a {@link Connection} could not be leased.
+     */
+    @Override
+    public ConnectionLease lease() throws SQLException {
+        return this.pool == null ? super.lease() : PooledDatabase.lease(this, this.pool);
+    }
 
-        Scheduler.schedule(() -> DEFAULT_DATABASE =
-                        new DefaultDatabase(connectionSupplier.get()),
-                Duration.ofMinutes(15));
+    @Override
+    protected ResultSet releaseOnClose(final ConnectionLease lease, final ResultSet resultSet) {
+        return this.pool == null ? resultSet : PooledDatabase.closingLease(lease, resultSet);
     }
 
     /**
-     * Constructs a new {@link DefaultDatabase} with the specified
-     * {@link Connection}.
+     * {@inheritDoc}
      *
-     * @param connection The SQL database {@link Connection}.
+     * <p>If {@link #set(ConnectionPool) set} to lease from a
+     * {@link ConnectionPool}, this implementation closes the pool.</p>
      */
-    private DefaultDatabase(final Connection connection) {
-        super(connection);
+    @Override
+    public void close() throws SQLException {
+        if (this.pool == null)
+            super.close();
+        else this.pool.close();
     }
 
 }
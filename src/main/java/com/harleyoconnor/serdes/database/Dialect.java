@@ -0,0 +1,275 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Holds the SQL dialects understood by {@link Database}, providing the statements
+ * whose syntax differs between database vendors.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public enum Dialect {
+    /**
+     * MySQL and MariaDB, using {@code insert ... on duplicate key update} for
+     * upserts. These update the existing row clashing on any {@code unique} key, not
+     * only the {@code primary key}.
+     */
+    MYSQL("`", 65535, "MySQL", "MariaDB") {
+        @Override
+        public boolean isUpsertScopedToPrimaryKey() {
+            return false;
+        }
+
+        @Override
+        public String getUpsertStatement(final String table, final String primaryFieldName, final List<String> columns, final List<String> columnsToUpdate) {
+            // Updating the primary key to itself is the standard no-op for when there is nothing to update.
+            return this.getInsertStatement(table, columns) + " on duplicate key update " + (columnsToUpdate.isEmpty() ?
+                    primaryFieldName + " = " + primaryFieldName :
+                    columnsToUpdate.stream().map(column -> column + " = values(" + column + ")")
+                            .collect(Collectors.joining(", ")));
+        }
+
+        @Override
+        public String getNextSequenceValueStatement(final String sequence) {
+            // Sequences are only supported by MariaDB.
+            return "select nextval(" + this.quote(sequence) + ")";
+        }
+
+        @Override
+        public String getAutoIncrementKeyDefinition(final String column) {
+            return column + " bigint auto_increment primary key";
+        }
+
+        @Override
+        public String getInsertDefaultValuesStatement(final String table) {
+            return "insert into " + this.quote(table) + " () values ()";
+        }
+
+        @Override
+        public String getLimitClause(final boolean limit, final boolean offset) {
+            // MySQL has no offset without a limit, so uses the largest possible limit.
+            return !limit && offset ? " limit 18446744073709551615 offset ?" : super.getLimitClause(limit, offset);
+        }
+    },
+    /**
+     * PostgreSQL, using {@code insert ... on conflict} for upserts.
+     */
+    POSTGRESQL("", 32767, "PostgreSQL") {
+        @Override
+        public String getUpsertStatement(final String table, final String primaryFieldName, final List<String> columns, final List<String> columnsToUpdate) {
+            return this.getInsertStatement(table, columns) + " on conflict (" + primaryFieldName + ") " + (columnsToUpdate.isEmpty() ?
+                    "do nothing" :
+                    "do update set " + columnsToUpdate.stream().map(column -> column + " = excluded." + column)
+                            .collect(Collectors.joining(", ")));
+        }
+
+        @Override
+        public String getNextSequenceValueStatement(final String sequence) {
+            return "select nextval('" + sequence + "')";
+        }
+    },
+    /**
+     * H2, using {@code merge into ... using ... when matched} for upserts.
+     */
+    H2("", Integer.MAX_VALUE, "H2") {
+        @Override
+        public String getUpsertStatement(final String table, final String primaryFieldName, final List<String> columns, final List<String> columnsToUpdate) {
+            // Numbered placeholders let each value be referenced by both branches, while still being bound once per column.
+            final String quotedTable = this.quote(table);
+            final String insert = "when not matched then insert (" + String.join(", ", columns) + ") values (" +
+                    IntStream.rangeClosed(1, columns.size()).mapToObj(index -> "?" + index).collect(Collectors.joining(", ")) + ")";
+
+            return "merge into " + quotedTable + " using (select 1) on " + quotedTable + "." + primaryFieldName + " = ?" +
+                    (columns.indexOf(primaryFieldName) + 1) + (columnsToUpdate.isEmpty() ? " " :
+                    " when matched then update set " + columnsToUpdate.stream()
+                            .map(column -> column + " = ?" + (columns.indexOf(column) + 1))
+                            .collect(Collectors.joining(", ")) + " ") + insert;
+        }
+
+        @Override
+        public String getNextSequenceValueStatement(final String sequence) {
+            return "select next value for " + this.quote(sequence);
+        }
+    };
+
+    /** The quote used around identifiers, or an empty {@link String} if they are left unquoted. */
+    private final String identifierQuote;
+    /** The maximum amount of {@code ?} parameters in a single statement. */
+    private final int parameterLimit;
+    /** The product names reported by {@link java.sql.DatabaseMetaData} for this dialect. */
+    private final String[] productNames;
+
+    Dialect(final String identifierQuote, final int parameterLimit, final String... productNames) {
+        this.identifierQuote = identifierQuote;
+        this.parameterLimit = parameterLimit;
+        this.productNames = productNames;
+    }
+
+    /**
+     * Quotes the specified {@code identifier} (such as a {@code table} name) for
+     * this dialect.
+     *
+     * @param identifier The identifier to quote.
+     * @return The quoted identifier.
+     */
+    public String quote(final String identifier) {
+        return this.identifierQuote + identifier + this.identifierQuote;
+    }
+
+    /**
+     * Gets the maximum amount of {@code ?} parameters the database accepts in a
+     * single statement.
+     *
+     * @return The parameter limit.
+     * @since 0.0.7
+     */
+    public int getParameterLimit() {
+        return this.parameterLimit;
+    }
+
+    /**
+     * Gets an SQL {@code insert} statement for the specified {@code columns}, with a
+     * {@code ?} placeholder for each value.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param columns The names of the columns being inserted, in order.
+     * @return The SQL {@code insert} statement.
+     */
+    public String getInsertStatement(final String table, final List<String> columns) {
+        return "insert into " + this.quote(table) + " (" + String.join(", ", columns) + ") values (" +
+                placeholders(columns.size()) + ")";
+    }
+
+    /**
+     * Gets an SQL statement which inserts a row for the specified {@code columns},
+     * or updates the {@code columnsToUpdate} of the existing row if one with the same
+     * {@code primary key} already exists. The statement takes a {@code ?} placeholder
+     * for each of the {@code columns}, in order. Unless
+     * {@link #isUpsertScopedToPrimaryKey()}, a row clashing on another
+     * {@code unique} key is also updated.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @param primaryFieldName The name of the {@code primary key} column.
+     * @param columns The names of the columns being inserted, in order.
+     * @param columnsToUpdate The names of the columns to update if the row already
+     *                        exists; may be empty.
+     * @return The SQL {@code upsert} statement.
+     */
+    public abstract String getUpsertStatement(final String table, final String primaryFieldName, final List<String> columns, final List<String> columnsToUpdate);
+
+    /**
+     * Checks if the {@link #getUpsertStatement(String, String, List, List) upsert}
+     * statement only updates the existing row with the same {@code primary key}.
+     * Otherwise, it also updates the existing row clashing on any other
+     * {@code unique} key, where an insert would fail.
+     *
+     * @return {@code true} if upserts only update the row with the same
+     *         {@code primary key}; {@code false} if they update the row clashing on
+     *         any {@code unique} key.
+     */
+    public boolean isUpsertScopedToPrimaryKey() {
+        return true;
+    }
+
+    /**
+     * Gets an SQL statement which creates the specified {@code sequence} if it
+     * doesn't already exist.
+     *
+     * @param sequence The name of the {@code sequence}.
+     * @param start The first value of the {@code sequence}.
+     * @param increment The amount the {@code sequence} is incremented by each time a
+     *                  value is taken from it.
+     * @return The SQL {@code create sequence} statement.
+     * @since 0.0.7
+     */
+    public String getCreateSequenceStatement(final String sequence, final long start, final int increment) {
+        return "create sequence if not exists " + this.quote(sequence) + " start with " + start + " increment by " + increment;
+    }
+
+    /**
+     * Gets an SQL query which takes the next value from the specified
+     * {@code sequence}, returning it in a single row and column.
+     *
+     * @param sequence The name of the {@code sequence}.
+     * @return The SQL query.
+     * @since 0.0.7
+     */
+    public abstract String getNextSequenceValueStatement(final String sequence);
+
+    /**
+     * Gets the SQL definition of a {@code bigint primary key} column whose values
+     * are generated by the database.
+     *
+     * @param column The name of the column.
+     * @return The column definition, for use in a {@code create table} statement.
+     * @since 0.0.7
+     */
+    public String getAutoIncrementKeyDefinition(final String column) {
+        return column + " bigint generated by default as identity primary key";
+    }
+
+    /**
+     * Gets an SQL statement which inserts a row into the specified {@code table}
+     * with the default value for every column.
+     *
+     * @param table The name of the SQL {@code table}.
+     * @return The SQL {@code insert} statement.
+     * @since 0.0.7
+     */
+    public String getInsertDefaultValuesStatement(final String table) {
+        return "insert into " + this.quote(table) + " default values";
+    }
+
+    /**
+     * Gets the clause appended to a {@code select} statement to limit the amount
+     * of rows selected and skip the first rows, with a {@code ?} placeholder for
+     * the limit followed by one for the offset, where present.
+     *
+     * @param limit {@code true} if the amount of rows is limited.
+     * @param offset {@code true} if rows are skipped.
+     * @return The clause, including its leading space, or an empty {@link String}
+     *         if neither are present.
+     * @since 0.0.7
+     */
+    public String getLimitClause(final boolean limit, final boolean offset) {
+        return (limit ? " limit ?" : "") + (offset ? " offset ?" : "");
+    }
+
+    /**
+     * Creates a comma separated {@link String} of the specified {@code amount} of
+     * {@code ?} placeholders.
+     *
+     * @param amount The amount of placeholders.
+     * @return The placeholders.
+     */
+    static String placeholders(final int amount) {
+        return String.join(", ", Collections.nCopies(amount, "?"));
+    }
+
+    /**
+     * Detects the {@link Dialect} of the specified {@link Connection} from its
+     * {@link java.sql.DatabaseMetaData}, falling back to {@link #MYSQL} if it could
+     * not be detected.
+     *
+     * @param connection The {@link Connection} to detect the {@link Dialect} of.
+     * @return The detected {@link Dialect}.
+     */
+    public static Dialect detect(final Connection connection) {
+        try {
+            final String productName = connection.getMetaData().getDatabaseProductName();
+
+            return Stream.of(Dialect.values()).filter(dialect -> Stream.of(dialect.productNames)
+                    .anyMatch(productName::equalsIgnoreCase)).findFirst().orElse(MYSQL);
+        } catch (final SQLException e) {
+            return MYSQL;
+        }
+    }
+
+}
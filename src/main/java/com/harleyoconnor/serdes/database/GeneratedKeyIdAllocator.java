@@ -0,0 +1,139 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A {@link BlockIdAllocator} which reserves blocks by inserting a row into a
+ * {@code table} of blocks with an auto-increment key, reading the key generated
+ * for it through {@link Statement#getGeneratedKeys()}. Block {@code n} covers the
+ * {@code id}s from {@code n * blockSize} to {@code (n + 1) * blockSize - 1}.
+ *
+ * <p>This is useful for databases without {@code sequence}s, such as MySQL, where
+ * the auto-increment key of the blocks {@code table} takes the place of one.
+ * If the first block reserved would overlap {@code id}s already in the
+ * {@code table}, the block after the highest existing {@code id} is claimed
+ * explicitly instead. Blocks are {@code primary key}s, so no block is ever
+ * reserved twice.</p>
+ *
+ * <p>As a rollback would undo the reservation of a block this allocator has already
+ * handed {@code id}s out from, blocks are only reserved on a {@link Connection} in
+ * auto-commit mode, and reserving one inside a transaction fails.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class GeneratedKeyIdAllocator extends BlockIdAllocator {
+
+    private static final String BLOCK_COLUMN = "block";
+
+    private final String blocksTable;
+    private volatile boolean blocksTableCreated;
+    /** The lowest block not known to overlap existing {@code id}s or be claimed, or {@code -1} if not yet read. */
+    private long minimumBlock = -1;
+
+    /**
+     * Constructs a new {@link GeneratedKeyIdAllocator} using the
+     * {@link #DEFAULT_BLOCK_SIZE}, and a blocks {@code table} named after the
+     * {@code table}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     */
+    public GeneratedKeyIdAllocator(final String table, final String column) {
+        this(table, column, DEFAULT_BLOCK_SIZE, table + "_id_blocks");
+    }
+
+    /**
+     * Constructs a new {@link GeneratedKeyIdAllocator}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     * @param blockSize The amount of {@code id}s to reserve at a time.
+     * @param blocksTable The name of the {@code table} of reserved blocks.
+     */
+    public GeneratedKeyIdAllocator(final String table, final String column, final int blockSize, final String blocksTable) {
+        super(table, column, blockSize);
+        this.blocksTable = blocksTable;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws SQLException If the {@link Connection} is not in auto-commit mode; if
+     *                      a database access error occurs.
+     */
+    @Override
+    protected long reserveBlock(final Database database) throws SQLException {
+        final Dialect dialect = database.getDialect();
+
+        try (final var lease = database.lease()) {
+            final Connection connection = lease.getConnection();
+
+            requireAutoCommit(connection);
+
+            if (!this.blocksTableCreated) {
+                try (final Statement statement = connection.createStatement()) {
+                    statement.execute("create table if not exists " + dialect.quote(this.blocksTable) + " (" +
+                            dialect.getAutoIncrementKeyDefinition(BLOCK_COLUMN) + ")");
+                }
+                this.blocksTableCreated = true;
+            }
+
+            if (this.minimumBlock < 0)
+                this.minimumBlock = (this.getFirstUnusedId(database) + this.blockSize - 1) / this.blockSize;
+
+            while (true) {
+                long block = this.insertBlock(connection, dialect);
+
+                if (block < this.minimumBlock) {
+                    // Skip past blocks overlapping existing ids by claiming the first free one directly.
+                    block = this.minimumBlock;
+
+                    if (!this.claimBlock(connection, dialect, block)) {
+                        this.minimumBlock++;
+                        continue;
+                    }
+                }
+
+                return block * this.blockSize;
+            }
+        }
+    }
+
+    private long insertBlock(final Connection connection, final Dialect dialect) throws SQLException {
+        while (true) {
+            try (final PreparedStatement statement = connection.prepareStatement(
+                    dialect.getInsertDefaultValuesStatement(this.blocksTable), new String[]{BLOCK_COLUMN})) {
+                statement.executeUpdate();
+
+                try (final ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    if (!generatedKeys.next())
+                        throw new SQLException("No key was generated for a block of '" + this.table + "'.");
+                    return generatedKeys.getLong(1);
+                }
+            } catch (final SQLException e) {
+                // A generated key may collide with a block claimed explicitly, in which case the next is tried.
+                if (!isConstraintViolation(e))
+                    throw e;
+            }
+        }
+    }
+
+    private boolean claimBlock(final Connection connection, final Dialect dialect, final long block) throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement("insert into " +
+                dialect.quote(this.blocksTable) + " (" + BLOCK_COLUMN + ") values (?)")) {
+            statement.setLong(1, block);
+            statement.executeUpdate();
+            return true;
+        } catch (final SQLException e) {
+            if (!isConstraintViolation(e))
+                throw e;
+            return false;
+        }
+    }
+
+}
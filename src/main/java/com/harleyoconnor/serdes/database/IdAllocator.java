@@ -0,0 +1,30 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.SQLException;
+
+/**
+ * Allocates unique {@code id}s for new rows of a {@code table}, such as for an
+ * {@link com.harleyoconnor.serdes.IndexedSerDesable}.
+ *
+ * <p>Implementations must never hand out the same {@code id} twice, including to
+ * other threads. Unless documented otherwise, such as by {@link MaxIdAllocator},
+ * this also applies to other processes using the same database.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see Database#setIdAllocator(String, IdAllocator)
+ * @see BlockIdAllocator
+ */
+@FunctionalInterface
+public interface IdAllocator {
+
+    /**
+     * Allocates the next {@code id}.
+     *
+     * @param database The {@link Database} to reserve {@code id}s from, if needed.
+     * @return The allocated {@code id}.
+     * @throws SQLException If a database access error occurs.
+     */
+    int allocate(Database database) throws SQLException;
+
+}
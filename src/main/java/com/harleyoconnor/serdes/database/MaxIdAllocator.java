@@ -0,0 +1,80 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.SQLException;
+
+/**
+ * An {@link IdAllocator} which hands out the {@code id} after the highest in the
+ * {@code table}, as {@code id}s were allocated before 0.0.7. If the
+ * {@code table} doesn't exist yet, it is treated as empty.
+ *
+ * <p>By default, the highest {@code id} is read on every allocation, so rows
+ * inserted by other processes are seen, and {@code id}s only collide if another
+ * process inserts the same {@code id} between it being read and written. It can
+ * instead be constructed to read the highest {@code id} once and count up in
+ * memory thereafter, which saves a database call per allocation but collides
+ * with every row inserted by another process since.</p>
+ *
+ * <p>Either way, this needs no schema of its own, so is the default
+ * {@link IdAllocator} of a {@link Database}. Where other processes insert into the
+ * same {@code table}, a {@link CounterTableIdAllocator},
+ * {@link SequenceIdAllocator} or {@link GeneratedKeyIdAllocator} should be used
+ * instead, as they never collide.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class MaxIdAllocator implements IdAllocator {
+
+    private final String table;
+    private final String column;
+    private final boolean readOnce;
+
+    /** The highest {@code id} handed out, or {@code -1} if none has been yet. */
+    private long last = -1;
+
+    /**
+     * Constructs a new {@link MaxIdAllocator} which reads the highest {@code id} on
+     * every allocation.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     */
+    public MaxIdAllocator(final String table, final String column) {
+        this(table, column, false);
+    }
+
+    /**
+     * Constructs a new {@link MaxIdAllocator}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     * @param readOnce {@code true} to read the highest {@code id} on first use
+     *                 only, and count up in memory thereafter; {@code false} to
+     *                 read it on every allocation.
+     */
+    public MaxIdAllocator(final String table, final String column, final boolean readOnce) {
+        this.table = table;
+        this.column = column;
+        this.readOnce = readOnce;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation hands out the {@code id} after the highest in the
+     * {@code table}, or after the last it handed out if that is higher, so it never
+     * hands out the same {@code id} twice itself.</p>
+     *
+     * @param database The {@link Database} to read the highest {@code id} from.
+     * @return The allocated {@code id}.
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public synchronized int allocate(final Database database) throws SQLException {
+        if (!this.readOnce || this.last < 0)
+            this.last = Math.max(this.last, Math.max(database.getMaxOrDefault(this.table, this.column, 0), 0));
+
+        return Math.toIntExact(++this.last);
+    }
+
+}
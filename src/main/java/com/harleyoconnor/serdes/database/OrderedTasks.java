@@ -0,0 +1,155 @@
+package com.harleyoconnor.serdes.database;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the asynchronous operations of a {@link Database} on an {@link Executor}.
+ *
+ * <p>Where each operation leases its own {@link java.sql.Connection}, they are
+ * ordered per {@code table}: writes to a {@code table} run one at a time in the
+ * order they were submitted, and reads of a {@code table} run once the writes
+ * submitted before them have completed. Reads run concurrently with each other.</p>
+ *
+ * <p>Where operations share a single {@link java.sql.Connection}, they are
+ * {@link #serial() serial}: every operation, read or write, runs one at a time in
+ * the order it was submitted, so that none runs inside another's transaction.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+final class OrderedTasks {
+
+    /**
+     * Holds the default {@link Executor}, which is only created when first needed.
+     */
+    private static final class DefaultExecutor {
+        private static final Executor INSTANCE = create();
+
+        /**
+         * Creates an {@link Executor} running each task on a new virtual thread where
+         * they are supported (Java 21 and above), falling back to a cached pool of
+         * daemon threads.
+         */
+        private static Executor create() {
+            try {
+                // Looked up reflectively so this still runs on versions without virtual threads.
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (final ReflectiveOperationException e) {
+                final AtomicInteger threadNumber = new AtomicInteger();
+
+                return Executors.newCachedThreadPool(runnable -> {
+                    final Thread thread = new Thread(runnable, "SerDes-Async-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /** The key all operations are ordered under when they are {@link #serial() serial}. */
+    private static final String SERIAL_KEY = "";
+
+    /** The last write submitted for each {@code table}, or for {@link #SERIAL_KEY}, until it completes. */
+    private final Map<String, CompletableFuture<?>> lastWrites = new ConcurrentHashMap<>();
+    private final boolean serial;
+
+    private OrderedTasks(final boolean serial) {
+        this.serial = serial;
+    }
+
+    /**
+     * Creates {@link OrderedTasks} ordering operations per {@code table}, for a
+     * {@link Database} leasing a {@link java.sql.Connection} per operation.
+     *
+     * @return The new {@link OrderedTasks}.
+     */
+    static OrderedTasks perTable() {
+        return new OrderedTasks(false);
+    }
+
+    /**
+     * Creates {@link OrderedTasks} running all operations one at a time in the
+     * order they were submitted, for a {@link Database} with a single
+     * {@link java.sql.Connection}.
+     *
+     * @return The new {@link OrderedTasks}.
+     */
+    static OrderedTasks serial() {
+        return new OrderedTasks(true);
+    }
+
+    /**
+     * Gets the default {@link Executor}, which runs tasks on virtual threads where
+     * they are supported and on a cached pool of daemon threads otherwise.
+     *
+     * @return The default {@link Executor}.
+     */
+    static Executor getDefaultExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+
+    /**
+     * Runs the specified {@code task} on the specified {@link Executor} once all
+     * writes previously submitted for the specified {@code table} have completed,
+     * or all operations previously submitted if these are {@link #serial() serial}.
+     *
+     * @param table The {@code table} written to.
+     * @param task The {@code task} to run.
+     * @param executor The {@link Executor} to run the {@code task} on.
+     * @param <R> The type of the result.
+     * @return A {@link CompletableFuture} completed with the result of the
+     *         {@code task}, or exceptionally if it threw.
+     */
+    <R> CompletableFuture<R> write(final String table, final Supplier<R> task, final Executor executor) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final String orderKey = this.serial ? SERIAL_KEY : table;
+
+        this.lastWrites.compute(orderKey, (key, previous) -> {
+            if (previous == null)
+                executor.execute(() -> run(result, task));
+            else previous.whenComplete((value, throwable) -> executor.execute(() -> run(result, task)));
+            return result;
+        });
+
+        result.whenComplete((value, throwable) -> this.lastWrites.remove(orderKey, result));
+        return result;
+    }
+
+    /**
+     * Runs the specified {@code task} on the specified {@link Executor} once all
+     * writes previously submitted for the specified {@code table} have completed.
+     * If these are {@link #serial() serial}, it is instead run as a write, once all
+     * operations previously submitted have completed.
+     *
+     * @param table The {@code table} read from.
+     * @param task The {@code task} to run.
+     * @param executor The {@link Executor} to run the {@code task} on.
+     * @param <R> The type of the result.
+     * @return A {@link CompletableFuture} completed with the result of the
+     *         {@code task}, or exceptionally if it threw.
+     */
+    <R> CompletableFuture<R> read(final String table, final Supplier<R> task, final Executor executor) {
+        if (this.serial)
+            return this.write(table, task, executor);
+
+        final CompletableFuture<?> lastWrite = this.lastWrites.get(table);
+
+        if (lastWrite == null)
+            return CompletableFuture.supplyAsync(task, executor);
+
+        // Reads run whether or not the write before them succeeded.
+        return lastWrite.handle((value, throwable) -> null).thenApplyAsync(ignored -> task.get(), executor);
+    }
+
+    private static <R> void run(final CompletableFuture<R> result, final Supplier<R> task) {
+        try {
+            result.complete(task.get());
+        } catch (final Throwable t) {
+            result.completeExceptionally(t);
+        }
+    }
+
+}
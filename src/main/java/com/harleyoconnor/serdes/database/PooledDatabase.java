@@ -0,0 +1,139 @@
+package com.harleyoconnor.serdes.database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link Database} which leases a {@link Connection} from a
+ * {@link ConnectionPool} for each operation, allowing it to be used by many threads
+ * in parallel.
+ *
+ * <p>As {@link Connection}s are only leased for the duration of an
+ * operation, {@link #getConnection()} and {@link #getStatementCache()} are not
+ * supported, and {@link #lease()} should be used instead. As leases are
+ * re-entrant, operations a thread runs while it holds a lease use its
+ * {@link Connection}, so they can be run in one transaction by holding a lease
+ * around them. {@link ResultSet}s returned by this {@link Database} hold their
+ * lease until they are closed.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see ConnectionPool
+ */
+public class PooledDatabase extends Database {
+
+    private final ConnectionPool pool;
+
+    /**
+     * Constructs a new {@link PooledDatabase} for the specified
+     * {@link ConnectionPool}, detecting its {@link Dialect} from a leased
+     * {@link Connection}.
+     *
+     * @param pool The {@link ConnectionPool} to lease from.
+     * @throws RuntimeException If a {@link Connection} could not be leased
+     *                          to detect the {@link Dialect}.
+     */
+    public PooledDatabase(final ConnectionPool pool) {
+        this(pool, detectDialect(pool));
+    }
+
+    /**
+     * Constructs a new {@link PooledDatabase} for the specified
+     * {@link ConnectionPool} and {@link Dialect}.
+     *
+     * @param pool The {@link ConnectionPool} to lease from.
+     * @param dialect The {@link Dialect} of SQL used by the {@code database}.
+     */
+    public PooledDatabase(final ConnectionPool pool, final Dialect dialect) {
+        super(dialect);
+        this.pool = pool;
+    }
+
+    private static Dialect detectDialect(final ConnectionPool pool) {
+        try (final var lease = pool.borrow()) {
+            return Dialect.detect(lease.getConnection());
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the {@link ConnectionPool} this {@link Database} leases from.
+     *
+     * @return The {@link ConnectionPool}.
+     */
+    public ConnectionPool getPool() {
+        return this.pool;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The time spent waiting for the {@link ConnectionPool} is recorded to the
+     * {@link #getMetrics() metrics}.</p>
+     *
+     * @return The {@link ConnectionLease} from the {@link ConnectionPool}.
+     * @throws SQLException If a {@link Connection} could not be leased.
+     */
+    @Override
+    public ConnectionLease lease() throws SQLException {
+        return lease(this, this.pool);
+    }
+
+    /**
+     * Leases a {@link Connection} from the specified {@link ConnectionPool} for the
+     * specified {@link Database}, recording the time spent waiting to its
+     * {@link #getMetrics() metrics}.
+     */
+    static ConnectionLease lease(final Database database, final ConnectionPool pool) throws SQLException {
+        final long start = System.nanoTime();
+        final var lease = pool.borrow();
+        database.getMetrics().recordConnectionWait(System.nanoTime() - start);
+        return lease;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation wraps the specified {@link ResultSet} so that closing it
+     * also closes the {@code lease}.</p>
+     */
+    @Override
+    protected ResultSet releaseOnClose(final ConnectionLease lease, final ResultSet resultSet) {
+        return closingLease(lease, resultSet);
+    }
+
+    /**
+     * Wraps the specified {@link ResultSet} so that closing it also closes the
+     * specified {@code lease}.
+     */
+    static ResultSet closingLease(final ConnectionLease lease, final ResultSet resultSet) {
+        final var released = new AtomicBoolean();
+
+        return (ResultSet) Proxy.newProxyInstance(PooledDatabase.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(resultSet, args);
+                    } catch (final InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (method.getName().equals("close") && method.getParameterCount() == 0 &&
+                                released.compareAndSet(false, true))
+                            lease.close();
+                    }
+                });
+    }
+
+    /**
+     * Closes the {@link ConnectionPool}.
+     */
+    @Override
+    public void close() {
+        this.pool.close();
+    }
+
+}
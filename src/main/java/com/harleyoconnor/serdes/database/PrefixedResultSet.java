@@ -0,0 +1,76 @@
+package com.harleyoconnor.serdes.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Locale;
+
+/**
+ * Creates views of a {@link ResultSet} whose columns are aliased with a common
+ * prefix, such as those of one {@code table} in a {@code join}, so that the view
+ * can be deserialised as though it held only that {@code table}'s columns.
+ *
+ * <p>Columns looked up by name are looked up with the prefix added, and the
+ * {@link ResultSetMetaData} of the view reports the labels of the prefixed columns
+ * with the prefix removed, and an empty label for all other columns. Column
+ * indexes are those of the underlying {@link ResultSet}. Closing the view does not
+ * close the underlying {@link ResultSet}, which is shared by all of its views.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+final class PrefixedResultSet {
+
+    private PrefixedResultSet() {}
+
+    /**
+     * Creates a view of the specified {@link ResultSet} for columns aliased with
+     * the specified {@code prefix}.
+     *
+     * @param resultSet The underlying {@link ResultSet}.
+     * @param prefix The prefix of the aliased columns.
+     * @return The view of the {@link ResultSet}.
+     */
+    static ResultSet of(final ResultSet resultSet, final String prefix) {
+        final String lowerCasePrefix = prefix.toLowerCase(Locale.ROOT);
+
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "getMetaData":
+                    return metaData(resultSet.getMetaData(), lowerCasePrefix);
+                default:
+                    if (args != null && args.length > 0 && method.getParameterTypes()[0] == String.class)
+                        args[0] = prefix + args[0];
+                    return invoke(resultSet, method, args);
+            }
+        });
+    }
+
+    private static ResultSetMetaData metaData(final ResultSetMetaData metaData, final String lowerCasePrefix) {
+        return proxy(ResultSetMetaData.class, (proxy, method, args) -> {
+            if (!method.getName().equals("getColumnLabel") && !method.getName().equals("getColumnName"))
+                return invoke(metaData, method, args);
+
+            final String label = (String) invoke(metaData, method, args);
+            return label.toLowerCase(Locale.ROOT).startsWith(lowerCasePrefix) ? label.substring(lowerCasePrefix.length()) : "";
+        });
+    }
+
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(PrefixedResultSet.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(final Object delegate, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
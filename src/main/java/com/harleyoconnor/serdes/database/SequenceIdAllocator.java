@@ -0,0 +1,71 @@
+package com.harleyoconnor.serdes.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A {@link BlockIdAllocator} which reserves blocks from a database
+ * {@code sequence} that is incremented by the block size, so each value taken
+ * from it is the start of a block of its own.
+ *
+ * <p>The {@code sequence} is created if it doesn't exist, starting after the
+ * highest {@code id} already in the {@code table}. If it already exists, it must
+ * have been created with an increment equal to the block size. {@code sequence}s
+ * are supported by PostgreSQL, H2 and MariaDB, but not MySQL.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class SequenceIdAllocator extends BlockIdAllocator {
+
+    private final String sequence;
+    private volatile boolean sequenceCreated;
+
+    /**
+     * Constructs a new {@link SequenceIdAllocator} using the
+     * {@link #DEFAULT_BLOCK_SIZE}, and a {@code sequence} named after the
+     * {@code table} and {@code column}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     */
+    public SequenceIdAllocator(final String table, final String column) {
+        this(table, column, DEFAULT_BLOCK_SIZE, table + "_" + column + "_seq");
+    }
+
+    /**
+     * Constructs a new {@link SequenceIdAllocator}.
+     *
+     * @param table The name of the SQL {@code table} {@code id}s are allocated for.
+     * @param column The name of the {@code id} column.
+     * @param blockSize The amount of {@code id}s to reserve at a time, which must
+     *                  be the increment of the {@code sequence}.
+     * @param sequence The name of the {@code sequence}.
+     */
+    public SequenceIdAllocator(final String table, final String column, final int blockSize, final String sequence) {
+        super(table, column, blockSize);
+        this.sequence = sequence;
+    }
+
+    @Override
+    protected long reserveBlock(final Database database) throws SQLException {
+        final Dialect dialect = database.getDialect();
+
+        try (final var lease = database.lease();
+             final Statement statement = lease.getConnection().createStatement()) {
+            if (!this.sequenceCreated) {
+                statement.execute(dialect.getCreateSequenceStatement(this.sequence, this.getFirstUnusedId(database), this.blockSize));
+                this.sequenceCreated = true;
+            }
+
+            try (final ResultSet resultSet = statement.executeQuery(dialect.getNextSequenceValueStatement(this.sequence))) {
+                if (!resultSet.next())
+                    throw new SQLException("Sequence '" + this.sequence + "' returned no value.");
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+}
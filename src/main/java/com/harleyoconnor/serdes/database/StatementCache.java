@@ -0,0 +1,271 @@
+package com.harleyoconnor.serdes.database;
+
+import com.harleyoconnor.serdes.metrics.Metrics;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A cache of {@link PreparedStatement}s for a single {@link Connection}, keyed by
+ * the {@code table}, {@link Operation} and columns they were generated for, so that
+ * both the SQL text and the statement handle are only created once.
+ *
+ * <p>Statements are {@link #borrow(Key, Supplier) borrowed} for the duration of
+ * their use and {@link #release(Key, PreparedStatement, ResultSet) released}
+ * afterwards. A statement whose last {@link ResultSet} is still open is considered
+ * in use, so nested or concurrent users of the same {@link Key} are given a
+ * separate, uncached statement rather than one that would close the other's
+ * {@link ResultSet}.</p>
+ *
+ * <p>Once more than {@link #getMaximumSize()} statements are cached, the least
+ * recently used is evicted and closed.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class StatementCache implements AutoCloseable {
+
+    /** The default maximum amount of cached statements per {@link Connection}. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 64;
+
+    /**
+     * The kinds of statements generated by {@link Database}, along with the
+     * {@link ResultSet} type and concurrency they should be prepared with.
+     */
+    public enum Operation {
+        SELECT(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_UPDATABLE),
+        /** A {@code select} with an {@code in} list, whose rows are read twice to preload foreign keys. */
+        SELECT_IN(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY),
+        /** A {@code select} which join-fetches foreign keys, whose rows are read twice to preload the rest. */
+        JOIN(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY),
+        INSERT,
+        UPDATE,
+        UPSERT,
+        MAX,
+        /** A {@code select} whose rows are streamed, so is read forward-only. */
+        STREAM,
+        /** A {@code select} built by a {@link com.harleyoconnor.serdes.query.Query}, whose rows are streamed. */
+        QUERY;
+
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+
+        Operation() {
+            this(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        }
+
+        Operation(final int resultSetType, final int resultSetConcurrency) {
+            this.resultSetType = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+        }
+
+        private PreparedStatement prepare(final Connection connection, final String sql) throws SQLException {
+            return connection.prepareStatement(sql, this.resultSetType, this.resultSetConcurrency);
+        }
+    }
+
+    /**
+     * Identifies a generated statement.
+     *
+     * @param table The {@code table} the statement operates on.
+     * @param operation The {@link Operation} the statement performs.
+     * @param columns The columns the statement reads or writes, in order.
+     * @param qualifiers Any further columns the statement depends on, such as the
+     *                   columns matched by a {@code where} clause or the columns
+     *                   updated by an {@code upsert}, along with anything else that
+     *                   shapes the SQL, such as the length of an {@code in} list.
+     */
+    public record Key(String table, Operation operation, List<String> columns, List<String> qualifiers) {
+        public Key {
+            columns = List.copyOf(columns);
+            qualifiers = List.copyOf(qualifiers);
+        }
+    }
+
+    private static final class Entry {
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean borrowed;
+        @Nullable
+        private ResultSet resultSet;
+
+        private Entry(final String sql, final PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        private boolean isAvailable() throws SQLException {
+            return !this.borrowed && (this.resultSet == null || this.resultSet.isClosed());
+        }
+    }
+
+    private final Connection connection;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private int maximumSize;
+
+    public StatementCache(final Connection connection) {
+        this(connection, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public StatementCache(final Connection connection, final int maximumSize) {
+        this.connection = connection;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets the maximum amount of statements held by this {@link StatementCache}.
+     *
+     * @return The maximum amount of cached statements.
+     */
+    public synchronized int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Sets the maximum amount of statements held by this {@link StatementCache},
+     * evicting the least recently used statements if it is already over it. A size
+     * of {@code 0} disables caching.
+     *
+     * @param maximumSize The maximum amount of cached statements.
+     * @return This {@link StatementCache} for chaining.
+     * @throws SQLException If closing an evicted statement failed.
+     */
+    public synchronized StatementCache setMaximumSize(final int maximumSize) throws SQLException {
+        if (maximumSize < 0)
+            throw new IllegalArgumentException("Maximum size must not be negative, was " + maximumSize + ".");
+        this.maximumSize = maximumSize;
+        this.evict();
+        return this;
+    }
+
+    /**
+     * Gets the amount of statements currently cached.
+     *
+     * @return The amount of cached statements.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Borrows the cached {@link PreparedStatement} for the specified {@link Key},
+     * preparing and caching it from the SQL given by the {@code sqlSupplier} if it
+     * isn't yet cached. If the cached statement is currently in use, a separate
+     * statement is prepared for this call. Each borrow should be followed by a call
+     * to {@link #release(Key, PreparedStatement, ResultSet)}.
+     *
+     * @param key The {@link Key} identifying the statement.
+     * @param sqlSupplier Supplies the SQL for the statement; only called on a cache
+     *                    miss.
+     * @return The {@link PreparedStatement}.
+     * @throws SQLException If a database access error occurs.
+     */
+    public PreparedStatement borrow(final Key key, final Supplier<String> sqlSupplier) throws SQLException {
+        return this.borrow(key, sqlSupplier, Metrics.noOp());
+    }
+
+    /**
+     * Borrows the cached {@link PreparedStatement} for the specified {@link Key} as
+     * {@link #borrow(Key, Supplier)} does, recording to the specified
+     * {@link Metrics} whether it was a hit. Borrows which have to prepare a
+     * statement, including those for a statement in use, are misses.
+     *
+     * @param key The {@link Key} identifying the statement.
+     * @param sqlSupplier Supplies the SQL for the statement; only called on a cache
+     *                    miss.
+     * @param metrics The {@link Metrics} to record the lookup to.
+     * @return The {@link PreparedStatement}.
+     * @throws SQLException If a database access error occurs.
+     * @since 0.0.7
+     */
+    public synchronized PreparedStatement borrow(final Key key, final Supplier<String> sqlSupplier, final Metrics metrics) throws SQLException {
+        final var entry = this.entries.get(key);
+        metrics.recordStatementCacheLookup(key.table(), entry != null && entry.isAvailable());
+
+        if (entry == null) {
+            final var sql = sqlSupplier.get();
+            final var newEntry = new Entry(sql, key.operation().prepare(this.connection, sql));
+            newEntry.borrowed = true;
+            this.entries.put(key, newEntry);
+            this.evict();
+            return newEntry.statement;
+        }
+
+        if (entry.isAvailable()) {
+            entry.borrowed = true;
+            entry.resultSet = null;
+            return entry.statement;
+        }
+
+        // The cached statement is in use, so give this caller its own.
+        return key.operation().prepare(this.connection, entry.sql);
+    }
+
+    /**
+     * Releases a {@link PreparedStatement} obtained from
+     * {@link #borrow(Key, Supplier)}. If a {@link ResultSet} is given, the statement
+     * will remain in use until it is closed.
+     *
+     * @param key The {@link Key} the statement was borrowed with.
+     * @param statement The {@link PreparedStatement} being released.
+     * @param resultSet The {@link ResultSet} still being read from the statement,
+     *                  or {@code null} if there isn't one.
+     * @throws SQLException If a database access error occurs.
+     */
+    public synchronized void release(final Key key, final PreparedStatement statement, @Nullable final ResultSet resultSet) throws SQLException {
+        final var entry = this.entries.get(key);
+
+        if (entry == null || entry.statement != statement) {
+            // The statement was uncached or has since been evicted, so close it once it's finished with.
+            closeWhenComplete(statement, resultSet);
+            return;
+        }
+
+        entry.borrowed = false;
+        entry.resultSet = resultSet;
+    }
+
+    /**
+     * Closes all cached statements and empties this cache. Statements still in use
+     * are closed once their {@link ResultSet} is closed.
+     *
+     * @throws SQLException If closing a statement failed.
+     */
+    @Override
+    public synchronized void close() throws SQLException {
+        final List<Entry> entries = new ArrayList<>(this.entries.values());
+        this.entries.clear();
+
+        for (final Entry entry : entries) {
+            closeWhenComplete(entry.statement, entry.resultSet);
+        }
+    }
+
+    private void evict() throws SQLException {
+        final Iterator<Entry> iterator = this.entries.values().iterator();
+
+        while (this.entries.size() > this.maximumSize && iterator.hasNext()) {
+            final var entry = iterator.next();
+            iterator.remove();
+
+            // Borrowed statements are closed by release, as they'll no longer match the cached entry.
+            if (!entry.borrowed)
+                closeWhenComplete(entry.statement, entry.resultSet);
+        }
+    }
+
+    private static void closeWhenComplete(final PreparedStatement statement, @Nullable final ResultSet resultSet) throws SQLException {
+        if (resultSet != null && !resultSet.isClosed())
+            statement.closeOnCompletion();
+        else statement.close();
+    }
+
+}
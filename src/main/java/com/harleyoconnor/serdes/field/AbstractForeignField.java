@@ -6,7 +6,7 @@ import com.harleyoconnor.serdes.database.Database;
 import com.harleyoconnor.serdes.util.Null;
 
 import javax.annotation.Nullable;
-import java.util.Objects;
+import java.sql.SQLException;
 import java.util.function.Function;
 
 /**
@@ -61,9 +61,16 @@ public abstract class AbstractForeignField<P extends SerDesable<P, ?>, T, FKT ex
         final var serDes = SerDesRegistry.getUnsafe(this.foreignField.getParentType());
 
         // Either obtain the object from the currently loaded objects for that SerDes or deserialise it.
-        return serDes.getLoadedObjects().stream().filter(object -> Objects.equals(this.foreignField.get(object), value)).findFirst().orElseGet(() -> {
+        final var loaded = serDes.getLoaded(this.foreignField, value);
+        database.getMetrics().recordForeignKeyResolution(serDes.getTable(), loaded.isPresent());
+
+        return loaded.orElseGet(() -> {
             // Selects the result set from the database based on the given value.
-            return serDes.deserialise(database, database.selectUnchecked(serDes.getTable(), this.foreignField.getName(), value));
+            try (final var resultSet = database.select(serDes.getTable(), this.foreignField.getName(), value)) {
+                return serDes.deserialise(database, resultSet);
+            } catch (final SQLException e) {
+                throw new RuntimeException(e);
+            }
         });
     }
 
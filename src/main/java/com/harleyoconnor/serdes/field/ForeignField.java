@@ -64,4 +64,46 @@ public interface ForeignField<P extends SerDesable<P, ?>, T, FKT extends SerDesa
      */
     FKT getFromValue(Database database, @Nullable T value);
 
+    /**
+     * Resolves the specified {@code value} of the {@link Field} referenced by this
+     * {@link ForeignField} to what the parent {@code object} is constructed or set
+     * with when deserialised, which is of type {@link #getResolvedType()}.
+     *
+     * <p>By default, this is the referenced {@code object} itself, obtained from
+     * {@link #getFromValue(Database, Object)}.</p>
+     *
+     * @param database The {@link Database} to get from (if necessary).
+     * @param value The value of the {@link Field} referenced by this
+     *              {@link ForeignField}.
+     * @return The resolved value.
+     * @since 0.0.7
+     */
+    default Object resolve(final Database database, final T value) {
+        return this.getFromValue(database, value);
+    }
+
+    /**
+     * Gets the type of the values returned by {@link #resolve(Database, Object)},
+     * which the parent's constructor takes for this {@link ForeignField}.
+     *
+     * @return The resolved type, the type of the foreign {@code table} by default.
+     * @since 0.0.7
+     */
+    default Class<?> getResolvedType() {
+        return this.getForeignField().getParentType();
+    }
+
+    /**
+     * Checks if this {@link ForeignField} only loads the {@code object} it
+     * references when first accessed, in which case it isn't preloaded when
+     * selecting many {@code object}s.
+     *
+     * @return {@code true} if it is loaded lazily; {@code false} otherwise.
+     * @since 0.0.7
+     * @see LazyForeignField
+     */
+    default boolean isLazy() {
+        return false;
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.harleyoconnor.serdes.field;
+
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.util.Null;
+
+import javax.annotation.Nullable;
+import java.util.function.Function;
+
+/**
+ * An {@code immutable} implementation for {@link ForeignField} whose parent holds
+ * a {@link LazyReference} rather than the referenced {@code object}, so that
+ * deserialising the parent doesn't load it. The referenced {@code object} is only
+ * loaded on the first call to {@link LazyReference#get()} (or
+ * {@link #getActual(SerDesable)}), while {@link #get(SerDesable)} reads the value
+ * held by the {@link LazyReference}, so serialising the parent doesn't load it
+ * either.
+ *
+ * <p>The parent's constructor takes a {@link LazyReference} for this
+ * {@link Field}, or {@code null} if the column is {@code null}.</p>
+ *
+ * @param <P> The type of the parent {@link Class}.
+ * @param <T> The type of the foreign {@code table}'s {@code field}.
+ * @param <FKT> The type of the foreign {@code table}.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see LazyReference
+ * @see MutableLazyForeignField
+ * @see ImmutableForeignField
+ */
+public class LazyForeignField<P extends SerDesable<P, ?>, T, FKT extends SerDesable<FKT, ?>> extends AbstractForeignField<P, T, FKT> {
+
+    /** A {@link Function} getter for the {@link LazyReference}. */
+    private final Function<P, LazyReference<FKT, T>> referenceGetter;
+
+    public LazyForeignField(String name, Class<P> parentType, Field<FKT, T> foreignField, boolean unique, boolean nullable, Function<P, LazyReference<FKT, T>> getter) {
+        super(name, parentType, foreignField, unique, nullable, object -> Null.applyOrNull(getter.apply(object), LazyReference::get));
+        this.referenceGetter = getter;
+    }
+
+    /**
+     * Gets the value of the referenced {@link Field} from the {@link LazyReference}
+     * held by the specified {@code object}, without loading the referenced
+     * {@code object}.
+     *
+     * @param object The {@code object} of type {@link P}.
+     * @return The value of the referenced {@link Field}.
+     */
+    @Nullable
+    @Override
+    public T get(P object) {
+        return Null.applyOrNull(this.referenceGetter.apply(object), LazyReference::getValue);
+    }
+
+    /**
+     * Gets the {@link LazyReference} held by the specified {@code object}.
+     *
+     * @param object The {@code object} of type {@link P}.
+     * @return The {@link LazyReference}, or {@code null} if not set.
+     */
+    @Nullable
+    public LazyReference<FKT, T> getReference(P object) {
+        return this.referenceGetter.apply(object);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation returns a {@link LazyReference} for the
+     * {@code value}, without loading the referenced {@code object}.</p>
+     */
+    @Override
+    public Object resolve(Database database, T value) {
+        return new LazyReference<>(this, database, value);
+    }
+
+    @Override
+    public Class<?> getResolvedType() {
+        return LazyReference.class;
+    }
+
+    @Override
+    public boolean isLazy() {
+        return true;
+    }
+
+}
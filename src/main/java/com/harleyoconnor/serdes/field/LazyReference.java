@@ -0,0 +1,168 @@
+package com.harleyoconnor.serdes.field;
+
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesRegistry;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * A handle to the {@code object} of type {@link FKT} referenced by a
+ * {@link LazyForeignField}, holding the value of the referenced {@link Field} and
+ * only loading the {@code object} on the first call to {@link #get()}.
+ *
+ * <p>When many references are about to be accessed, such as those of a list of
+ * {@code object}s just selected, {@link #preloadAll(Collection)} loads them all
+ * with one query per {@code table}, rather than one each.</p>
+ *
+ * @param <FKT> The type of the foreign {@code table}.
+ * @param <T> The type of the foreign {@code table}'s {@code field}.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see LazyForeignField
+ */
+public final class LazyReference<FKT extends SerDesable<FKT, ?>, T> {
+
+    private final Field<FKT, T> referencedField;
+    private final T value;
+
+    /** The {@link ForeignField} and {@link Database} to load from, or {@code null} if created loaded. */
+    @Nullable
+    private final ForeignField<?, T, FKT> foreignField;
+    @Nullable
+    private final Database database;
+
+    @Nullable
+    private volatile FKT referent;
+
+    LazyReference(final ForeignField<?, T, FKT> foreignField, final Database database, final T value) {
+        this.referencedField = foreignField.getForeignField();
+        this.value = value;
+        this.foreignField = foreignField;
+        this.database = database;
+    }
+
+    private LazyReference(final Field<FKT, T> referencedField, final FKT referent) {
+        this.referencedField = referencedField;
+        this.value = Objects.requireNonNull(referencedField.get(referent));
+        this.foreignField = null;
+        this.database = null;
+        this.referent = referent;
+    }
+
+    /**
+     * Creates a {@link LazyReference} to the specified {@code object}, which is
+     * already loaded, such as for constructing a new {@code object} holding it.
+     *
+     * @param referencedField The {@link Field} of the {@code object} referenced by
+     *                        the {@link LazyForeignField}.
+     * @param object The {@code object} to reference.
+     * @param <FKT> The type of the foreign {@code table}.
+     * @param <T> The type of the foreign {@code table}'s {@code field}.
+     * @return The {@link LazyReference}.
+     * @throws NullPointerException If the {@code object}'s value of the
+     *                              {@code referencedField} is {@code null}.
+     */
+    public static <FKT extends SerDesable<FKT, ?>, T> LazyReference<FKT, T> of(final Field<FKT, T> referencedField, final FKT object) {
+        return new LazyReference<>(referencedField, object);
+    }
+
+    /**
+     * Gets the value of the referenced {@link Field}, without loading the
+     * {@code object}.
+     *
+     * @return The value of the referenced {@link Field}.
+     */
+    public T getValue() {
+        return this.value;
+    }
+
+    /**
+     * Checks if the referenced {@code object} has been loaded by this
+     * {@link LazyReference}.
+     *
+     * @return {@code true} if it has been loaded; {@code false} otherwise.
+     */
+    public boolean isLoaded() {
+        return this.referent != null;
+    }
+
+    /**
+     * Gets the referenced {@code object}, loading it on the first call with
+     * {@link ForeignField#getFromValue(Database, Object)}, which finds it among
+     * the loaded {@code object}s or selects it.
+     *
+     * @return The referenced {@code object} of type {@link FKT}.
+     * @throws RuntimeException If a database access error occurs.
+     */
+    public FKT get() {
+        FKT referent = this.referent;
+
+        // Concurrent first calls may both load, but either finds the same loaded object.
+        if (referent == null)
+            this.referent = referent = Objects.requireNonNull(this.foreignField).getFromValue(Objects.requireNonNull(this.database), this.value);
+        return referent;
+    }
+
+    /**
+     * Loads the referenced {@code object}s of all the specified
+     * {@link LazyReference}s which haven't been loaded, selecting those which
+     * aren't already loaded by their {@link SerDes} with one
+     * {@link Database#selectAllIn(SerDes, String, Collection)} per
+     * {@link Database} and referenced {@link Field}.
+     *
+     * @param references The {@link LazyReference}s to load.
+     * @param <FKT> The type of the foreign {@code table}.
+     * @param <T> The type of the foreign {@code table}'s {@code field}.
+     * @throws RuntimeException If a database access error occurs.
+     */
+    public static <FKT extends SerDesable<FKT, ?>, T> void preloadAll(final Collection<? extends LazyReference<FKT, T>> references) {
+        final Map<Batch<FKT, T>, Map<T, List<LazyReference<FKT, T>>>> batches = new LinkedHashMap<>();
+
+        for (final LazyReference<FKT, T> reference : references) {
+            if (reference.isLoaded())
+                continue;
+
+            final SerDes<FKT, ?> serDes = SerDesRegistry.getUnsafe(reference.referencedField.getParentType());
+            final Optional<FKT> loaded = serDes.getLoaded(reference.referencedField, reference.value);
+
+            if (loaded.isPresent()) {
+                reference.referent = loaded.get();
+                continue;
+            }
+
+            batches.computeIfAbsent(new Batch<>(Objects.requireNonNull(reference.database), reference.referencedField), key -> new LinkedHashMap<>())
+                    .computeIfAbsent(reference.value, key -> new ArrayList<>(1)).add(reference);
+        }
+
+        batches.forEach((batch, referencesByValue) -> {
+            for (final FKT object : selectAllIn(batch.database, batch.referencedField, referencesByValue.keySet())) {
+                referencesByValue.getOrDefault(batch.referencedField.get(object), Collections.emptyList())
+                        .forEach(reference -> reference.referent = object);
+            }
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <FKT extends SerDesable<FKT, ?>> List<FKT> selectAllIn(final Database database, final Field<FKT, ?> referencedField,
+                                                                          final Collection<?> values) {
+        return database.selectAllInUnchecked((SerDes) SerDesRegistry.getUnsafe(referencedField.getParentType()),
+                referencedField.getName(), values);
+    }
+
+    @Override
+    public String toString() {
+        return "LazyReference{" + this.referencedField.getName() + "=" + this.value + (this.isLoaded() ? ", loaded" : "") + "}";
+    }
+
+    /**
+     * The {@link LazyReference}s selected together by
+     * {@link #preloadAll(Collection)}.
+     */
+    private record Batch<FKT extends SerDesable<FKT, ?>, T>(Database database, Field<FKT, T> referencedField) {
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.harleyoconnor.serdes.field;
+
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+
+import javax.annotation.Nullable;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A {@code mutable} ({@code non-final}) implementation for {@link LazyForeignField},
+ * which is set with a {@link LazyReference} when deserialised.
+ *
+ * @param <P> The type of the parent {@link Class}.
+ * @param <T> The type of the foreign {@code table}'s {@code field}.
+ * @param <FKT> The type of the foreign {@code table}.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see LazyForeignField
+ * @see MutableForeignField
+ */
+public class MutableLazyForeignField<P extends SerDesable<P, ?>, T, FKT extends SerDesable<FKT, ?>> extends LazyForeignField<P, T, FKT> {
+
+    /** A {@link BiConsumer} setter for the {@link LazyReference}. */
+    private final BiConsumer<P, LazyReference<FKT, T>> setter;
+
+    public MutableLazyForeignField(String name, Class<P> parentType, Field<FKT, T> foreignField, boolean unique, boolean nullable, Function<P, LazyReference<FKT, T>> getter, BiConsumer<P, LazyReference<FKT, T>> setter) {
+        super(name, parentType, foreignField, unique, nullable, getter);
+        this.setter = setter;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Field<P, T> set(Database database, P object, @Nullable T newValue) {
+        this.setter.accept(object, newValue == null ? null : new LazyReference<>(this, database, newValue));
+        return this;
+    }
+
+}
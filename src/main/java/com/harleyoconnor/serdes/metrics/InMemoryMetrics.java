@@ -0,0 +1,348 @@
+package com.harleyoconnor.serdes.metrics;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * {@link Metrics} which accumulate measurements in memory, per {@code table}, for
+ * reading back through its getters. Useful for tests and diagnostics, or for
+ * periodically exporting to a monitoring system.
+ *
+ * <p>Measurements are recorded with {@link LongAdder}s, so concurrent recording
+ * doesn't contend. Each {@link Timer} and {@link HitCounter} returned is live, so
+ * reflects measurements recorded after it was got; those for {@code table}s without
+ * any measurements are empty.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class InMemoryMetrics implements Metrics {
+
+    /** The {@link Timer} of each operation, for each {@code table}. */
+    private final Map<String, Map<String, Timer>> statementTimers = new ConcurrentHashMap<>();
+    private final Map<String, HitCounter> statementCacheLookups = new ConcurrentHashMap<>();
+    private final Timer connectionWaitTimer = new Timer();
+    private final Map<String, Timer> deserialisationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> serialisationTimers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> serialisedObjects = new ConcurrentHashMap<>();
+    private final Map<String, HitCounter> identityMapLookups = new ConcurrentHashMap<>();
+    private final Map<String, HitCounter> foreignKeyResolutions = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordStatement(final String table, final String operation, final long nanos) {
+        get(get(this.statementTimers, table, key -> new ConcurrentHashMap<>()), operation, key -> new Timer()).record(nanos);
+    }
+
+    @Override
+    public void recordStatementCacheLookup(final String table, final boolean hit) {
+        get(this.statementCacheLookups, table, key -> new HitCounter()).record(hit);
+    }
+
+    @Override
+    public void recordConnectionWait(final long nanos) {
+        this.connectionWaitTimer.record(nanos);
+    }
+
+    @Override
+    public void recordDeserialisation(final String table, final long nanos) {
+        get(this.deserialisationTimers, table, key -> new Timer()).record(nanos);
+    }
+
+    @Override
+    public void recordSerialisation(final String table, final int objects, final long nanos) {
+        get(this.serialisationTimers, table, key -> new Timer()).record(nanos);
+        get(this.serialisedObjects, table, key -> new LongAdder()).add(objects);
+    }
+
+    @Override
+    public void recordIdentityMapLookup(final String table, final boolean hit) {
+        get(this.identityMapLookups, table, key -> new HitCounter()).record(hit);
+    }
+
+    @Override
+    public void recordForeignKeyResolution(final String table, final boolean loaded) {
+        get(this.foreignKeyResolutions, table, key -> new HitCounter()).record(loaded);
+    }
+
+    /**
+     * Gets the value of the specified {@code key}, only creating it if absent.
+     * Unlike {@link ConcurrentHashMap#computeIfAbsent(Object, Function)}, this
+     * doesn't lock for keys already present.
+     */
+    private static <V> V get(final Map<String, V> map, final String key, final Function<String, V> factory) {
+        final V value = map.get(key);
+        return value != null ? value : map.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * Gets the {@link Timer} of the statements executed for the specified
+     * {@code operation} on the specified {@code table}.
+     *
+     * @param table The {@code table}.
+     * @param operation The name of the operation, as given to
+     *                  {@link #recordStatement(String, String, long)}.
+     * @return The {@link Timer}.
+     */
+    public Timer getStatementTimer(final String table, final String operation) {
+        return this.statementTimers.getOrDefault(table, Collections.emptyMap()).getOrDefault(operation, Timer.EMPTY);
+    }
+
+    /**
+     * Gets the {@link Timer} of each operation executed on the specified
+     * {@code table}.
+     *
+     * @param table The {@code table}.
+     * @return An unmodifiable {@link Map} of operation names to their
+     *         {@link Timer}s.
+     */
+    public Map<String, Timer> getStatementTimers(final String table) {
+        return Collections.unmodifiableMap(this.statementTimers.getOrDefault(table, Collections.emptyMap()));
+    }
+
+    /**
+     * Gets the {@link HitCounter} of prepared statements borrowed for the
+     * specified {@code table}, where hits were already prepared.
+     *
+     * @param table The {@code table}.
+     * @return The {@link HitCounter}.
+     */
+    public HitCounter getStatementCacheLookups(final String table) {
+        return this.statementCacheLookups.getOrDefault(table, HitCounter.EMPTY);
+    }
+
+    /**
+     * Gets the {@link Timer} of the waits for pooled {@link java.sql.Connection}s.
+     *
+     * @return The {@link Timer}.
+     */
+    public Timer getConnectionWaitTimer() {
+        return this.connectionWaitTimer;
+    }
+
+    /**
+     * Gets the {@link Timer} of the {@code object}s deserialised from the
+     * specified {@code table}, whose {@link Timer#getCount() count} is the amount
+     * of rows deserialised.
+     *
+     * @param table The {@code table}.
+     * @return The {@link Timer}.
+     */
+    public Timer getDeserialisationTimer(final String table) {
+        return this.deserialisationTimers.getOrDefault(table, Timer.EMPTY);
+    }
+
+    /**
+     * Gets the {@link Timer} of the serialisations to the specified
+     * {@code table}, each of which may have serialised many {@code object}s.
+     *
+     * @param table The {@code table}.
+     * @return The {@link Timer}.
+     */
+    public Timer getSerialisationTimer(final String table) {
+        return this.serialisationTimers.getOrDefault(table, Timer.EMPTY);
+    }
+
+    /**
+     * Gets the amount of {@code object}s serialised to the specified
+     * {@code table}.
+     *
+     * @param table The {@code table}.
+     * @return The amount of {@code object}s serialised.
+     */
+    public long getSerialisedObjects(final String table) {
+        final LongAdder serialisedObjects = this.serialisedObjects.get(table);
+        return serialisedObjects == null ? 0 : serialisedObjects.sum();
+    }
+
+    /**
+     * Gets the {@link HitCounter} of lookups by {@code primary key} among the
+     * loaded {@code object}s of the specified {@code table}.
+     *
+     * @param table The {@code table}.
+     * @return The {@link HitCounter}.
+     */
+    public HitCounter getIdentityMapLookups(final String table) {
+        return this.identityMapLookups.getOrDefault(table, HitCounter.EMPTY);
+    }
+
+    /**
+     * Gets the {@link HitCounter} of {@link com.harleyoconnor.serdes.field.ForeignField}
+     * values resolved to {@code object}s of the specified {@code table}, where
+     * hits were already loaded and misses were selected.
+     *
+     * @param table The {@code table} of the referenced {@code object}s.
+     * @return The {@link HitCounter}.
+     */
+    public HitCounter getForeignKeyResolutions(final String table) {
+        return this.foreignKeyResolutions.getOrDefault(table, HitCounter.EMPTY);
+    }
+
+    /**
+     * Gets the {@code table}s which have had any measurements recorded.
+     *
+     * @return A new {@link Set} of the {@code table}s.
+     */
+    public Set<String> getTables() {
+        final Set<String> tables = new HashSet<>(this.statementTimers.keySet());
+        tables.addAll(this.statementCacheLookups.keySet());
+        tables.addAll(this.deserialisationTimers.keySet());
+        tables.addAll(this.serialisationTimers.keySet());
+        tables.addAll(this.identityMapLookups.keySet());
+        tables.addAll(this.foreignKeyResolutions.keySet());
+        tables.remove("");
+        return tables;
+    }
+
+    /**
+     * Discards all measurements recorded so far, except for those of the
+     * {@link #getConnectionWaitTimer() connection wait timer}.
+     */
+    public void reset() {
+        this.statementTimers.clear();
+        this.statementCacheLookups.clear();
+        this.deserialisationTimers.clear();
+        this.serialisationTimers.clear();
+        this.serialisedObjects.clear();
+        this.identityMapLookups.clear();
+        this.foreignKeyResolutions.clear();
+    }
+
+    /**
+     * Accumulates the amount, total and maximum of recorded times.
+     *
+     * @author Harley O'Connor
+     * @since 0.0.7
+     */
+    public static final class Timer {
+        /** An empty {@link Timer}, which is never recorded to. */
+        private static final Timer EMPTY = new Timer();
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private Timer() {
+        }
+
+        private void record(final long nanos) {
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulate(nanos);
+        }
+
+        /**
+         * Gets the amount of times recorded.
+         *
+         * @return The amount of times recorded.
+         */
+        public long getCount() {
+            return this.count.sum();
+        }
+
+        /**
+         * Gets the total of the times recorded, in nanoseconds.
+         *
+         * @return The total time.
+         */
+        public long getTotalNanos() {
+            return this.totalNanos.sum();
+        }
+
+        /**
+         * Gets the longest time recorded, in nanoseconds.
+         *
+         * @return The maximum time, or {@code 0} if none were recorded.
+         */
+        public long getMaxNanos() {
+            return this.maxNanos.get();
+        }
+
+        /**
+         * Gets the mean of the times recorded, in nanoseconds.
+         *
+         * @return The mean time, or {@code 0} if none were recorded.
+         */
+        public double getMeanNanos() {
+            final long count = this.getCount();
+            return count == 0 ? 0 : (double) this.getTotalNanos() / count;
+        }
+
+        @Override
+        public String toString() {
+            return "Timer{count=" + this.getCount() + ", totalNanos=" + this.getTotalNanos() +
+                    ", maxNanos=" + this.getMaxNanos() + "}";
+        }
+    }
+
+    /**
+     * Counts the hits and misses of lookups.
+     *
+     * @author Harley O'Connor
+     * @since 0.0.7
+     */
+    public static final class HitCounter {
+        /** An empty {@link HitCounter}, which is never recorded to. */
+        private static final HitCounter EMPTY = new HitCounter();
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private HitCounter() {
+        }
+
+        private void record(final boolean hit) {
+            (hit ? this.hits : this.misses).increment();
+        }
+
+        /**
+         * Gets the amount of lookups which hit.
+         *
+         * @return The amount of hits.
+         */
+        public long getHits() {
+            return this.hits.sum();
+        }
+
+        /**
+         * Gets the amount of lookups which missed.
+         *
+         * @return The amount of misses.
+         */
+        public long getMisses() {
+            return this.misses.sum();
+        }
+
+        /**
+         * Gets the amount of lookups.
+         *
+         * @return The amount of hits and misses.
+         */
+        public long getCount() {
+            return this.getHits() + this.getMisses();
+        }
+
+        /**
+         * Gets the proportion of lookups which hit.
+         *
+         * @return The hit ratio, between {@code 0} and {@code 1}, or {@code 0} if
+         *         there were no lookups.
+         */
+        public double getHitRatio() {
+            final long hits = this.getHits();
+            final long count = hits + this.getMisses();
+            return count == 0 ? 0 : (double) hits / count;
+        }
+
+        @Override
+        public String toString() {
+            return "HitCounter{hits=" + this.getHits() + ", misses=" + this.getMisses() + "}";
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.harleyoconnor.serdes.metrics;
+
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.database.StatementCache;
+
+/**
+ * Receives measurements of the work done by a {@link Database} and the
+ * {@link SerDes}s reading from and writing to it, such as how long each statement
+ * took and how often {@code object}s were already loaded.
+ *
+ * <p>Implementations are called on the thread doing the work, from many threads at
+ * once, so must be thread-safe and should return quickly. They may forward
+ * measurements to a metrics library, such as Micrometer, or hold them in memory
+ * like {@link InMemoryMetrics}. A {@link Database} uses {@link #noOp()} unless
+ * {@link Database#setMetrics(Metrics) set} otherwise.</p>
+ *
+ * <p>Times are given in nanoseconds, as measured by {@link System#nanoTime()}.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see InMemoryMetrics
+ */
+public interface Metrics {
+
+    /**
+     * Records that a statement was executed on the specified {@code table}.
+     *
+     * @param table The {@code table} the statement was executed on, or an empty
+     *              {@link String} if it isn't known.
+     * @param operation The {@link StatementCache.Operation#name() name} of the
+     *                  {@link StatementCache.Operation} executed, or
+     *                  {@code EXECUTE} for uncached statements.
+     * @param nanos The time taken to execute the statement, including reading its
+     *              rows where they are all read at once.
+     */
+    void recordStatement(String table, String operation, long nanos);
+
+    /**
+     * Records that a prepared statement was borrowed from a {@link StatementCache}.
+     *
+     * @param table The {@code table} of the statement.
+     * @param hit {@code true} if the statement was already prepared; {@code false}
+     *            if it had to be prepared.
+     */
+    void recordStatementCacheLookup(String table, boolean hit);
+
+    /**
+     * Records that a {@link java.sql.Connection} was leased from a
+     * {@link com.harleyoconnor.serdes.database.ConnectionPool}.
+     *
+     * @param nanos The time spent waiting for the {@link java.sql.Connection}.
+     */
+    void recordConnectionWait(long nanos);
+
+    /**
+     * Records that an {@code object} was deserialised from a row of the specified
+     * {@code table}.
+     *
+     * @param table The {@code table} of the {@link SerDes}.
+     * @param nanos The time taken to deserialise the {@code object}, including any
+     *              {@code object}s it references which had to be deserialised.
+     */
+    void recordDeserialisation(String table, long nanos);
+
+    /**
+     * Records that {@code object}s were serialised to the specified
+     * {@code table}.
+     *
+     * @param table The {@code table} of the {@link SerDes}.
+     * @param objects The amount of {@code object}s serialised.
+     * @param nanos The time taken to serialise the {@code object}s.
+     */
+    void recordSerialisation(String table, int objects, long nanos);
+
+    /**
+     * Records that an {@code object} was looked up by its {@code primary key}
+     * among those already loaded, before selecting it.
+     *
+     * @param table The {@code table} of the {@link SerDes}.
+     * @param hit {@code true} if the {@code object} was already loaded;
+     *            {@code false} if it had to be selected.
+     */
+    void recordIdentityMapLookup(String table, boolean hit);
+
+    /**
+     * Records that a {@link com.harleyoconnor.serdes.field.ForeignField}'s value was
+     * resolved to the {@code object} it references. Many resolutions which are not
+     * {@code loaded} for the same {@code table} point to an N+1 select, which
+     * preloading or join-fetching would avoid.
+     *
+     * @param table The {@code table} of the referenced {@code object}.
+     * @param loaded {@code true} if the referenced {@code object} was already
+     *               loaded; {@code false} if it had to be selected.
+     */
+    void recordForeignKeyResolution(String table, boolean loaded);
+
+    /**
+     * Gets the {@link Metrics} which discards all measurements.
+     *
+     * @return The no-op {@link Metrics}.
+     */
+    static Metrics noOp() {
+        return NoOpMetrics.INSTANCE;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.harleyoconnor.serdes.metrics;
+
+/**
+ * {@link Metrics} which discards all measurements, used by default.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see Metrics#noOp()
+ */
+final class NoOpMetrics implements Metrics {
+
+    static final NoOpMetrics INSTANCE = new NoOpMetrics();
+
+    private NoOpMetrics() {
+    }
+
+    @Override
+    public void recordStatement(final String table, final String operation, final long nanos) {
+    }
+
+    @Override
+    public void recordStatementCacheLookup(final String table, final boolean hit) {
+    }
+
+    @Override
+    public void recordConnectionWait(final long nanos) {
+    }
+
+    @Override
+    public void recordDeserialisation(final String table, final long nanos) {
+    }
+
+    @Override
+    public void recordSerialisation(final String table, final int objects, final long nanos) {
+    }
+
+    @Override
+    public void recordIdentityMapLookup(final String table, final boolean hit) {
+    }
+
+    @Override
+    public void recordForeignKeyResolution(final String table, final boolean loaded) {
+    }
+
+}
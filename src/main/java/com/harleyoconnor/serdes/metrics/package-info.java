@@ -0,0 +1,9 @@
+/**
+ * @author Harley O'Connor
+ */
+@ParametersAreNonnullByDefault @MethodsReturnNonnullByDefault
+package com.harleyoconnor.serdes.metrics;
+
+import com.harleyoconnor.javautilities.annotation.MethodsReturnNonnullByDefault;
+
+import javax.annotation.ParametersAreNonnullByDefault;
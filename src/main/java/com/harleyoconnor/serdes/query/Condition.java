@@ -0,0 +1,66 @@
+package com.harleyoconnor.serdes.query;
+
+import com.harleyoconnor.serdes.SerDesable;
+
+import java.util.List;
+
+/**
+ * A condition on the rows of the {@code table} of {@link SerDesable}s of type
+ * {@link T}, which is written into the {@code where} clause of a {@link Query},
+ * with a {@code ?} placeholder for each of its values.
+ *
+ * <p>Conditions are created by the factory methods in {@link Conditions}, and
+ * combined with {@link #and(Condition)}, {@link #or(Condition)} and
+ * {@link #not()}.</p>
+ *
+ * @param <T> The type of {@link SerDesable} the condition applies to.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see Conditions
+ */
+@FunctionalInterface
+public interface Condition<T extends SerDesable<T, ?>> {
+
+    /**
+     * Appends the SQL of this condition to the specified {@code sql}, adding the
+     * value of each {@code ?} placeholder appended to the specified
+     * {@code arguments}, in order.
+     *
+     * @param sql The {@link StringBuilder} of the SQL being written.
+     * @param arguments The values of the placeholders written so far.
+     */
+    void appendTo(StringBuilder sql, List<Object> arguments);
+
+    /**
+     * Creates a {@link Condition} which holds where both this and the specified
+     * {@link Condition} hold.
+     *
+     * @param other The other {@link Condition}.
+     * @return The combined {@link Condition}.
+     */
+    default Condition<T> and(final Condition<T> other) {
+        return Conditions.and(List.of(this, other));
+    }
+
+    /**
+     * Creates a {@link Condition} which holds where either this or the specified
+     * {@link Condition} holds.
+     *
+     * @param other The other {@link Condition}.
+     * @return The combined {@link Condition}.
+     */
+    default Condition<T> or(final Condition<T> other) {
+        return Conditions.or(List.of(this, other));
+    }
+
+    /**
+     * Creates a {@link Condition} which holds where this doesn't.
+     *
+     * @return The negated {@link Condition}.
+     */
+    default Condition<T> not() {
+        return Conditions.not(this);
+    }
+
+}
@@ -0,0 +1,280 @@
+package com.harleyoconnor.serdes.query;
+
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.field.Field;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Factory methods for {@link Condition}s comparing the columns of {@link Field}s.
+ * Values are always bound as parameters, so a {@link Query} with the same shape
+ * but different values reuses the same prepared statement.
+ *
+ * <p>{@link Field}s of a {@link com.harleyoconnor.serdes.field.ForeignField} are
+ * compared by the value of the {@link Field} they reference, such as its
+ * {@code primary key}.</p>
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ * @see Condition
+ */
+public final class Conditions {
+
+    /**
+     * The largest power of two an {@code in} list is padded to, beyond which it is
+     * padded to a multiple of it instead.
+     */
+    static final int IN_LIST_PADDING = 1024;
+
+    private Conditions() {
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * equal to the specified {@code value}, or where it is {@code null} if the
+     * {@code value} is {@code null}.
+     *
+     * @param field The {@link Field} to compare.
+     * @param value The value to compare to.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>, V> Condition<T> eq(final Field<T, V> field, @Nullable final V value) {
+        return value == null ? isNull(field) : compare(field, " = ", value);
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * not equal to the specified {@code value}, or where it is not {@code null} if
+     * the {@code value} is {@code null}.
+     *
+     * @param field The {@link Field} to compare.
+     * @param value The value to compare to.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>, V> Condition<T> ne(final Field<T, V> field, @Nullable final V value) {
+        return value == null ? isNotNull(field) : compare(field, " <> ", value);
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * less than the specified {@code value}.
+     *
+     * @param field The {@link Field} to compare.
+     * @param value The value to compare to.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>, V> Condition<T> lt(final Field<T, V> field, final V value) {
+        return compare(field, " < ", value);
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * less than or equal to the specified {@code value}.
+     *
+     * @param field The {@link Field} to compare.
+     * @param value The value to compare to.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>, V> Condition<T> le(final Field<T, V> field, final V value) {
+        return compare(field, " <= ", value);
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * greater than the specified {@code value}.
+     *
+     * @param field The {@link Field} to compare.
+     * @param value The value to compare to.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>, V> Condition<T> gt(final Field<T, V> field, final V value) {
+        return compare(field, " > ", value);
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * greater than or equal to the specified {@code value}.
+     *
+     * @param field The {@link Field} to compare.
+     * @param value The value to compare to.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>, V> Condition<T> ge(final Field<T, V> field, final V value) {
+        return compare(field, " >= ", value);
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field}
+     * matches the specified SQL {@code like} {@code pattern}.
+     *
+     * @param field The {@link Field} to compare.
+     * @param pattern The pattern, in which {@code %} matches any characters and
+     *                {@code _} matches any single character.
+     * @param <T> The type of {@link SerDesable}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>> Condition<T> like(final Field<T, String> field, final String pattern) {
+        return compare(field, " like ", pattern);
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * equal to any of the specified {@code values}. If there are no
+     * {@code values}, it never holds.
+     *
+     * <p>Each value is bound as its own parameter, and the list is padded to a
+     * power of two by repeating its last value (or to a multiple of
+     * {@value #IN_LIST_PADDING} beyond it), so only a few distinct statements are
+     * prepared and cached for lists of varying sizes. The amount of values after
+     * padding is limited by the
+     * {@link com.harleyoconnor.serdes.database.Dialect#getParameterLimit()
+     * parameter limit} of the database.</p>
+     *
+     * @param field The {@link Field} to compare.
+     * @param values The values to compare to.
+     * @param <T> The type of {@link SerDesable}.
+     * @param <V> The type of the {@link Field}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>, V> Condition<T> in(final Field<T, V> field, final Collection<? extends V> values) {
+        final List<V> copiedValues = new ArrayList<>(List.copyOf(values));
+        final int size = paddedSize(copiedValues.size());
+
+        // Repeating a value doesn't change which rows are in the list.
+        while (copiedValues.size() < size) {
+            copiedValues.add(copiedValues.get(copiedValues.size() - 1));
+        }
+
+        return (sql, arguments) -> {
+            if (copiedValues.isEmpty()) {
+                sql.append("1 = 0");
+                return;
+            }
+
+            sql.append(field.getName()).append(" in (");
+            for (int i = 0; i < copiedValues.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(')');
+            arguments.addAll(copiedValues);
+        };
+    }
+
+    /**
+     * Gets the size the {@code in} list of the specified size is padded to: the
+     * next power of two up to {@link #IN_LIST_PADDING}, and the next multiple of it
+     * beyond.
+     */
+    private static int paddedSize(final int size) {
+        if (size <= 1)
+            return size;
+        if (size <= IN_LIST_PADDING)
+            return Integer.highestOneBit(size - 1) << 1;
+        return (size + IN_LIST_PADDING - 1) / IN_LIST_PADDING * IN_LIST_PADDING;
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is
+     * {@code null}.
+     *
+     * @param field The {@link Field} to check.
+     * @param <T> The type of {@link SerDesable}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>> Condition<T> isNull(final Field<T, ?> field) {
+        return (sql, arguments) -> sql.append(field.getName()).append(" is null");
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@link Field} is not
+     * {@code null}.
+     *
+     * @param field The {@link Field} to check.
+     * @param <T> The type of {@link SerDesable}.
+     * @return The {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>> Condition<T> isNotNull(final Field<T, ?> field) {
+        return (sql, arguments) -> sql.append(field.getName()).append(" is not null");
+    }
+
+    /**
+     * Creates a {@link Condition} holding where all the specified
+     * {@code conditions} hold. If there are none, it always holds.
+     *
+     * @param conditions The {@link Condition}s to combine.
+     * @param <T> The type of {@link SerDesable}.
+     * @return The combined {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>> Condition<T> and(final List<Condition<T>> conditions) {
+        return combine(conditions, " and ", "1 = 1");
+    }
+
+    /**
+     * Creates a {@link Condition} holding where any of the specified
+     * {@code conditions} hold. If there are none, it never holds.
+     *
+     * @param conditions The {@link Condition}s to combine.
+     * @param <T> The type of {@link SerDesable}.
+     * @return The combined {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>> Condition<T> or(final List<Condition<T>> conditions) {
+        return combine(conditions, " or ", "1 = 0");
+    }
+
+    /**
+     * Creates a {@link Condition} holding where the specified {@code condition}
+     * doesn't.
+     *
+     * @param condition The {@link Condition} to negate.
+     * @param <T> The type of {@link SerDesable}.
+     * @return The negated {@link Condition}.
+     */
+    public static <T extends SerDesable<T, ?>> Condition<T> not(final Condition<T> condition) {
+        return (sql, arguments) -> {
+            sql.append("not (");
+            condition.appendTo(sql, arguments);
+            sql.append(')');
+        };
+    }
+
+    private static <T extends SerDesable<T, ?>> Condition<T> compare(final Field<T, ?> field, final String operator, final Object value) {
+        return (sql, arguments) -> {
+            sql.append(field.getName()).append(operator).append('?');
+            arguments.add(value);
+        };
+    }
+
+    private static <T extends SerDesable<T, ?>> Condition<T> combine(final List<Condition<T>> conditions, final String operator, final String empty) {
+        final List<Condition<T>> copiedConditions = List.copyOf(conditions);
+
+        return (sql, arguments) -> {
+            if (copiedConditions.isEmpty()) {
+                sql.append(empty);
+                return;
+            }
+
+            // Each condition is parenthesised, so precedence never depends on how they were nested.
+            for (int i = 0; i < copiedConditions.size(); i++) {
+                sql.append(i == 0 ? "(" : operator + "(");
+                copiedConditions.get(i).appendTo(sql, arguments);
+                sql.append(')');
+            }
+        };
+    }
+
+}
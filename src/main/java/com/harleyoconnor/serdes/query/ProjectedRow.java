@@ -0,0 +1,108 @@
+package com.harleyoconnor.serdes.query;
+
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.field.Field;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The values of the {@link Field}s selected by a {@link Projection} from a single
+ * row, read straight from its columns without deserialising an {@code object} of
+ * type {@link T}.
+ *
+ * <p>The value of a {@link com.harleyoconnor.serdes.field.ForeignField} is the
+ * value of its column, such as the {@code primary key} it references, rather than
+ * the referenced {@code object}.</p>
+ *
+ * @param <T> The type of {@link SerDesable} the {@link Field}s belong to.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class ProjectedRow<T extends SerDesable<T, ?>> {
+
+    private final List<Field<T, ?>> fields;
+    private final Object[] values;
+
+    ProjectedRow(final List<Field<T, ?>> fields, final Object[] values) {
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Gets the value of the specified {@link Field} in this row.
+     *
+     * @param field The {@link Field} to get the value of.
+     * @param <V> The type of the {@link Field}.
+     * @return The value, or {@code null} if the column was {@code null}.
+     * @throws IllegalArgumentException If the {@link Field} wasn't selected.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <V> V get(final Field<T, V> field) {
+        final int index = this.fields.indexOf(field);
+
+        if (index < 0)
+            throw new IllegalArgumentException("Field '" + field.getName() + "' was not selected.");
+        return (V) this.values[index];
+    }
+
+    /**
+     * Gets the value of the {@link Field} at the specified {@code index} of the
+     * selected {@link Field}s.
+     *
+     * @param index The index of the {@link Field}, starting at {@code 0}.
+     * @return The value, or {@code null} if the column was {@code null}.
+     * @throws IndexOutOfBoundsException If the {@code index} is out of range.
+     */
+    @Nullable
+    public Object get(final int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Gets the selected {@link Field}s, in the order of their values.
+     *
+     * @return An immutable {@link List} of the selected {@link Field}s.
+     */
+    public List<Field<T, ?>> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Copies the values of this row into a new array, in the order of the
+     * selected {@link Field}s.
+     *
+     * @return The values of this row.
+     */
+    public Object[] toArray() {
+        return this.values.clone();
+    }
+
+    /**
+     * Creates a {@link Map} of the name of each selected {@link Field} to its
+     * value, in the order of the selected {@link Field}s.
+     *
+     * @return An unmodifiable {@link Map} of the values of this row.
+     */
+    public Map<String, Object> toMap() {
+        final Map<String, Object> values = new LinkedHashMap<>(this.values.length * 2);
+
+        for (int i = 0; i < this.values.length; i++) {
+            values.put(this.fields.get(i).getName(), this.values[i]);
+        }
+
+        return Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectedRow" + Arrays.toString(this.values);
+    }
+
+}
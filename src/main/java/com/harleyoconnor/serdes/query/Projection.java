@@ -0,0 +1,223 @@
+package com.harleyoconnor.serdes.query;
+
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.database.DefaultDatabase;
+import com.harleyoconnor.serdes.database.Dialect;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.util.ResultSetConversions;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A {@link Query} which selects only the columns of some of the {@link Field}s of
+ * the {@link SerDesable}s of type {@link T}, reading each row into a
+ * {@link ProjectedRow} and mapping it to a view of type {@link R}, such as a
+ * lightweight record.
+ *
+ * <p>Only the selected columns are written into the {@code select}, so columns
+ * that aren't needed, such as large {@code text} columns a list view never shows,
+ * are neither transferred nor decoded. Rows are never deserialised into
+ * {@code object}s of type {@link T}, so projections don't touch the loaded
+ * {@code object}s, nor resolve {@link com.harleyoconnor.serdes.field.ForeignField}s.</p>
+ *
+ * <p>Projections are immutable, and are created by {@link Query#select(List)}.</p>
+ *
+ * @param <T> The type of {@link SerDesable} being selected from.
+ * @param <PK> The type of the {@code primary key}.
+ * @param <R> The type each row is mapped to.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class Projection<T extends SerDesable<T, PK>, PK, R> {
+
+    private final Query<T, PK> query;
+    private final List<Field<T, ?>> fields;
+    /** The {@link ResultSetConversions.IndexedConverter} reading the column of each {@link Field} in order, or {@code null} if there isn't one. */
+    private volatile ResultSetConversions.IndexedConverter<?>[] converters;
+    /** The {@link ResultSetConversions.ConverterRegistry#getVersion() version} of the registry the converters were looked up from. */
+    private volatile int converterVersion;
+    private final Function<ProjectedRow<T>, R> mapper;
+
+    private Projection(final Query<T, PK> query, final List<Field<T, ?>> fields, final Function<ProjectedRow<T>, R> mapper) {
+        this.query = query;
+        this.fields = fields;
+        this.mapper = mapper;
+        this.resolveConverters();
+    }
+
+    /**
+     * Creates a {@link Projection} of the specified {@link Field}s from the rows
+     * selected by the specified {@link Query}.
+     *
+     * @param query The {@link Query} selecting the rows.
+     * @param fields The {@link Field}s to select.
+     * @param <T> The type of {@link SerDesable} being selected from.
+     * @param <PK> The type of the {@code primary key}.
+     * @return The {@link Projection}.
+     * @throws IllegalArgumentException If no {@link Field}s were specified.
+     */
+    static <T extends SerDesable<T, PK>, PK> Projection<T, PK, ProjectedRow<T>> of(final Query<T, PK> query, final List<Field<T, ?>> fields) {
+        if (fields.isEmpty())
+            throw new IllegalArgumentException("A projection must select at least one field.");
+
+        return new Projection<>(query, List.copyOf(fields), Function.identity());
+    }
+
+    /**
+     * Looks up the converter for each {@link Field}, recording the version of the
+     * registry they were looked up from.
+     */
+    private ResultSetConversions.IndexedConverter<?>[] resolveConverters() {
+        final int version = ResultSetConversions.CONVERTER_REGISTRY.getVersion();
+        final ResultSetConversions.IndexedConverter<?>[] converters = new ResultSetConversions.IndexedConverter<?>[this.fields.size()];
+
+        for (int i = 0; i < converters.length; i++) {
+            converters[i] = ResultSetConversions.CONVERTER_REGISTRY.getIndexed(this.fields.get(i).getType()).orElse(null);
+        }
+
+        this.converters = converters;
+        this.converterVersion = version;
+        return converters;
+    }
+
+    /**
+     * Creates a {@link Projection} selecting the same rows and columns as this
+     * {@link Projection}, whose rows are further mapped by the specified
+     * {@code mapper}, such as to the constructor of a record.
+     *
+     * @param mapper The {@link Function} mapping each row.
+     * @param <V> The type each row is mapped to.
+     * @return The new {@link Projection}.
+     */
+    public <V> Projection<T, PK, V> map(final Function<? super R, ? extends V> mapper) {
+        return new Projection<T, PK, V>(this.query, this.fields, this.mapper.andThen(mapper));
+    }
+
+    /**
+     * Gets the {@link Query} selecting the rows of this {@link Projection}.
+     *
+     * @return The {@link Query}.
+     */
+    public Query<T, PK> getQuery() {
+        return this.query;
+    }
+
+    /**
+     * Gets the selected {@link Field}s, in the order of their columns.
+     *
+     * @return An immutable {@link List} of the selected {@link Field}s.
+     */
+    public List<Field<T, ?>> getFields() {
+        return this.fields;
+    }
+
+    /**
+     * Gets the SQL {@code select} statement of this {@link Projection} in the
+     * specified {@link Dialect}, with a {@code ?} placeholder for each of the
+     * {@link Query#getArguments() arguments} of its {@link Query}.
+     *
+     * @param dialect The {@link Dialect} to write the statement in.
+     * @return The SQL {@code select} statement.
+     */
+    public String getSql(final Dialect dialect) {
+        return this.query.getSql(dialect, this.fields);
+    }
+
+    /**
+     * Reads the current row of the specified {@link ResultSet}, whose columns are
+     * those of the selected {@link Field}s in order, and maps it.
+     *
+     * @param resultSet The {@link ResultSet} to read from.
+     * @return The mapped row.
+     * @throws SQLException If a database access error occurs.
+     * @throws IllegalArgumentException If there was no registered conversion
+     *                                  function for the type of a {@link Field}.
+     */
+    public R read(final ResultSet resultSet) throws SQLException {
+        ResultSetConversions.IndexedConverter<?>[] converters = this.converters;
+
+        // Converters registered since they were looked up replace or fill in those bound.
+        if (this.converterVersion != ResultSetConversions.CONVERTER_REGISTRY.getVersion())
+            converters = this.resolveConverters();
+
+        final Object[] values = new Object[converters.length];
+
+        for (int i = 0; i < values.length; i++) {
+            final var converter = converters[i];
+
+            if (converter == null)
+                throw new IllegalArgumentException("Could not get value of type '" + this.fields.get(i).getType() + "'.");
+
+            final Object value = converter.apply(resultSet, i + 1);
+
+            // Primitive getters return a default, rather than null, for null columns.
+            values[i] = resultSet.wasNull() ? null : value;
+        }
+
+        return this.mapper.apply(new ProjectedRow<>(this.fields, values));
+    }
+
+    /**
+     * Streams the mapped rows selected by this {@link Projection} from the
+     * {@link DefaultDatabase}, reading each row only as it is consumed. The
+     * {@link Stream} should be closed if it may not be fully consumed.
+     *
+     * @return A lazily read {@link Stream} of the mapped rows.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#stream(Projection)
+     */
+    public Stream<R> stream() {
+        return this.stream(DefaultDatabase.get());
+    }
+
+    /**
+     * Streams the mapped rows selected by this {@link Projection} from the
+     * specified {@link Database}, reading each row only as it is consumed. The
+     * {@link Stream} should be closed if it may not be fully consumed.
+     *
+     * @param database The {@link Database} to select from.
+     * @return A lazily read {@link Stream} of the mapped rows.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#stream(Projection)
+     */
+    public Stream<R> stream(final Database database) {
+        return database.streamUnchecked(this);
+    }
+
+    /**
+     * Selects the mapped rows selected by this {@link Projection} from the
+     * {@link DefaultDatabase}.
+     *
+     * @return The mapped rows, in order.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#selectAll(Projection)
+     */
+    public List<R> list() {
+        return this.list(DefaultDatabase.get());
+    }
+
+    /**
+     * Selects the mapped rows selected by this {@link Projection} from the
+     * specified {@link Database}.
+     *
+     * @param database The {@link Database} to select from.
+     * @return The mapped rows, in order.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#selectAll(Projection)
+     */
+    public List<R> list(final Database database) {
+        return database.selectAllUnchecked(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Projection{" + "fields=" + this.fields.stream().map(Field::getName).toList() + ", query=" + this.query + '}';
+    }
+
+}
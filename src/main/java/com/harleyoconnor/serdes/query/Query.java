@@ -0,0 +1,446 @@
+package com.harleyoconnor.serdes.query;
+
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.database.DefaultDatabase;
+import com.harleyoconnor.serdes.database.Dialect;
+import com.harleyoconnor.serdes.field.Field;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@code select} of the {@link SerDesable}s of type {@link T} from the
+ * {@code table} of a {@link SerDes}, with its filtering, ordering and pagination
+ * written into the SQL, so that only the rows wanted are read from the database.
+ *
+ * <p>The SQL of a query depends only on its shape, with every value bound as a
+ * parameter, so running queries of the same shape reuses the same cached
+ * {@link java.sql.PreparedStatement}. Rows are
+ * {@link Database#stream(Query) streamed} through the {@link SerDes}, so are only
+ * deserialised as they are consumed.</p>
+ *
+ * <p>Besides {@link Builder#limit(int) limit} and
+ * {@link Builder#offset(long) offset} pagination, a query can continue from the
+ * last {@code object} of the previous page with {@link Builder#after(SerDesable)}.
+ * Unlike an offset, this keyset pagination doesn't read and discard the skipped
+ * rows, so each page costs the same however deep it is.</p>
+ *
+ * <p>Queries are immutable, and must be instantiated using {@link Builder}.</p>
+ *
+ * @param <T> The type of {@link SerDesable} being selected.
+ * @param <PK> The type of the {@code primary key}.
+ *
+ * @author Harley O'Connor
+ * @since 0.0.7
+ */
+public final class Query<T extends SerDesable<T, PK>, PK> {
+
+    private final SerDes<T, PK> serDes;
+    /** The {@code where} clause, including its leading space, or an empty {@link String} if there isn't one. */
+    private final String where;
+    /** The {@code order by} clause, including its leading space, or an empty {@link String} if there isn't one. */
+    private final String orderBy;
+    /** The values of the placeholders in the {@code where} clause, in order. */
+    private final List<Object> whereArguments;
+    private final int limit;
+    private final long offset;
+
+    private Query(final Builder<T, PK> builder) {
+        this.serDes = builder.serDes;
+
+        final List<Ordering<T>> orderings = new ArrayList<>(builder.orderings);
+        final List<Condition<T>> conditions = new ArrayList<>(2);
+
+        if (builder.condition != null)
+            conditions.add(builder.condition);
+
+        // Pages must be cut from a total order, which the primary key makes unique, or rows tying across the
+        // end of a page could be skipped or repeated by the next.
+        final boolean paged = builder.after != null || builder.limit >= 0 || builder.offset > 0;
+        if ((paged || !orderings.isEmpty()) &&
+                orderings.stream().noneMatch(ordering -> ordering.field.equals(this.serDes.getPrimaryField())))
+            orderings.add(new Ordering<>(this.serDes.getPrimaryField(), false));
+
+        if (builder.after != null)
+            conditions.add(after(orderings, builder.after));
+
+        final StringBuilder where = new StringBuilder();
+        final List<Object> whereArguments = new ArrayList<>();
+
+        if (!conditions.isEmpty()) {
+            where.append(" where ");
+            (conditions.size() == 1 ? conditions.get(0) : Conditions.and(conditions)).appendTo(where, whereArguments);
+        }
+
+        final StringBuilder orderBy = new StringBuilder();
+
+        for (int i = 0; i < orderings.size(); i++) {
+            orderBy.append(i == 0 ? " order by " : ", ").append(orderings.get(i).field.getName())
+                    .append(orderings.get(i).descending ? " desc" : " asc");
+        }
+
+        this.where = where.toString();
+        this.orderBy = orderBy.toString();
+        this.whereArguments = Collections.unmodifiableList(whereArguments);
+        this.limit = builder.limit;
+        this.offset = builder.offset;
+    }
+
+    /**
+     * Creates the keyset {@link Condition} selecting the rows after the specified
+     * {@code object} in the specified {@code orderings}, in the form
+     * {@code (a > ?) or (a = ? and b > ?) or ...}.
+     */
+    private static <T extends SerDesable<T, ?>> Condition<T> after(final List<Ordering<T>> orderings, final T object) {
+        final List<Condition<T>> alternatives = new ArrayList<>(orderings.size());
+
+        for (int i = 0; i < orderings.size(); i++) {
+            final List<Condition<T>> comparisons = new ArrayList<>(i + 1);
+
+            for (int j = 0; j < i; j++) {
+                comparisons.add(orderings.get(j).equalTo(object));
+            }
+
+            comparisons.add(orderings.get(i).after(object));
+            alternatives.add(comparisons.size() == 1 ? comparisons.get(0) : Conditions.and(comparisons));
+        }
+
+        return Conditions.or(alternatives);
+    }
+
+    /**
+     * Gets the {@link SerDes} whose {@code table} is selected from, and which the
+     * rows are deserialised with.
+     *
+     * @return The {@link SerDes}.
+     */
+    public SerDes<T, PK> getSerDes() {
+        return this.serDes;
+    }
+
+    /**
+     * Gets the SQL {@code select} statement of this query in the specified
+     * {@link Dialect}, with a {@code ?} placeholder for each of the
+     * {@link #getArguments() arguments}.
+     *
+     * @param dialect The {@link Dialect} to write the statement in.
+     * @return The SQL {@code select} statement.
+     */
+    public String getSql(final Dialect dialect) {
+        return this.getSql(dialect, "*");
+    }
+
+    /**
+     * Gets the SQL {@code select} statement of this query in the specified
+     * {@link Dialect}, selecting only the columns of the specified {@link Field}s,
+     * in order.
+     *
+     * @param dialect The {@link Dialect} to write the statement in.
+     * @param fields The {@link Field}s to select.
+     * @return The SQL {@code select} statement.
+     */
+    String getSql(final Dialect dialect, final List<Field<T, ?>> fields) {
+        return this.getSql(dialect, fields.stream().map(Field::getName).collect(Collectors.joining(", ")));
+    }
+
+    private String getSql(final Dialect dialect, final String columns) {
+        return "select " + columns + " from " + dialect.quote(this.serDes.getTable()) + this.where + this.orderBy +
+                dialect.getLimitClause(this.limit >= 0, this.offset > 0);
+    }
+
+    /**
+     * Gets the values of the placeholders in the {@link #getSql(Dialect) SQL} of
+     * this query, in order, including those of its limit and offset.
+     *
+     * @return The values of the placeholders.
+     */
+    public List<Object> getArguments() {
+        if (this.limit < 0 && this.offset <= 0)
+            return this.whereArguments;
+
+        final List<Object> arguments = new ArrayList<>(this.whereArguments.size() + 2);
+        arguments.addAll(this.whereArguments);
+
+        if (this.limit >= 0)
+            arguments.add(this.limit);
+        if (this.offset > 0)
+            arguments.add(this.offset);
+        return arguments;
+    }
+
+    /**
+     * Creates a {@link Projection} selecting only the columns of the specified
+     * {@link Field}s from the rows selected by this query, rather than
+     * deserialising whole {@code object}s.
+     *
+     * @param fields The {@link Field}s to select, in order.
+     * @return The {@link Projection}, reading each row into a
+     *         {@link ProjectedRow}.
+     * @throws IllegalArgumentException If no {@link Field}s were specified.
+     */
+    @SafeVarargs
+    public final Projection<T, PK, ProjectedRow<T>> select(final Field<T, ?>... fields) {
+        // Copied element by element, as passing on the varargs array itself could pollute the heap.
+        final List<Field<T, ?>> fieldList = new ArrayList<>(fields.length);
+        for (final Field<T, ?> field : fields) {
+            fieldList.add(field);
+        }
+        return this.select(fieldList);
+    }
+
+    /**
+     * Creates a {@link Projection} selecting only the columns of the specified
+     * {@link Field}s from the rows selected by this query, rather than
+     * deserialising whole {@code object}s.
+     *
+     * @param fields The {@link Field}s to select, in order.
+     * @return The {@link Projection}, reading each row into a
+     *         {@link ProjectedRow}.
+     * @throws IllegalArgumentException If no {@link Field}s were specified.
+     */
+    public Projection<T, PK, ProjectedRow<T>> select(final List<Field<T, ?>> fields) {
+        return Projection.of(this, fields);
+    }
+
+    /**
+     * Streams the {@code object}s selected by this query from the
+     * {@link DefaultDatabase}, deserialising each row only as it is consumed. The
+     * {@link Stream} should be closed if it may not be fully consumed.
+     *
+     * @return A lazily deserialised {@link Stream} of the selected {@code object}s.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#stream(Query)
+     */
+    public Stream<T> stream() {
+        return this.stream(DefaultDatabase.get());
+    }
+
+    /**
+     * Streams the {@code object}s selected by this query from the specified
+     * {@link Database}, deserialising each row only as it is consumed. The
+     * {@link Stream} should be closed if it may not be fully consumed.
+     *
+     * @param database The {@link Database} to select from.
+     * @return A lazily deserialised {@link Stream} of the selected {@code object}s.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#stream(Query)
+     */
+    public Stream<T> stream(final Database database) {
+        return database.streamUnchecked(this);
+    }
+
+    /**
+     * Selects the {@code object}s selected by this query from the
+     * {@link DefaultDatabase}.
+     *
+     * @return The selected {@code object}s, in order.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#selectAll(Query)
+     */
+    public List<T> list() {
+        return this.list(DefaultDatabase.get());
+    }
+
+    /**
+     * Selects the {@code object}s selected by this query from the specified
+     * {@link Database}.
+     *
+     * @param database The {@link Database} to select from.
+     * @return The selected {@code object}s, in order.
+     * @throws RuntimeException If a database access error occurs.
+     * @see Database#selectAll(Query)
+     */
+    public List<T> list(final Database database) {
+        return database.selectAllUnchecked(this);
+    }
+
+    @Override
+    public String toString() {
+        return "Query{" + "table='" + this.serDes.getTable() + "', where='" + this.where + "', orderBy='" + this.orderBy +
+                "', limit=" + this.limit + ", offset=" + this.offset + '}';
+    }
+
+    /**
+     * An ordering of the rows selected by a {@link Query} by the column of a
+     * {@link Field}.
+     *
+     * @param field The {@link Field} to order by.
+     * @param descending {@code true} to order from the greatest value.
+     * @param <T> The type of {@link SerDesable} being ordered.
+     */
+    private record Ordering<T extends SerDesable<T, ?>>(Field<T, ?> field, boolean descending) {
+
+        @SuppressWarnings("unchecked")
+        private Condition<T> equalTo(final T object) {
+            return Conditions.eq((Field<T, Object>) this.field, this.valueOf(object));
+        }
+
+        @SuppressWarnings("unchecked")
+        private Condition<T> after(final T object) {
+            final Field<T, Object> field = (Field<T, Object>) this.field;
+            return this.descending ? Conditions.lt(field, this.valueOf(object)) : Conditions.gt(field, this.valueOf(object));
+        }
+
+        private Object valueOf(final T object) {
+            final Object value = this.field.get(object);
+
+            // A null can't be compared to, so rows after it can't be found by their key.
+            if (value == null)
+                throw new IllegalArgumentException("Cannot select after object with null value for ordered field '" +
+                        this.field.getName() + "'.");
+            return value;
+        }
+    }
+
+    /**
+     * A {@code builder}, allowing for easy creation of a {@link Query}.
+     *
+     * <p>If the query is ordered or paginated, the {@code primary key} is added as
+     * the final ordering when it isn't already ordered by, so that the ordering is
+     * total and every page is cut from the same order.</p>
+     *
+     * @param <T> The type of {@link SerDesable} being selected.
+     * @param <PK> The type of the {@code primary key}.
+     */
+    public static final class Builder<T extends SerDesable<T, PK>, PK> {
+        private final SerDes<T, PK> serDes;
+        private final List<Ordering<T>> orderings = new ArrayList<>();
+
+        @Nullable
+        private Condition<T> condition;
+        @Nullable
+        private T after;
+        private int limit = -1;
+        private long offset;
+
+        /**
+         * Constructs a new {@link Builder} {@code object} for the specified
+         * {@link SerDes}.
+         *
+         * <p>For external construction, {@link #of(SerDes)} should be used.</p>
+         *
+         * @param serDes The {@link SerDes} to select with.
+         */
+        private Builder(final SerDes<T, PK> serDes) {
+            this.serDes = serDes;
+        }
+
+        /**
+         * Selects only the rows where the specified {@link Condition} holds. If a
+         * {@link Condition} has already been set, both must hold.
+         *
+         * @param condition The {@link Condition} to filter by.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> where(final Condition<T> condition) {
+            this.condition = this.condition == null ? condition : this.condition.and(condition);
+            return this;
+        }
+
+        /**
+         * Orders the selected rows by the specified {@link Field}, from the least
+         * value, after any orderings already added.
+         *
+         * @param field The {@link Field} to order by.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> orderBy(final Field<T, ?> field) {
+            this.orderings.add(new Ordering<>(field, false));
+            return this;
+        }
+
+        /**
+         * Orders the selected rows by the specified {@link Field}, from the greatest
+         * value, after any orderings already added.
+         *
+         * @param field The {@link Field} to order by.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> orderByDescending(final Field<T, ?> field) {
+            this.orderings.add(new Ordering<>(field, true));
+            return this;
+        }
+
+        /**
+         * Sets the maximum amount of rows selected. By default, all matching rows
+         * are selected.
+         *
+         * @param limit The maximum amount of rows.
+         * @return This {@link Builder} for chaining.
+         * @throws IllegalArgumentException If the {@code limit} is negative.
+         */
+        public Builder<T, PK> limit(final int limit) {
+            if (limit < 0)
+                throw new IllegalArgumentException("Limit must not be negative, was " + limit + ".");
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Sets the amount of matching rows skipped before those selected. The
+         * skipped rows are still read by the database, so for deep pages
+         * {@link #after(SerDesable)} should be preferred.
+         *
+         * @param offset The amount of rows to skip.
+         * @return This {@link Builder} for chaining.
+         * @throws IllegalArgumentException If the {@code offset} is negative.
+         */
+        public Builder<T, PK> offset(final long offset) {
+            if (offset < 0)
+                throw new IllegalArgumentException("Offset must not be negative, was " + offset + ".");
+            this.offset = offset;
+            return this;
+        }
+
+        /**
+         * Selects only the rows which come after the specified {@code object} in the
+         * ordering of this query, such as the last {@code object} of the previous
+         * page.
+         *
+         * <p>The values of the ordered {@link Field}s are read from the
+         * {@code object} when the query is {@link #build() built}, so they must not
+         * be {@code null}.</p>
+         *
+         * @param object The {@code object} of type {@link T} to select after.
+         * @return This {@link Builder} for chaining.
+         */
+        public Builder<T, PK> after(final T object) {
+            this.after = object;
+            return this;
+        }
+
+        /**
+         * Constructs a new {@link Query} from the data given to this
+         * {@link Builder}.
+         *
+         * @return The built {@link Query}.
+         * @throws IllegalArgumentException If an ordered {@link Field} of the
+         *                                  {@code object} to select
+         *                                  {@link #after(SerDesable) after} is
+         *                                  {@code null}.
+         */
+        public Query<T, PK> build() {
+            return new Query<>(this);
+        }
+
+        /**
+         * Constructs a new {@link Builder} {@code object} for the specified
+         * {@link SerDes}.
+         *
+         * @param serDes The {@link SerDes} to select with.
+         * @param <T> The type of {@link SerDesable} being selected.
+         * @param <PK> The type of the {@code primary key}.
+         * @return The new {@link Builder}.
+         */
+        public static <T extends SerDesable<T, PK>, PK> Builder<T, PK> of(final SerDes<T, PK> serDes) {
+            return new Builder<>(serDes);
+        }
+    }
+
+}
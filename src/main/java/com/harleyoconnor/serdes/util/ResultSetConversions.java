@@ -6,9 +6,11 @@ import com.harleyoconnor.serdes.exception.NoSuchColumnException;
 import javax.annotation.Nullable;
 import java.math.BigDecimal;
 import java.sql.*;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Handles converting columns from a {@link ResultSet} to a Java {@code object}.
@@ -17,12 +19,38 @@ import java.util.Optional;
  */
 public final class ResultSetConversions {
 
+    /**
+     * A conversion function which reads a column by its index, avoiding the
+     * driver resolving the column's name on every read.
+     *
+     * @param <T> The type the column is converted to.
+     * @since 0.0.7
+     */
+    @FunctionalInterface
+    public interface IndexedConverter<T> {
+        /**
+         * Reads the value of the specified {@code column} of the current row.
+         *
+         * @param resultSet The {@link ResultSet} to read from.
+         * @param column The index of the {@code column}, starting at {@code 1}.
+         * @return The value of the {@code column}.
+         * @throws SQLException If a database access error occurs.
+         */
+        @Nullable
+        T apply(ResultSet resultSet, int column) throws SQLException;
+    }
+
     /**
      * A registry for conversion functions, which handle converting a
      * {@link ResultSet} to a Java {@code object}.
      */
     public static final class ConverterRegistry {
-        private final Map<Class<?>, ThrowableBiFunction<ResultSet, String, ?, SQLException>> converters = new HashMap<>();
+        private final Map<Class<?>, ThrowableBiFunction<ResultSet, String, ?, SQLException>> converters = new ConcurrentHashMap<>();
+        private final Map<Class<?>, IndexedConverter<?>> indexedConverters = new ConcurrentHashMap<>();
+        /** The types whose converters are still those registered by this library. */
+        private final Set<Class<?>> builtInTypes = ConcurrentHashMap.newKeySet();
+        /** Incremented on each registration, so that converters looked up in advance can be looked up again. */
+        private final AtomicInteger version = new AtomicInteger();
 
         /**
          * Constructs a new {@link ConverterRegistry}. Has {@code private} access to
@@ -44,7 +72,40 @@ public final class ResultSetConversions {
          * @return This {@link ConverterRegistry} for chaining.
          */
         public <T> ConverterRegistry register(final Class<T> type, final ThrowableBiFunction<ResultSet, String, T, SQLException> converter) {
+            // Fall back to reading by the column's label, for converters that only read by name.
+            return this.register(type, converter, (resultSet, column) ->
+                    converter.apply(resultSet, resultSet.getMetaData().getColumnLabel(column)));
+        }
+
+        /**
+         * Registers a new conversion function, along with its equivalent that reads
+         * columns by index. If one for the specified type already exists, it is
+         * overridden.
+         *
+         * @param type The {@link Class} type to register the converter for.
+         * @param converter The converter, a {@link ThrowableBiFunction} which takes a
+         *                  {@link ResultSet} and a {@link String} and returns an
+         *                  {@code object} of type {@link T}. It is also able to throw
+         *                  an {@link SQLException}.
+         * @param indexedConverter The converter which reads a column by its index.
+         * @param <T> The type to register the converter for.
+         * @return This {@link ConverterRegistry} for chaining.
+         * @since 0.0.7
+         */
+        public <T> ConverterRegistry register(final Class<T> type, final ThrowableBiFunction<ResultSet, String, T, SQLException> converter,
+                                              final IndexedConverter<T> indexedConverter) {
             this.converters.put(type, converter);
+            this.indexedConverters.put(type, indexedConverter);
+            this.builtInTypes.remove(type);
+            this.version.incrementAndGet();
+            return this;
+        }
+
+        /**
+         * Marks the converters registered so far as built in.
+         */
+        private ConverterRegistry markBuiltIn() {
+            this.builtInTypes.addAll(this.indexedConverters.keySet());
             return this;
         }
 
@@ -59,25 +120,65 @@ public final class ResultSetConversions {
          */
         @SuppressWarnings("unchecked")
         public <T> Optional<ThrowableBiFunction<ResultSet, String, T, SQLException>> get(final Class<T> type) {
-            return this.converters.entrySet().stream()
-                    .filter(entrySet -> entrySet.getKey() == type)
-                    .map(Map.Entry::getValue)
-                    .findAny()
-                    .map(function -> ((ThrowableBiFunction<ResultSet, String, T, SQLException>) function));
+            return Optional.ofNullable((ThrowableBiFunction<ResultSet, String, T, SQLException>) this.converters.get(type));
+        }
+
+        /**
+         * Gets an {@link Optional} containing a converter which reads columns by
+         * index for the specified type, or {@link Optional#empty()} if one didn't
+         * exist.
+         *
+         * @param type The {@link Class} type to get the converter for.
+         * @param <T> The type the converter returns.
+         * @return The {@link Optional} containing the {@link IndexedConverter} for the
+         *         specified type; otherwise {@link Optional#empty()} if one didn't
+         *         exist.
+         * @since 0.0.7
+         */
+        @SuppressWarnings("unchecked")
+        public <T> Optional<IndexedConverter<T>> getIndexed(final Class<T> type) {
+            return Optional.ofNullable((IndexedConverter<T>) this.indexedConverters.get(type));
+        }
+
+        /**
+         * Checks if the converter for the specified type is the one registered by
+         * this library, which reads the column with the {@link ResultSet} getter for
+         * the type, so may be replaced by a direct call to that getter.
+         *
+         * @param type The {@link Class} type to check.
+         * @return {@code true} if the converter is built in; {@code false} if it has
+         *         been overridden or there isn't one.
+         * @since 0.0.7
+         */
+        public boolean isBuiltIn(final Class<?> type) {
+            return this.builtInTypes.contains(type);
+        }
+
+        /**
+         * Gets the version of this registry, which changes each time a converter is
+         * registered. Converters looked up in advance should be looked up again once
+         * it changes.
+         *
+         * @return The version of this registry.
+         * @since 0.0.7
+         */
+        public int getVersion() {
+            return this.version.get();
         }
     }
 
     public static final ConverterRegistry CONVERTER_REGISTRY = new ConverterRegistry()
-            .register(Boolean.class, ResultSet::getBoolean)
-            .register(String.class, ResultSet::getString)
-            .register(Integer.class, ResultSet::getInt)
-            .register(Double.class, ResultSet::getDouble)
-            .register(Float.class, ResultSet::getFloat)
-            .register(BigDecimal.class, ResultSet::getBigDecimal)
-            .register(Date.class, ResultSet::getDate)
-            .register(Time.class, ResultSet::getTime)
-            .register(Timestamp.class, ResultSet::getTimestamp)
-            .register(java.util.Date.class, ResultSet::getDate);
+            .register(Boolean.class, ResultSet::getBoolean, ResultSet::getBoolean)
+            .register(String.class, ResultSet::getString, ResultSet::getString)
+            .register(Integer.class, ResultSet::getInt, ResultSet::getInt)
+            .register(Double.class, ResultSet::getDouble, ResultSet::getDouble)
+            .register(Float.class, ResultSet::getFloat, ResultSet::getFloat)
+            .register(BigDecimal.class, ResultSet::getBigDecimal, ResultSet::getBigDecimal)
+            .register(Date.class, ResultSet::getDate, ResultSet::getDate)
+            .register(Time.class, ResultSet::getTime, ResultSet::getTime)
+            .register(Timestamp.class, ResultSet::getTimestamp, ResultSet::getTimestamp)
+            .register(java.util.Date.class, ResultSet::getDate, ResultSet::getDate)
+            .markBuiltIn();
 
     /**
      * Attempts to get the value of the specified {@code valueType} from the
@@ -0,0 +1,238 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.MutableField;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class AbstractSerDesTest {
+
+    public static final class Named implements SerDesable<Named, Integer> {
+        public static final PrimaryField<Named, Integer> ID_FIELD = new PrimaryField<>("id", Named.class, Integer.class, Named::getId);
+        public static final Field<Named, String> NAME_FIELD = new MutableField<>("name", Named.class, String.class, false, false,
+                Named::getName, Named::setName);
+
+        private final int id;
+        private String name;
+
+        public Named(final int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public SerDes<Named, Integer> getSerDes() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PrimaryField<Named, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    public static final class Labelled implements SerDesable<Labelled, Integer> {
+        public static final PrimaryField<Labelled, Integer> ID_FIELD = new PrimaryField<>("id", Labelled.class, Integer.class, Labelled::getId);
+        public static final SerDes<Labelled, Integer> SER_DES = ClassSerDes.Builder.of(Labelled.class, Integer.class, "labelled")
+                .primaryField(ID_FIELD)
+                .nullableField("label", String.class, Labelled::getLabel, Labelled::setLabel)
+                .build();
+
+        private final int id;
+        private String label;
+
+        public Labelled(final int id) {
+            this.id = id;
+        }
+
+        public Labelled(final int id, final String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public String getLabel() {
+            return this.label;
+        }
+
+        public void setLabel(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public SerDes<Labelled, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Labelled, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    public static final class Stamped implements SerDesable<Stamped, Integer> {
+        public static final PrimaryField<Stamped, Integer> ID_FIELD = new PrimaryField<>("id", Stamped.class, Integer.class, Stamped::getId);
+        public static final SerDes<Stamped, Integer> SER_DES = ClassSerDes.Builder.of(Stamped.class, Integer.class, "stamped")
+                .primaryField(ID_FIELD)
+                .field("stamp", Timestamp.class, Stamped::getStamp, Stamped::setStamp)
+                .build();
+
+        private final int id;
+        private Timestamp stamp;
+
+        public Stamped(final int id) {
+            this.id = id;
+        }
+
+        public Stamped(final int id, final Timestamp stamp) {
+            this.id = id;
+            this.stamp = stamp;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public Timestamp getStamp() {
+            return this.stamp;
+        }
+
+        public void setStamp(final Timestamp stamp) {
+            this.stamp = stamp;
+        }
+
+        @Override
+        public SerDes<Stamped, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Stamped, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    @Test
+    public void valuesChangedInPlaceAreWritten() throws SQLException {
+        try (final Database database = new Database(DriverManager.getConnection("jdbc:h2:mem:changed_in_place_test"))) {
+            database.executePreparedStatement("create table stamped (id int primary key, stamp timestamp)",
+                    Collections.emptyList());
+
+            final Stamped stamped = new Stamped(1, new Timestamp(1_000));
+            Stamped.SER_DES.serialise(database, stamped);
+
+            // The snapshot holds a copy, so sees the change as a single object is serialised.
+            stamped.getStamp().setTime(2_000);
+            Stamped.SER_DES.serialise(database, stamped);
+            assertStamp(database, 2_000);
+
+            // And as a batch.
+            stamped.getStamp().setTime(3_000);
+            Stamped.SER_DES.serialiseAll(database, List.of(stamped));
+            assertStamp(database, 3_000);
+        }
+    }
+
+    private static void assertStamp(final Database database, final long time) throws SQLException {
+        try (final ResultSet resultSet = database.select("stamped", "id", 1)) {
+            assertEquals(time, resultSet.getTimestamp("stamp").getTime());
+        }
+    }
+
+    @Test
+    public void nullsAreWrittenOnEveryPath() throws SQLException {
+        try (final Database database = new Database(DriverManager.getConnection("jdbc:h2:mem:abstract_ser_des_test"))) {
+            database.executePreparedStatement("create table labelled (id int primary key, label varchar(255))",
+                    Collections.emptyList());
+
+            // An object without a snapshot is upserted.
+            Labelled.SER_DES.serialise(database, new Labelled(1, "upserted"));
+            Labelled.SER_DES.serialise(database, new Labelled(1));
+            assertLabel(database, 1, null);
+
+            // A saved object only has its changed columns updated.
+            final Labelled labelled = new Labelled(2, "updated");
+            Labelled.SER_DES.serialise(database, labelled);
+            labelled.setLabel(null);
+            Labelled.SER_DES.serialise(database, labelled);
+            assertLabel(database, 2, null);
+
+            Labelled.SER_DES.serialiseAll(database, List.of(new Labelled(3, "batched")));
+            Labelled.SER_DES.serialiseAll(database, List.of(new Labelled(3)));
+            assertLabel(database, 3, null);
+        }
+    }
+
+    private static void assertLabel(final Database database, final int id, final String label) throws SQLException {
+        try (final ResultSet resultSet = database.select("labelled", "id", id)) {
+            assertEquals(label, resultSet.getString("label"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void legacyConstructorReadsOverriddenFields() throws SQLException {
+        final LinkedHashSet<Field<Named, ?>> immutableFields = new LinkedHashSet<>(List.of(Named.ID_FIELD));
+        final AbstractSerDes<Named, Integer> serDes = new AbstractSerDes<>(Named.class, "named", Named.ID_FIELD, immutableFields) {
+            @Override
+            public Set<Field<Named, ?>> getFields() {
+                return new LinkedHashSet<>(List.of(Named.ID_FIELD, Named.NAME_FIELD));
+            }
+        };
+
+        assertEquals(Set.of(Named.NAME_FIELD), serDes.getMutableFields());
+
+        try (final Database database = new Database(DriverManager.getConnection("jdbc:h2:mem:legacy_ser_des_test"))) {
+            database.executePreparedStatement("create table named (id int primary key, name varchar(255))",
+                    Collections.emptyList());
+
+            final Named named = new Named(1);
+            named.setName("legacy");
+            serDes.serialise(database, named);
+
+            try (final ResultSet resultSet = database.select("named", "id", 1)) {
+                assertEquals("legacy", resultSet.getString("name"));
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void legacyConstructorUsesImmutableFields() {
+        final LinkedHashSet<Field<Named, ?>> immutableFields = new LinkedHashSet<>(List.of(Named.ID_FIELD));
+        final AbstractSerDes<Named, Integer> serDes = new AbstractSerDes<>(Named.class, "named", Named.ID_FIELD, immutableFields) {
+        };
+
+        assertEquals(Set.of(Named.ID_FIELD), serDes.getFields());
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.ImmutableField;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import com.harleyoconnor.serdes.query.Projection;
+import com.harleyoconnor.serdes.query.Query;
+import com.harleyoconnor.serdes.util.ResultSetConversions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class ConverterRegistrationTest {
+
+    public record Tagged(int id, UUID tag) implements SerDesable<Tagged, Integer> {
+        public static final PrimaryField<Tagged, Integer> ID_FIELD = new PrimaryField<>("id", Tagged.class, Integer.class, Tagged::id);
+        public static final Field<Tagged, UUID> TAG_FIELD = new ImmutableField<>("tag", Tagged.class, UUID.class, false, true, Tagged::tag);
+        public static final SerDes<Tagged, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, Tagged.class, "tagged")
+                .primaryField(ID_FIELD)
+                .field(TAG_FIELD)
+                .build();
+
+        @Override
+        public SerDes<Tagged, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Tagged, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    public record CompiledTagged(int id, UUID tag) implements SerDesable<CompiledTagged, Integer> {
+        public static final PrimaryField<CompiledTagged, Integer> ID_FIELD = new PrimaryField<>("id", CompiledTagged.class, Integer.class, CompiledTagged::id);
+        public static final SerDes<CompiledTagged, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, CompiledTagged.class, "tagged")
+                .primaryField(ID_FIELD)
+                .field("tag", UUID.class, CompiledTagged::tag)
+                .compileRowMapper()
+                .build();
+
+        @Override
+        public SerDes<CompiledTagged, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<CompiledTagged, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private static final UUID TAG = UUID.randomUUID();
+
+    private static Database database;
+    private static Projection<Tagged, Integer, UUID> tags;
+
+    @BeforeAll
+    public static void setUp() throws SQLException {
+        database = new Database(DriverManager.getConnection("jdbc:h2:mem:converter_registration_test"));
+        database.executePreparedStatement("create table tagged (id int primary key, tag varchar(36))", Collections.emptyList());
+        database.executePreparedStatement("insert into tagged (id, tag) values (?, ?)", List.of(1, TAG.toString()));
+
+        // Both SerDes and the projection are built before the converter is registered.
+        Tagged.SER_DES.getTable();
+        CompiledTagged.SER_DES.getTable();
+        tags = Query.Builder.of(Tagged.SER_DES).build().select(Tagged.TAG_FIELD).map(row -> row.get(Tagged.TAG_FIELD));
+        ResultSetConversions.CONVERTER_REGISTRY.register(UUID.class,
+                (resultSet, column) -> toUUID(resultSet.getString(column)),
+                (resultSet, column) -> toUUID(resultSet.getString(column)));
+    }
+
+    @AfterAll
+    public static void tearDown() throws SQLException {
+        database.close();
+    }
+
+    @Test
+    public void readPlanUsesConvertersRegisteredAfterBuild() throws SQLException {
+        try (final ResultSet resultSet = database.select("tagged", "id", 1)) {
+            assertEquals(TAG, Tagged.SER_DES.deserialise(database, resultSet).tag());
+        }
+    }
+
+    @Test
+    public void rowMapperUsesConvertersRegisteredAfterBuild() throws SQLException {
+        try (final ResultSet resultSet = database.select("tagged", "id", 1)) {
+            assertEquals(TAG, CompiledTagged.SER_DES.deserialise(database, resultSet).tag());
+        }
+    }
+
+    @Test
+    public void projectionUsesConvertersRegisteredAfterBuild() {
+        assertEquals(List.of(TAG), tags.list(database));
+    }
+
+    private static UUID toUUID(final String value) {
+        return value == null ? null : UUID.fromString(value);
+    }
+
+}
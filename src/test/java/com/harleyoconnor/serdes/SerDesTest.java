@@ -0,0 +1,99 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.database.StatementCache;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import com.harleyoconnor.serdes.metrics.InMemoryMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class SerDesTest {
+
+    public record Item(int id, String name) implements SerDesable<Item, Integer> {
+        public static final PrimaryField<Item, Integer> ID_FIELD = new PrimaryField<>("id", Item.class, Integer.class, Item::id);
+        public static final SerDes<Item, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, Item.class, "item")
+                .primaryField(ID_FIELD)
+                .field("name", String.class, Item::name)
+                .build();
+
+        @Override
+        public SerDes<Item, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Item, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private static final String SELECT_IN = StatementCache.Operation.SELECT_IN.name();
+
+    private Database database;
+    private InMemoryMetrics metrics;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:ser_des_test"));
+        this.database.executePreparedStatement("create table item (id int primary key, name varchar(255) not null)",
+                Collections.emptyList());
+        this.database.executePreparedStatement("insert into item select x, 'item ' || x from system_range(1, 3000)",
+                Collections.emptyList());
+        this.metrics = new InMemoryMetrics();
+        this.database.setMetrics(this.metrics);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void deserialiseAllKeepsTheGivenOrder() {
+        final Item loaded = Item.SER_DES.deserialise(this.database, 3);
+        this.metrics.reset();
+
+        final Map<Integer, Item> items = Item.SER_DES.deserialiseAll(this.database, Arrays.asList(5, null, 3, 1, 5, 9999, 2));
+
+        // Null and repeated keys are ignored, and keys without a row left out.
+        assertEquals(List.of(5, 3, 1, 2), List.copyOf(items.keySet()));
+        items.forEach((id, item) -> assertEquals(id.intValue(), item.id()));
+        assertSame(loaded, items.get(3));
+
+        // The keys not already loaded are selected together.
+        assertEquals(1, this.metrics.getStatementTimer("item", SELECT_IN).getCount());
+        assertEquals(1, this.metrics.getIdentityMapLookups("item").getHits());
+    }
+
+    @Test
+    public void deserialiseAllSelectsInChunks() {
+        final List<Integer> descendingIds = IntStream.rangeClosed(1, 2500).map(id -> 3001 - id).boxed()
+                .collect(Collectors.toList());
+
+        final Map<Integer, Item> items = Item.SER_DES.deserialiseAll(this.database, descendingIds);
+
+        assertEquals(descendingIds, List.copyOf(items.keySet()));
+        assertEquals("item 501", items.get(501).name());
+
+        // The two full chunks share a statement, and the last is padded to the next power of two.
+        assertEquals(3, this.metrics.getStatementTimer("item", SELECT_IN).getCount());
+        assertEquals(1, this.metrics.getStatementCacheLookups("item").getHits());
+        assertEquals(2, this.metrics.getStatementCacheLookups("item").getMisses());
+    }
+
+}
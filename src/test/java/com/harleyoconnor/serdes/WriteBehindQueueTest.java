@@ -0,0 +1,159 @@
+package com.harleyoconnor.serdes;
+
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class WriteBehindQueueTest {
+
+    public static final class Revisioned implements SerDesable<Revisioned, Integer> {
+        public static final PrimaryField<Revisioned, Integer> ID_FIELD = new PrimaryField<>("id", Revisioned.class, Integer.class, Revisioned::getId);
+        public static final SerDes<Revisioned, Integer> SER_DES = ClassSerDes.Builder.of(Revisioned.class, Integer.class, "revisioned")
+                .primaryField(ID_FIELD)
+                .field("revision", Integer.class, Revisioned::getRevision, Revisioned::setRevision)
+                .build();
+
+        private final int id;
+        private Integer revision;
+
+        public Revisioned(final int id) {
+            this.id = id;
+        }
+
+        public Revisioned(final int id, final int revision) {
+            this.id = id;
+            this.revision = revision;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public Integer getRevision() {
+            return this.revision;
+        }
+
+        public void setRevision(final Integer revision) {
+            this.revision = revision;
+        }
+
+        @Override
+        public SerDes<Revisioned, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Revisioned, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:write_behind_queue_test"));
+        this.createTable();
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void objectsQueuedAgainAreCoalesced() throws InterruptedException, SQLException {
+        try (final var queue = this.queue(10, Duration.ofHours(1))) {
+            queue.serialise(new Revisioned(1, 1));
+            queue.serialise(new Revisioned(1, 2));
+            queue.serialise(new Revisioned(2, 1));
+
+            assertEquals(2, queue.size());
+            queue.flush();
+            assertEquals(0, queue.size());
+        }
+
+        this.assertRevision(1, 2);
+        this.assertRevision(2, 1);
+    }
+
+    @Test
+    public void laterVersionsAreNeverOverwritten() throws InterruptedException, SQLException {
+        final int revisions = 500;
+        final var queue = this.queue(1, Duration.ofMillis(1));
+        final var serialised = new AtomicBoolean();
+        final var flushing = new Thread(() -> {
+            while (!serialised.get()) {
+                queue.flush();
+            }
+        });
+
+        // The flusher and both threads' flushes race to write each version.
+        flushing.start();
+        for (int revision = 1; revision <= revisions; revision++) {
+            queue.serialise(new Revisioned(1, revision));
+            if (revision % 10 == 0)
+                queue.flush();
+        }
+        serialised.set(true);
+        flushing.join();
+        queue.close();
+
+        this.assertRevision(1, revisions);
+    }
+
+    @Test
+    public void closeKeepsObjectsWhoseWriteFailed() throws InterruptedException, SQLException {
+        this.database.executePreparedStatement("drop table revisioned", Collections.emptyList());
+
+        final var queue = this.queue(1, Duration.ofMillis(10));
+        queue.serialise(new Revisioned(1, 1));
+
+        // Let the flusher fail to write it, and back off before retrying.
+        Thread.sleep(100);
+
+        assertThrows(RuntimeException.class, queue::close);
+        assertEquals(1, queue.size());
+        assertThrows(IllegalStateException.class, () -> queue.serialise(new Revisioned(2, 1)));
+
+        this.createTable();
+        queue.flush();
+
+        assertEquals(0, queue.size());
+        this.assertRevision(1, 1);
+    }
+
+    private WriteBehindQueue<Revisioned, Integer> queue(final int batchSize, final Duration flushInterval) {
+        return WriteBehindQueue.Builder.of(Revisioned.SER_DES)
+                .database(this.database)
+                .batchSize(batchSize)
+                .flushInterval(flushInterval)
+                .build();
+    }
+
+    private void createTable() throws SQLException {
+        this.database.executePreparedStatement("create table revisioned (id int primary key, revision int)",
+                Collections.emptyList());
+    }
+
+    private void assertRevision(final int id, final int revision) throws SQLException {
+        try (final ResultSet resultSet = this.database.select("revisioned", "id", id)) {
+            assertEquals(revision, resultSet.getInt("revision"));
+        }
+    }
+
+}
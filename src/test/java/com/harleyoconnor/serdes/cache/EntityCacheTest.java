@@ -0,0 +1,199 @@
+package com.harleyoconnor.serdes.cache;
+
+import com.harleyoconnor.serdes.ClassSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class EntityCacheTest {
+
+    public static final class Country implements SerDesable<Country, Integer> {
+        public static final PrimaryField<Country, Integer> ID_FIELD = new PrimaryField<>("id", Country.class, Integer.class, Country::getId);
+        public static final SerDes<Country, Integer> SER_DES = ClassSerDes.Builder.of(Country.class, Integer.class, "country")
+                .primaryField(ID_FIELD)
+                .field("name", String.class, Country::getName, Country::setName)
+                .cache(EntityCache.Builder.of(Country.class, Integer.class).maximumSize(2))
+                .build();
+
+        private final int id;
+        private String name;
+
+        public Country(final int id) {
+            this.id = id;
+        }
+
+        public Country(final int id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public SerDes<Country, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Country, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    public static final class Rate implements SerDesable<Rate, Integer> {
+        public static final PrimaryField<Rate, Integer> ID_FIELD = new PrimaryField<>("id", Rate.class, Integer.class, Rate::getId);
+        public static final SerDes<Rate, Integer> SER_DES = ClassSerDes.Builder.of(Rate.class, Integer.class, "rate")
+                .primaryField(ID_FIELD)
+                .field("name", String.class, Rate::getName, Rate::setName)
+                .cache(EntityCache.Builder.of(Rate.class, Integer.class).expireAfterWrite(Duration.ofMillis(50)))
+                .build();
+
+        private final int id;
+        private String name;
+
+        public Rate(final int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public SerDes<Rate, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Rate, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private Database database;
+    private EntityCache<Country, Integer> cache;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:entity_cache_test"));
+        this.database.executePreparedStatement("create table country (id int primary key, name varchar(255))",
+                Collections.emptyList());
+        this.database.executePreparedStatement("create table rate (id int primary key, name varchar(255))",
+                Collections.emptyList());
+        this.database.executePreparedStatement("insert into country values (?, ?), (?, ?), (?, ?)",
+                List.of(1, "first", 2, "second", 3, "third"));
+        this.cache = Country.SER_DES.getCache().orElseThrow();
+        this.cache.invalidateAll();
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    private void rename(final String table, final int id, final String name) throws SQLException {
+        this.database.executePreparedStatement("update " + table + " set name = ? where id = ?", List.of(name, id));
+    }
+
+    @Test
+    public void cachedObjectsSkipTheDatabase() throws SQLException {
+        final Country country = Country.SER_DES.deserialise(this.database, 1);
+        this.rename("country", 1, "renamed");
+
+        final long hits = this.cache.getStats().hitCount();
+        assertSame(country, Country.SER_DES.deserialise(this.database, 1));
+        assertEquals("first", country.getName());
+        assertEquals(hits + 1, this.cache.getStats().hitCount());
+    }
+
+    @Test
+    public void invalidatedObjectsAreSelectedAgain() throws SQLException {
+        final Country country = Country.SER_DES.deserialise(this.database, 1);
+        this.rename("country", 1, "renamed");
+        this.cache.invalidate(1);
+
+        // It's also removed from the loaded objects, even though it's still held.
+        final Country selected = Country.SER_DES.deserialise(this.database, 1);
+        assertNotSame(country, selected);
+        assertEquals("renamed", selected.getName());
+    }
+
+    @Test
+    public void serialiseRefreshesTheCachedObject() {
+        final Country country = new Country(4, "fourth");
+        Country.SER_DES.serialise(this.database, country);
+        assertSame(country, this.cache.get(4).orElseThrow());
+
+        // A different object written for the same row replaces the cached one.
+        final Country replacement = new Country(4, "replaced");
+        Country.SER_DES.serialise(this.database, replacement);
+        assertSame(replacement, this.cache.get(4).orElseThrow());
+        assertSame(replacement, Country.SER_DES.deserialise(this.database, 4));
+        assertEquals("replaced", replacement.getName());
+    }
+
+    @Test
+    public void objectsEvictedBySizeStayLoaded() {
+        final long evictions = this.cache.getStats().evictionCount();
+        final Country first = Country.SER_DES.deserialise(this.database, 1);
+        Country.SER_DES.deserialise(this.database, 2);
+        Country.SER_DES.deserialise(this.database, 3);
+
+        assertEquals(2, this.cache.size());
+        assertEquals(evictions + 1, this.cache.getStats().evictionCount());
+        assertTrue(this.cache.get(1).isEmpty());
+
+        // The evicted object is still held, so is found loaded and cached again.
+        assertSame(first, Country.SER_DES.getLoaded(1).orElseThrow());
+        assertSame(first, this.cache.get(1).orElseThrow());
+    }
+
+    @Test
+    public void expiredObjectsAreSelectedAgain() throws SQLException, InterruptedException {
+        final Rate rate = new Rate(1);
+        rate.setName("original");
+        Rate.SER_DES.serialise(this.database, rate);
+        assertSame(rate, Rate.SER_DES.deserialise(this.database, 1));
+
+        this.rename("rate", 1, "refreshed");
+        Thread.sleep(100);
+
+        final Rate refreshed = Rate.SER_DES.deserialise(this.database, 1);
+        assertNotSame(rate, refreshed);
+        assertEquals("refreshed", refreshed.getName());
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.harleyoconnor.serdes.cache;
+
+import com.harleyoconnor.serdes.ClassSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.MutableField;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class IdentityMapTest {
+
+    public static final class Member implements SerDesable<Member, Integer> {
+        public static final PrimaryField<Member, Integer> ID_FIELD = new PrimaryField<>("id", Member.class, Integer.class, Member::getId);
+        public static final Field<Member, String> EMAIL_FIELD = new MutableField<>("email", Member.class, String.class, true, false,
+                Member::getEmail, Member::setEmail);
+        public static final SerDes<Member, Integer> SER_DES = ClassSerDes.Builder.of(Member.class, Integer.class, "member")
+                .primaryField(ID_FIELD)
+                .field(EMAIL_FIELD)
+                .build();
+
+        private final int id;
+        private String email;
+
+        public Member(final int id) {
+            this.id = id;
+        }
+
+        public Member(final int id, final String email) {
+            this.id = id;
+            this.email = email;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public String getEmail() {
+            return this.email;
+        }
+
+        public void setEmail(final String email) {
+            this.email = email;
+        }
+
+        @Override
+        public SerDes<Member, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Member, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:identity_map_test"));
+        this.database.executePreparedStatement("create table member (id int primary key, email varchar(255) not null unique)",
+                Collections.emptyList());
+        this.database.executePreparedStatement("insert into member values (?, ?), (?, ?)", List.of(1, "a", 2, "b"));
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void deserialisedObjectsAreFoundByPrimaryKeyAndUniqueField() {
+        final Member member = Member.SER_DES.deserialise(this.database, 1);
+
+        assertSame(member, Member.SER_DES.deserialise(this.database, 1));
+        assertSame(member, Member.SER_DES.getLoaded(1).orElseThrow());
+        assertSame(member, Member.SER_DES.getLoaded(Member.EMAIL_FIELD, "a").orElseThrow());
+        assertEquals(Optional.empty(), Member.SER_DES.getLoaded(Member.EMAIL_FIELD, "b"));
+    }
+
+    @Test
+    public void uniqueIndexFollowsChangedValues() {
+        final Member member = Member.SER_DES.deserialise(this.database, 2);
+        member.setEmail("c");
+
+        // The stale index entry no longer matches, even before the change is serialised.
+        assertEquals(Optional.empty(), Member.SER_DES.getLoaded(Member.EMAIL_FIELD, "b"));
+
+        Member.SER_DES.serialise(this.database, member);
+        assertSame(member, Member.SER_DES.getLoaded(Member.EMAIL_FIELD, "c").orElseThrow());
+        assertSame(member, Member.SER_DES.deserialise(this.database, 2));
+    }
+
+    @Test
+    public void replacedObjectsAreUnindexed() {
+        final IdentityMap<Member, Integer> map = new IdentityMap<>(Member.ID_FIELD, Member.SER_DES.getFields());
+        final Member first = new Member(1, "a");
+        final Member replacement = new Member(1, "b");
+
+        map.put(first);
+        map.put(replacement);
+
+        assertSame(replacement, map.get(1).orElseThrow());
+        assertEquals(Optional.empty(), map.get(Member.EMAIL_FIELD, "a"));
+        assertSame(replacement, map.get(Member.EMAIL_FIELD, "b").orElseThrow());
+        assertEquals(1, map.size());
+
+        map.remove(replacement);
+        assertEquals(Optional.empty(), map.get(Member.EMAIL_FIELD, "b"));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void unreferencedObjectsAreReclaimed() throws InterruptedException {
+        final IdentityMap<Member, Integer> map = new IdentityMap<>(Member.ID_FIELD, Member.SER_DES.getFields());
+        final Member held = new Member(1, "a");
+
+        map.put(held);
+        putUnreferenced(map);
+
+        for (int i = 0; i < 50 && map.size() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, map.size());
+        assertEquals(Optional.empty(), map.get(Member.EMAIL_FIELD, "b"));
+        assertSame(held, map.get(Member.EMAIL_FIELD, "a").orElseThrow());
+    }
+
+    private static void putUnreferenced(final IdentityMap<Member, Integer> map) {
+        map.put(new Member(2, "b"));
+    }
+
+}
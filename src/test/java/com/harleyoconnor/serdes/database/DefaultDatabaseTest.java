@@ -0,0 +1,61 @@
+package com.harleyoconnor.serdes.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class DefaultDatabaseTest {
+
+    private static final Supplier<Connection> CONNECTION_SUPPLIER = () -> {
+        try {
+            return DriverManager.getConnection("jdbc:h2:mem:default_database_test;DB_CLOSE_DELAY=-1");
+        } catch (final SQLException e) {
+            throw new RuntimeException(e);
+        }
+    };
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        DefaultDatabase.get().close();
+    }
+
+    @Test
+    public void supplierSetsASingleConnection() throws SQLException {
+        DefaultDatabase.set(CONNECTION_SUPPLIER);
+        final DefaultDatabase database = DefaultDatabase.get();
+
+        assertTrue(database.getPool().isEmpty());
+        assertSame(database.getConnection(), database.getConnection());
+        assertSame(database.getConnection(), database.lease().getConnection());
+        assertNotNull(database.getStatementCache());
+    }
+
+    @Test
+    public void poolIsOptIn() throws SQLException {
+        final ConnectionPool pool = ConnectionPool.Builder.of(CONNECTION_SUPPLIER).build();
+        DefaultDatabase.set(pool);
+        final DefaultDatabase database = DefaultDatabase.get();
+
+        assertSame(pool, database.getPool().orElseThrow());
+        assertThrows(UnsupportedOperationException.class, database::getConnection);
+
+        database.executePreparedStatement("create table defaulted (id int primary key)", Collections.emptyList());
+        database.executePreparedStatement("drop table defaulted", Collections.emptyList());
+        assertEquals(0, pool.getActiveConnections());
+
+        // Setting a supplier replaces the pool, which is closed.
+        DefaultDatabase.set(CONNECTION_SUPPLIER);
+        assertThrows(SQLException.class, pool::borrow);
+    }
+
+}
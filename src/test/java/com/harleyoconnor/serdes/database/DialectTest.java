@@ -0,0 +1,147 @@
+package com.harleyoconnor.serdes.database;
+
+import com.harleyoconnor.serdes.ClassSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class DialectTest {
+
+    public static final class Coded implements SerDesable<Coded, Integer> {
+        public static final PrimaryField<Coded, Integer> ID_FIELD = new PrimaryField<>("id", Coded.class, Integer.class, Coded::getId);
+        public static final SerDes<Coded, Integer> SER_DES = ClassSerDes.Builder.of(Coded.class, Integer.class, "coded")
+                .primaryField(ID_FIELD)
+                .uniqueField("code", String.class, Coded::getCode)
+                .field("label", String.class, Coded::getLabel, Coded::setLabel)
+                .build();
+
+        private final int id;
+        private final String code;
+        private String label;
+
+        public Coded(final int id, final String code) {
+            this.id = id;
+            this.code = code;
+        }
+
+        public Coded(final int id, final String code, final String label) {
+            this(id, code);
+            this.label = label;
+        }
+
+        public int getId() {
+            return this.id;
+        }
+
+        public String getCode() {
+            return this.code;
+        }
+
+        public String getLabel() {
+            return this.label;
+        }
+
+        public void setLabel(final String label) {
+            this.label = label;
+        }
+
+        @Override
+        public SerDes<Coded, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Coded, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:dialect_test"));
+        this.database.executePreparedStatement("create table upserted (id int primary key, mutable_value varchar(255), " +
+                "immutable_value varchar(255))", Collections.emptyList());
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void h2UpsertOnlyUpdatesRequestedColumns() throws SQLException {
+        assertEquals(Dialect.H2, this.database.getDialect());
+
+        this.database.upsert("upserted", "id", row(1, "first", "first"), Set.of("mutable_value"));
+        this.database.upsert("upserted", "id", row(1, "second", "second"), Set.of("mutable_value"));
+        this.assertRow(1, "second", "first");
+
+        // With nothing to update, an existing row is left as it is.
+        this.database.upsert("upserted", "id", row(1, "third", "third"), Collections.emptySet());
+        this.assertRow(1, "second", "first");
+
+        this.database.upsert("upserted", "id", row(2, "inserted", "inserted"), Collections.emptySet());
+        this.assertRow(2, "inserted", "inserted");
+    }
+
+    @Test
+    public void mysqlSerialiseDoesNotOverwriteRowsClashingOnUniqueFields() throws SQLException {
+        try (final Database database = new Database(DriverManager.getConnection(
+                "jdbc:h2:mem:mysql_dialect_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE"), Dialect.MYSQL)) {
+            database.executePreparedStatement("create table coded (id int primary key, code varchar(255) unique, " +
+                    "label varchar(255))", Collections.emptyList());
+
+            Coded.SER_DES.serialise(database, new Coded(1, "a", "first"));
+
+            // As with other dialects, a clash on the unique code fails rather than overwriting the first row.
+            assertThrows(RuntimeException.class, () -> Coded.SER_DES.serialise(database, new Coded(2, "a", "second")));
+            assertThrows(RuntimeException.class, () -> Coded.SER_DES.serialiseAll(database, List.of(new Coded(3, "a", "third"))));
+            assertLabel(database, 1, "first");
+
+            // An unsnapshotted object with the same primary key still updates its row.
+            Coded.SER_DES.serialise(database, new Coded(1, "a", "fourth"));
+            assertLabel(database, 1, "fourth");
+        }
+    }
+
+    private static void assertLabel(final Database database, final int id, final String label) throws SQLException {
+        try (final ResultSet resultSet = database.select("coded", "id", id)) {
+            assertEquals(label, resultSet.getString("label"));
+        }
+    }
+
+    private void assertRow(final int id, final String mutableValue, final String immutableValue) throws SQLException {
+        try (final ResultSet resultSet = this.database.select("upserted", "id", id)) {
+            assertEquals(mutableValue, resultSet.getString("mutable_value"));
+            assertEquals(immutableValue, resultSet.getString("immutable_value"));
+        }
+    }
+
+    private static LinkedHashMap<String, Object> row(final int id, final String mutableValue, final String immutableValue) {
+        final LinkedHashMap<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("mutable_value", mutableValue);
+        row.put("immutable_value", immutableValue);
+        return row;
+    }
+
+}
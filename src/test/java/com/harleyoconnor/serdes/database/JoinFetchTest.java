@@ -0,0 +1,131 @@
+package com.harleyoconnor.serdes.database;
+
+import com.harleyoconnor.serdes.RecordSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import com.harleyoconnor.serdes.metrics.InMemoryMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class JoinFetchTest {
+
+    public record Author(int id, String name) implements SerDesable<Author, Integer> {
+        public static final PrimaryField<Author, Integer> ID_FIELD = new PrimaryField<>("id", Author.class, Integer.class, Author::id);
+        public static final SerDes<Author, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, Author.class, "author")
+                .primaryField(ID_FIELD)
+                .field("name", String.class, Author::name)
+                .build();
+
+        @Override
+        public SerDes<Author, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Author, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    public record Book(int id, String shelf, Author author) implements SerDesable<Book, Integer> {
+        public static final PrimaryField<Book, Integer> ID_FIELD = new PrimaryField<>("id", Book.class, Integer.class, Book::id);
+        public static final SerDes<Book, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, Book.class, "book")
+                .primaryField(ID_FIELD)
+                .field("shelf", String.class, Book::shelf)
+                .nullableField("author", Author.ID_FIELD, Book::author)
+                .joinFetch("author")
+                .build();
+
+        @Override
+        public SerDes<Book, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Book, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:join_fetch_test"));
+        this.database.executePreparedStatement("create table author (id int primary key, name varchar(255) not null)",
+                Collections.emptyList());
+        this.database.executePreparedStatement("create table book (id int primary key, shelf varchar(255) not null, " +
+                "author int references author (id))", Collections.emptyList());
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void prefixedViewOnlySeesItsOwnColumns() throws SQLException {
+        try (final Statement statement = this.database.getConnection().createStatement();
+             final ResultSet resultSet = statement.executeQuery("select 1 as t0_id, 'a' as t0_name, 2 as t1_id")) {
+            final ResultSet view = PrefixedResultSet.of(resultSet, "t0_");
+            final ResultSetMetaData metaData = view.getMetaData();
+
+            assertTrue(view.next());
+            assertEquals(1, view.getInt("id"));
+            assertEquals("a", view.getString("name"));
+            assertEquals(1, view.findColumn("id"));
+
+            assertEquals("id", metaData.getColumnLabel(1).toLowerCase(Locale.ROOT));
+            assertEquals("name", metaData.getColumnLabel(2).toLowerCase(Locale.ROOT));
+            assertEquals("", metaData.getColumnLabel(3));
+
+            // The view is shared with the other tables' views, so closing it leaves the rows open.
+            view.close();
+            assertFalse(resultSet.isClosed());
+            assertEquals(2, PrefixedResultSet.of(resultSet, "t1_").getInt("id"));
+        }
+    }
+
+    @Test
+    public void referencedObjectsAreSelectedInTheSameQuery() throws SQLException {
+        this.database.executePreparedStatement("insert into author values (?, ?), (?, ?)", List.of(1, "Ann", 2, "Ben"));
+        this.database.executePreparedStatement("insert into book values (?, ?, ?), (?, ?, ?), (?, ?, null), (?, ?, ?)",
+                List.of(10, "a", 1, 11, "a", 1, 12, "a", 13, "b", 2));
+
+        final InMemoryMetrics metrics = new InMemoryMetrics();
+        this.database.setMetrics(metrics);
+
+        final List<Book> books = new ArrayList<>(this.database.selectAll(Book.SER_DES, "shelf", "a"));
+        books.sort((first, second) -> Integer.compare(first.id(), second.id()));
+
+        assertEquals(List.of(10, 11, 12), books.stream().map(Book::id).collect(Collectors.toList()));
+        assertEquals("Ann", books.get(0).author().name());
+        assertSame(books.get(0).author(), books.get(1).author());
+        assertNull(books.get(2).author());
+
+        // Only the join was executed, rather than a further select of the authors.
+        assertEquals(Set.of(StatementCache.Operation.JOIN.name()), metrics.getStatementTimers("book").keySet());
+        assertEquals(1, metrics.getStatementTimer("book", StatementCache.Operation.JOIN.name()).getCount());
+        assertEquals(Collections.emptyMap(), metrics.getStatementTimers("author"));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.harleyoconnor.serdes.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class MaxIdAllocatorTest {
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:max_id_allocator_test"));
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void missingTableIsTreatedAsEmpty() throws SQLException {
+        assertEquals(1, this.database.allocateId("missing", "id"));
+        assertEquals(2, this.database.allocateId("missing", "id"));
+    }
+
+    @Test
+    public void rowsInsertedElsewhereAreSkipped() throws SQLException {
+        this.createTable();
+        assertEquals(1, this.database.allocateId("allocated", "id"));
+
+        // As if inserted by another process.
+        this.insert(10);
+        assertEquals(11, this.database.allocateId("allocated", "id"));
+    }
+
+    @Test
+    public void readOnceCountsUpInMemory() throws SQLException {
+        this.createTable();
+        this.insert(5);
+
+        final var allocator = new MaxIdAllocator("allocated", "id", true);
+        assertEquals(6, allocator.allocate(this.database));
+
+        this.insert(10);
+        assertEquals(7, allocator.allocate(this.database));
+    }
+
+    private void createTable() throws SQLException {
+        this.database.executePreparedStatement("create table allocated (id int primary key)", Collections.emptyList());
+    }
+
+    private void insert(final int id) throws SQLException {
+        this.database.executePreparedStatement("insert into allocated (id) values (?)", List.of(id));
+    }
+
+}
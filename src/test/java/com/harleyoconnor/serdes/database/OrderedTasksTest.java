@@ -0,0 +1,66 @@
+package com.harleyoconnor.serdes.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class OrderedTasksTest {
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:ordered_tasks_test"));
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void singleConnectionRunsAllTablesInSubmissionOrder() {
+        final List<Integer> completed = new CopyOnWriteArrayList<>();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger mostRunning = new AtomicInteger();
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            final int task = i;
+            final String table = "table_" + (i % 3);
+            final Supplier<Void> operation = () -> {
+                mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.yield();
+                completed.add(task);
+                running.decrementAndGet();
+                return null;
+            };
+
+            // Reads and writes of different tables share the connection, so still run one at a time.
+            futures.add(i % 2 == 0 ? this.database.writeAsync(table, operation) :
+                    this.database.readAsync(table, operation));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(1, mostRunning.get());
+        assertEquals(IntStream.range(0, 100).boxed().collect(Collectors.toList()), completed);
+    }
+
+}
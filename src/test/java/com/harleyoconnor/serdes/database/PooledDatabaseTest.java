@@ -0,0 +1,66 @@
+package com.harleyoconnor.serdes.database;
+
+import com.harleyoconnor.serdes.exception.NoSuchRowException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class PooledDatabaseTest {
+
+    private PooledDatabase database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new PooledDatabase(ConnectionPool.Builder.of(() -> {
+            try {
+                return DriverManager.getConnection("jdbc:h2:mem:pooled_database_test;DB_CLOSE_DELAY=-1");
+            } catch (final SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }).build());
+        this.database.executePreparedStatement("create table pooled (id int primary key)", Collections.emptyList());
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.executePreparedStatement("drop table pooled", Collections.emptyList());
+        this.database.close();
+    }
+
+    @Test
+    public void getConnectionIsUnsupported() {
+        // Connections are only held by leases, so none is pinned to the calling thread.
+        assertThrows(UnsupportedOperationException.class, this.database::getConnection);
+        assertThrows(UnsupportedOperationException.class, this.database::getStatementCache);
+        assertEquals(0, this.database.getPool().getActiveConnections());
+    }
+
+    @Test
+    public void operationsShareTheHeldLease() throws SQLException {
+        try (final ConnectionLease lease = this.database.lease()) {
+            final Connection connection = lease.getConnection();
+
+            // Operations run on the held connection, so take part in its transaction.
+            connection.setAutoCommit(false);
+            this.database.insert("pooled", new LinkedHashMap<>(Map.of("id", 1)));
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+
+        assertEquals(0, this.database.getPool().getActiveConnections());
+        assertThrows(NoSuchRowException.class, () -> this.database.select("pooled", "id", 1));
+    }
+
+}
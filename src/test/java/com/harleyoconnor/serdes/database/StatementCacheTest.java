@@ -0,0 +1,136 @@
+package com.harleyoconnor.serdes.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class StatementCacheTest {
+
+    private static final StatementCache.Key FIRST = key("first");
+    private static final StatementCache.Key SECOND = key("second");
+    private static final StatementCache.Key THIRD = key("third");
+
+    private static StatementCache.Key key(final String column) {
+        return new StatementCache.Key("cached", StatementCache.Operation.SELECT, List.of(column), List.of());
+    }
+
+    private static String sql(final StatementCache.Key key) {
+        return "select " + key.columns().get(0) + " from cached";
+    }
+
+    private Connection connection;
+    private StatementCache cache;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:statement_cache_test");
+        try (final var statement = this.connection.createStatement()) {
+            statement.execute("create table cached (first int, second int, third int)");
+            statement.execute("insert into cached values (1, 2, 3)");
+        }
+        this.cache = new StatementCache(this.connection, 2);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.cache.close();
+        this.connection.close();
+    }
+
+    private PreparedStatement borrowAndRelease(final StatementCache.Key key) throws SQLException {
+        final PreparedStatement statement = this.cache.borrow(key, () -> sql(key));
+        this.cache.release(key, statement, null);
+        return statement;
+    }
+
+    @Test
+    public void releasedStatementsAreReused() throws SQLException {
+        final PreparedStatement statement = this.borrowAndRelease(FIRST);
+
+        assertSame(statement, this.cache.borrow(FIRST, () -> fail("Cached statement was prepared again.")));
+        this.cache.release(FIRST, statement, null);
+        assertEquals(1, this.cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+        final PreparedStatement first = this.borrowAndRelease(FIRST);
+        final PreparedStatement second = this.borrowAndRelease(SECOND);
+
+        // Borrowing the first again makes the second the least recently used.
+        assertSame(first, this.borrowAndRelease(FIRST));
+        this.borrowAndRelease(THIRD);
+
+        assertEquals(2, this.cache.size());
+        assertFalse(first.isClosed());
+        assertTrue(second.isClosed());
+        assertNotSame(second, this.borrowAndRelease(SECOND));
+    }
+
+    @Test
+    public void statementWithOpenResultSetIsNotShared() throws SQLException {
+        final PreparedStatement statement = this.cache.borrow(FIRST, () -> sql(FIRST));
+        final ResultSet resultSet = statement.executeQuery();
+        this.cache.release(FIRST, statement, resultSet);
+
+        // A nested user of the same key gets its own statement, closed once released.
+        final PreparedStatement nested = this.cache.borrow(FIRST, () -> sql(FIRST));
+        assertNotSame(statement, nested);
+        this.cache.release(FIRST, nested, null);
+        assertTrue(nested.isClosed());
+
+        assertTrue(resultSet.next());
+        assertEquals(1, resultSet.getInt(1));
+        resultSet.close();
+        assertSame(statement, this.borrowAndRelease(FIRST));
+    }
+
+    @Test
+    public void borrowedStatementIsClosedOnceReleasedAfterEviction() throws SQLException {
+        this.cache.setMaximumSize(1);
+        final PreparedStatement first = this.cache.borrow(FIRST, () -> sql(FIRST));
+        this.borrowAndRelease(SECOND);
+
+        assertEquals(1, this.cache.size());
+        assertFalse(first.isClosed());
+        this.cache.release(FIRST, first, null);
+        assertTrue(first.isClosed());
+    }
+
+    @Test
+    public void statementsAreClosedOnceTheirResultSetIs() throws SQLException {
+        final PreparedStatement statement = this.cache.borrow(FIRST, () -> sql(FIRST));
+        final ResultSet resultSet = statement.executeQuery();
+        this.cache.release(FIRST, statement, resultSet);
+        this.cache.close();
+
+        assertEquals(0, this.cache.size());
+        assertFalse(statement.isClosed());
+        resultSet.close();
+        assertTrue(statement.isClosed());
+    }
+
+    @Test
+    public void zeroMaximumSizeDisablesCaching() throws SQLException {
+        final PreparedStatement statement = this.borrowAndRelease(FIRST);
+        this.cache.setMaximumSize(0);
+
+        assertEquals(0, this.cache.size());
+        assertTrue(statement.isClosed());
+        assertTrue(this.borrowAndRelease(SECOND).isClosed());
+        assertThrows(IllegalArgumentException.class, () -> this.cache.setMaximumSize(-1));
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.harleyoconnor.serdes.query;
+
+import com.harleyoconnor.serdes.RecordSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.database.Dialect;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.ImmutableField;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class ProjectionTest {
+
+    public record Article(int id, String title, String body, Integer views) implements SerDesable<Article, Integer> {
+        public static final PrimaryField<Article, Integer> ID_FIELD = new PrimaryField<>("id", Article.class, Integer.class, Article::id);
+        public static final Field<Article, String> TITLE_FIELD = new ImmutableField<>("title", Article.class, String.class, false, false, Article::title);
+        public static final Field<Article, String> BODY_FIELD = new ImmutableField<>("body", Article.class, String.class, false, false, Article::body);
+        public static final Field<Article, Integer> VIEWS_FIELD = new ImmutableField<>("views", Article.class, Integer.class, false, true, Article::views);
+        public static final SerDes<Article, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, Article.class, "article")
+                .primaryField(ID_FIELD)
+                .field(TITLE_FIELD)
+                .field(BODY_FIELD)
+                .field(VIEWS_FIELD)
+                .build();
+
+        @Override
+        public SerDes<Article, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Article, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    public record Summary(int id, String title) {
+    }
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:projection_test"));
+        this.database.executePreparedStatement("create table article (id int primary key, title varchar(255) not null, " +
+                "body clob not null, views int)", Collections.emptyList());
+        this.database.executePreparedStatement("insert into article values (?, ?, ?, ?), (?, ?, ?, null), (?, ?, ?, ?)",
+                List.of(1, "b", "first body", 10, 2, "a", "second body", 3, "c", "third body", 30));
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void onlyTheSelectedColumnsAreSelected() {
+        final Projection<Article, Integer, ProjectedRow<Article>> projection = Query.Builder.of(Article.SER_DES)
+                .where(Conditions.ne(Article.TITLE_FIELD, "c")).orderBy(Article.TITLE_FIELD).limit(5).build()
+                .select(Article.ID_FIELD, Article.TITLE_FIELD);
+
+        assertEquals("select id, title from article where title <> ? order by title asc, id asc limit ?",
+                projection.getSql(Dialect.H2));
+        assertEquals("select id, title from `article` where title <> ? order by title asc, id asc limit ?",
+                projection.getSql(Dialect.MYSQL));
+        assertEquals(List.of(Article.ID_FIELD, Article.TITLE_FIELD), projection.getFields());
+        assertThrows(IllegalArgumentException.class, () -> Query.Builder.of(Article.SER_DES).build().select(List.of()));
+    }
+
+    @Test
+    public void rowsAreReadWithoutDeserialisingObjects() {
+        final List<ProjectedRow<Article>> rows = Query.Builder.of(Article.SER_DES).orderBy(Article.TITLE_FIELD).build()
+                .select(Article.TITLE_FIELD, Article.VIEWS_FIELD).list(this.database);
+
+        assertEquals(List.of("a", "b", "c"), rows.stream().map(row -> row.get(Article.TITLE_FIELD)).collect(Collectors.toList()));
+        assertEquals(Map.of("title", "b", "views", 10), rows.get(1).toMap());
+
+        // A null column is read as null, rather than the default of its getter.
+        assertNull(rows.get(0).get(Article.VIEWS_FIELD));
+        assertTrue(Article.SER_DES.getLoadedObjects().isEmpty());
+    }
+
+    @Test
+    public void rowsAreMappedToViews() {
+        final Projection<Article, Integer, Summary> projection = Query.Builder.of(Article.SER_DES)
+                .orderByDescending(Article.ID_FIELD).build().select(Article.ID_FIELD, Article.TITLE_FIELD)
+                .map(row -> new Summary(row.get(Article.ID_FIELD), row.get(Article.TITLE_FIELD)));
+
+        assertEquals(List.of(new Summary(3, "c"), new Summary(2, "a"), new Summary(1, "b")), projection.list(this.database));
+
+        try (final Stream<Summary> summaries = projection.stream(this.database)) {
+            assertEquals(new Summary(3, "c"), summaries.findFirst().orElseThrow());
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.harleyoconnor.serdes.query;
+
+import com.harleyoconnor.serdes.RecordSerDes;
+import com.harleyoconnor.serdes.SerDes;
+import com.harleyoconnor.serdes.SerDesable;
+import com.harleyoconnor.serdes.database.Database;
+import com.harleyoconnor.serdes.database.Dialect;
+import com.harleyoconnor.serdes.field.Field;
+import com.harleyoconnor.serdes.field.ImmutableField;
+import com.harleyoconnor.serdes.field.PrimaryField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Harley O'Connor
+ */
+public final class QueryTest {
+
+    public record Employee(int id, String name) implements SerDesable<Employee, Integer> {
+        public static final PrimaryField<Employee, Integer> ID_FIELD = new PrimaryField<>("id", Employee.class, Integer.class, Employee::id);
+        public static final Field<Employee, String> NAME_FIELD = new ImmutableField<>("name", Employee.class, String.class, false, false, Employee::name);
+        public static final SerDes<Employee, Integer> SER_DES = RecordSerDes.Builder.of(Integer.class, Employee.class, "employee")
+                .primaryField(ID_FIELD)
+                .field(NAME_FIELD)
+                .build();
+
+        @Override
+        public SerDes<Employee, Integer> getSerDes() {
+            return SER_DES;
+        }
+
+        @Override
+        public PrimaryField<Employee, Integer> getPrimaryField() {
+            return ID_FIELD;
+        }
+    }
+
+    private Database database;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        this.database = new Database(DriverManager.getConnection("jdbc:h2:mem:query_test"));
+        this.database.executePreparedStatement("create table employee (id int primary key, name varchar(255) not null)",
+                Collections.emptyList());
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        this.database.close();
+    }
+
+    @Test
+    public void orderedQueriesEndWithThePrimaryKey() {
+        assertEquals("select * from employee order by name asc, id asc",
+                Query.Builder.of(Employee.SER_DES).orderBy(Employee.NAME_FIELD).build().getSql(Dialect.H2));
+        assertEquals("select * from employee order by id asc limit ?",
+                Query.Builder.of(Employee.SER_DES).limit(10).build().getSql(Dialect.H2));
+        assertEquals("select * from employee order by id desc, name asc",
+                Query.Builder.of(Employee.SER_DES).orderByDescending(Employee.ID_FIELD).orderBy(Employee.NAME_FIELD)
+                        .build().getSql(Dialect.H2));
+        assertEquals("select * from employee", Query.Builder.of(Employee.SER_DES).build().getSql(Dialect.H2));
+    }
+
+    @Test
+    public void keysetPagesIncludeRowsTyingAcrossPages() {
+        final String[] names = {"b", "a", "b", "b", "c", "b", "a", "b"};
+
+        for (int i = 0; i < names.length; i++) {
+            Employee.SER_DES.serialise(this.database, new Employee(i + 1, names[i]));
+        }
+
+        final List<Employee> paged = new ArrayList<>();
+        List<Employee> page = Query.Builder.of(Employee.SER_DES).orderBy(Employee.NAME_FIELD).limit(3).build()
+                .list(this.database);
+
+        // The first page ends part way through the "b"s, which the following pages must continue from.
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            page = Query.Builder.of(Employee.SER_DES).orderBy(Employee.NAME_FIELD).after(page.get(page.size() - 1))
+                    .limit(3).build().list(this.database);
+        }
+
+        assertEquals(List.of(2, 7, 1, 3, 4, 6, 8, 5), paged.stream().map(Employee::id).collect(Collectors.toList()));
+    }
+
+    private static String appendTo(final Condition<Employee> condition, final List<Object> arguments) {
+        final StringBuilder sql = new StringBuilder();
+        condition.appendTo(sql, arguments);
+        return sql.toString();
+    }
+
+    @Test
+    public void conditionsBindTheirValues() {
+        final List<Object> arguments = new ArrayList<>();
+
+        assertEquals("name = ?", appendTo(Conditions.eq(Employee.NAME_FIELD, "a"), arguments));
+        assertEquals("name <> ?", appendTo(Conditions.ne(Employee.NAME_FIELD, "b"), arguments));
+        assertEquals("id < ?", appendTo(Conditions.lt(Employee.ID_FIELD, 1), arguments));
+        assertEquals("id <= ?", appendTo(Conditions.le(Employee.ID_FIELD, 2), arguments));
+        assertEquals("id > ?", appendTo(Conditions.gt(Employee.ID_FIELD, 3), arguments));
+        assertEquals("id >= ?", appendTo(Conditions.ge(Employee.ID_FIELD, 4), arguments));
+        assertEquals("name like ?", appendTo(Conditions.like(Employee.NAME_FIELD, "c%"), arguments));
+        assertEquals(List.of("a", "b", 1, 2, 3, 4, "c%"), arguments);
+
+        arguments.clear();
+        assertEquals("name is null", appendTo(Conditions.eq(Employee.NAME_FIELD, null), arguments));
+        assertEquals("name is not null", appendTo(Conditions.ne(Employee.NAME_FIELD, null), arguments));
+        assertEquals("name is null", appendTo(Conditions.isNull(Employee.NAME_FIELD), arguments));
+        assertEquals("name is not null", appendTo(Conditions.isNotNull(Employee.NAME_FIELD), arguments));
+        assertEquals(List.of(), arguments);
+    }
+
+    @Test
+    public void combinedConditionsAreParenthesised() {
+        final List<Object> arguments = new ArrayList<>();
+        final Condition<Employee> named = Conditions.eq(Employee.NAME_FIELD, "a");
+        final Condition<Employee> after = Conditions.gt(Employee.ID_FIELD, 1);
+
+        assertEquals("(name = ?) and (id > ?)", appendTo(named.and(after), arguments));
+        assertEquals("(name = ?) or (id > ?)", appendTo(named.or(after), arguments));
+        assertEquals("not ((name = ?) and (id > ?))", appendTo(named.and(after).not(), arguments));
+        assertEquals(List.of("a", 1, "a", 1, "a", 1), arguments);
+
+        assertEquals("1 = 1", appendTo(Conditions.and(List.of()), arguments));
+        assertEquals("1 = 0", appendTo(Conditions.or(List.of()), arguments));
+        assertEquals(6, arguments.size());
+    }
+
+    @Test
+    public void inListsArePaddedWithTheirLastValue() {
+        final List<Object> arguments = new ArrayList<>();
+
+        assertEquals("1 = 0", appendTo(Conditions.in(Employee.ID_FIELD, List.of()), arguments));
+        assertEquals("id in (?)", appendTo(Conditions.in(Employee.ID_FIELD, List.of(1)), arguments));
+        assertEquals("id in (?, ?, ?, ?)", appendTo(Conditions.in(Employee.ID_FIELD, List.of(2, 3, 4)), arguments));
+        assertEquals(List.of(1, 2, 3, 4, 4), arguments);
+
+        arguments.clear();
+        appendTo(Conditions.in(Employee.ID_FIELD, IntStream.range(0, 1000).boxed().collect(Collectors.toList())), arguments);
+        assertEquals(1024, arguments.size());
+        arguments.clear();
+        appendTo(Conditions.in(Employee.ID_FIELD, IntStream.range(0, 1025).boxed().collect(Collectors.toList())), arguments);
+        assertEquals(2048, arguments.size());
+        assertEquals(1024, arguments.get(2047));
+
+        for (int i = 1; i <= 5; i++) {
+            Employee.SER_DES.serialise(this.database, new Employee(i, "e" + i));
+        }
+
+        assertEquals(List.of(1, 3, 5), Query.Builder.of(Employee.SER_DES)
+                .where(Conditions.in(Employee.ID_FIELD, List.of(5, 1, 3))).orderBy(Employee.ID_FIELD).build()
+                .list(this.database).stream().map(Employee::id).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void limitAndOffsetAreBoundAfterTheConditions() {
+        final Query<Employee, Integer> query = Query.Builder.of(Employee.SER_DES)
+                .where(Conditions.eq(Employee.NAME_FIELD, "a")).limit(10).offset(20).build();
+
+        assertEquals("select * from employee where name = ? order by id asc limit ? offset ?", query.getSql(Dialect.H2));
+        assertEquals(List.of("a", 10, 20L), query.getArguments());
+
+        final Query<Employee, Integer> offsetOnly = Query.Builder.of(Employee.SER_DES).offset(20).build();
+
+        assertEquals("select * from employee order by id asc offset ?", offsetOnly.getSql(Dialect.H2));
+        assertEquals("select * from `employee` order by id asc limit 18446744073709551615 offset ?",
+                offsetOnly.getSql(Dialect.MYSQL));
+        assertEquals(List.of(20L), offsetOnly.getArguments());
+    }
+
+    @Test
+    public void keysetComparesEachOrderingInTurn() {
+        final Employee last = new Employee(3, "b");
+        final Query<Employee, Integer> ascending = Query.Builder.of(Employee.SER_DES).orderBy(Employee.NAME_FIELD)
+                .after(last).limit(5).build();
+
+        assertEquals("select * from employee where (name > ?) or ((name = ?) and (id > ?)) order by name asc, id asc limit ?",
+                ascending.getSql(Dialect.H2));
+        assertEquals(List.of("b", "b", 3, 5), ascending.getArguments());
+
+        final Query<Employee, Integer> descending = Query.Builder.of(Employee.SER_DES)
+                .where(Conditions.ne(Employee.NAME_FIELD, "z")).orderByDescending(Employee.NAME_FIELD).after(last).build();
+
+        assertEquals("select * from employee where (name <> ?) and ((name < ?) or ((name = ?) and (id > ?))) " +
+                "order by name desc, id asc", descending.getSql(Dialect.H2));
+        assertEquals(List.of("z", "b", "b", 3), descending.getArguments());
+    }
+
+}